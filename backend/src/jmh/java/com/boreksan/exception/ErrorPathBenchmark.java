@@ -0,0 +1,111 @@
+package com.boreksan.exception;
+
+import com.boreksan.config.JwtAuthenticationFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Beklenen hata yolunun maliyeti (22:00 sonrası 400 ve geçersiz token 401 seli):
+// stack trace'li istisna + her seferinde HashMap (eski) ile stack trace'siz DomainException + ProblemDetail (yeni),
+// ve JwtAuthenticationFilter'ın 401 gövdesi: String.format (eski) ile açılışta hazırlanmış byte'lar (yeni).
+// "depth": istisnanın fırlatıldığı çağrı derinliği; Spring MVC + güvenlik filtreleri altında 100+ çerçeve olağan.
+// Bellek için: mvn -Pjmh verify -Djmh.args="ErrorPathBenchmark -prof gc" (gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "150"})
+    public int depth;
+
+    private GlobalExceptionHandler handler;
+    private byte[] invalidTokenBody;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+
+    // Bu değişiklikten önceki istisnaların karşılığı (RuntimeException'ın varsayılan kurucusu: stack trace toplanır)
+    static class LegacyOrderTimeLimitException extends RuntimeException {
+        LegacyOrderTimeLimitException(String message) {
+            super(message);
+        }
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        handler = new GlobalExceptionHandler();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        invalidTokenBody = JwtAuthenticationFilter.invalidTokenBody(objectMapper);
+    }
+
+    // --- İstisna + handler ---
+
+    @Benchmark
+    public Map<String, String> legacyDomainError() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (LegacyOrderTimeLimitException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            response.put("error_code", "ORDER_TIME_LIMIT_EXCEEDED");
+            return response;
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> stacklessDomainError() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (DomainException e) {
+            return handler.handleDomainException(e);
+        }
+    }
+
+    private static void throwAt(int remaining, boolean legacy) {
+        if (remaining > 0) {
+            throwAt(remaining - 1, legacy);
+            return;
+        }
+        String message = "Günlük sipariş saati (22:00) dolmuştur. Lütfen yarın sipariş veriniz.";
+        if (legacy) {
+            throw new LegacyOrderTimeLimitException(message);
+        }
+        throw new OrderTimeLimitException(message);
+    }
+
+    // --- JwtAuthenticationFilter 401 gövdesi ---
+    // Cevap tamponu yerine yeniden kullanılan bir ByteArrayOutputStream (Tomcat'in tamponu gibi istekler arasında yaşar)
+
+    @Benchmark
+    public int legacyInvalidTokenBody() throws IOException {
+        buffer.reset();
+        Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        writer.write(String.format(
+                "{\"error\": \"Gecersiz veya Hatali Token\", \"details\": \"%s\"}",
+                "JWT signature does not match locally computed signature."));
+        writer.flush();
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int prebuiltInvalidTokenBody() {
+        buffer.reset();
+        buffer.write(invalidTokenBody, 0, invalidTokenBody.length);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.User;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.Role;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Benchmark'lar için gerçekçi (ama sabit tohumlu, tekrarlanabilir) test verisi
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User shop(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("dukkan" + id);
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setRole(Role.CUSTOMER);
+        user.setShopName("Pastane " + id);
+        user.setPhone("0555000" + String.format("%04d", id));
+        user.setAddress("Atatürk Cad. No:" + id + " Merkez");
+        return user;
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("Ürün " + i);
+            product.setPricePortion(40.0 + i);
+            product.setPriceTray(600.0 + i * 10);
+            products.add(product);
+        }
+        return products;
+    }
+
+    // Yeniden eskiye sıralı siparişler (repository'nin döndürdüğü sırayla aynı)
+    static List<Order> orders(User shop, List<Product> products, int orderCount, int itemsPerOrder, LocalDateTime newest) {
+        Random random = new Random(42);
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int o = 0; o < orderCount; o++) {
+            Order order = new Order();
+            order.setId((long) o + 1);
+            order.setUser(shop);
+            order.setCustomerName(shop.getUsername());
+            order.setShopName(shop.getShopName());
+            order.setAddress(shop.getAddress());
+            order.setPhone(shop.getPhone());
+            order.setStatus(o % 10 == 0 ? OrderStatus.CANCELLED : OrderStatus.WAITING);
+            order.setCreatedAt(newest.minusMinutes(o * 30L));
+
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            double total = 0;
+            for (int i = 0; i < itemsPerOrder; i++) {
+                Product product = products.get(random.nextInt(products.size()));
+                OrderItem item = new OrderItem();
+                item.setId((long) o * itemsPerOrder + i + 1);
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setProductName(product.getName());
+                item.setQuantity(1 + random.nextInt(10));
+                item.setUnitPrice(product.getPriceTray());
+                item.setSubTotal(item.getQuantity() * item.getUnitPrice());
+                total += item.getSubTotal();
+                items.add(item);
+            }
+            order.setItems(items);
+            order.setTotalPrice(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,49 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// JWT üretme / doğrulama maliyeti (JwtAuthenticationFilter her istekte doğrulama yapıyor)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        // Sabit anahtarlar: sonuçlar çalıştırmalar arasında karşılaştırılabilir olsun
+        ReflectionTestUtils.setField(jwtService, "accessSecretKey",
+                Base64.getEncoder().encodeToString("benchmark-access-secret-key-32-bytes!!".getBytes()));
+        ReflectionTestUtils.setField(jwtService, "refreshSecretKey",
+                Base64.getEncoder().encodeToString("benchmark-refresh-secret-key-32-bytes!".getBytes()));
+        user = BenchmarkData.shop(1);
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean validateAccessToken() {
+        return jwtService.isAccessTokenValid(accessToken, user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsernameFromAccessToken(accessToken);
+    }
+}
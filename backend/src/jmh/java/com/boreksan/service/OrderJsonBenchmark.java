@@ -0,0 +1,101 @@
+package com.boreksan.service;
+
+import com.boreksan.config.JacksonConfig;
+import com.boreksan.dto.OrderListItem;
+import com.boreksan.dto.OrderListResponse;
+import com.boreksan.dto.OrderResponse;
+import com.boreksan.entity.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/orders cevabının JSON / CBOR / Smile'a çevrilmesi (Admin tüm listeyi çekiyor)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int orderCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private List<OrderResponse> responses;
+
+    // ?normalized=true&fields=status,totalPrice,createdAt karşılığı
+    private ObjectWriter normalizedWriter;
+    private OrderListResponse<OrderResponse> normalized;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot'un kullandığı ayarlarla aynı ObjectMapper
+        objectMapper = mapperBuilder().build();
+        cborMapper = mapperBuilder().factory(new CBORFactory()).build();
+        smileMapper = mapperBuilder().factory(JacksonConfig.smileFactory()).build();
+
+        List<Product> products = BenchmarkData.products(20);
+        responses = BenchmarkData.orders(BenchmarkData.shop(1), products, orderCount, 5, LocalDate.of(2025, 1, 15).atTime(21, 55))
+                .stream()
+                .map(OrderMapper::toResponse)
+                .toList();
+
+        // Ayrı kopya: normalize shopRef yazdığı için tam liste ölçümünü etkilemesin
+        normalized = OrderMapper.normalize(responses.stream()
+                .map(r -> {
+                    OrderResponse copy = new OrderResponse();
+                    copy.setId(r.getId());
+                    copy.setCustomerName(r.getCustomerName());
+                    copy.setShopName(r.getShopName());
+                    copy.setAddress(r.getAddress());
+                    copy.setPhone(r.getPhone());
+                    copy.setTotalPrice(r.getTotalPrice());
+                    copy.setStatus(r.getStatus());
+                    copy.setCreatedAt(r.getCreatedAt());
+                    copy.setItems(r.getItems());
+                    return copy;
+                })
+                .toList());
+        normalizedWriter = objectMapper.writer(new SimpleFilterProvider().addFilter(OrderListItem.FIELD_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept("id", "status", "totalPrice", "createdAt", "shopRef")));
+    }
+
+    @Benchmark
+    public byte[] serializeOrderList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderListCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderListSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeNormalizedSparse() throws JsonProcessingException {
+        return normalizedWriter.writeValueAsBytes(normalized);
+    }
+
+    private static Jackson2ObjectMapperBuilder mapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(JacksonConfig.defaultFilters());
+    }
+}
@@ -0,0 +1,59 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.OrderResponse;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Sipariş akışının saf (DB'siz) kısımları: büyük siparişlerin DTO'ya çevrilmesi (OrderMapper) ve
+// updateShopDailyQuantity içindeki "bugünkü miktar" hesabı
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    // Tek siparişteki kalem sayısı (OrderMapper.toResponse için)
+    @Param({"10", "200"})
+    public int itemsPerOrder;
+
+    // Dükkanın geçmiş sipariş sayısı (günlük miktar hesabı tüm geçmişi tarıyor)
+    @Param({"100", "2000"})
+    public int historySize;
+
+    private Order largeOrder;
+    private List<Order> history;
+    private LocalDateTime startOfDay;
+    private LocalDateTime endOfDay;
+    private Long productId;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = BenchmarkData.products(20);
+        LocalDateTime now = LocalDate.of(2025, 1, 15).atTime(21, 55);
+        largeOrder = BenchmarkData.orders(BenchmarkData.shop(1), products, 1, itemsPerOrder, now).get(0);
+        history = BenchmarkData.orders(BenchmarkData.shop(1), products, historySize, 5, now);
+
+        startOfDay = now.toLocalDate().atStartOfDay();
+        endOfDay = now.toLocalDate().atTime(23, 59, 59);
+        productId = products.get(3).getId();
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return OrderMapper.toResponse(largeOrder);
+    }
+
+    @Benchmark
+    public int dailyQuantityAggregation() {
+        List<Order> today = OrderService.activeOrdersBetween(history, startOfDay, endOfDay);
+        return OrderService.totalQuantityOf(today, productId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.boreksan.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Sipariş kalemi fiyatlama: derlenmiş PricingTable (sıralı long[] + düz kademe dizileri) ile
+// aynı verinin nesne anahtarlı HashMap<(dükkan, ürün), List<kademe>> hali. Her çağrı bir kalem.
+// Bellek için: mvn -Pjmh verify -Djmh.args="PricingTableBenchmark -prof gc" (gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingTableBenchmark {
+
+    // Listeye atanmış dükkan sayısı (her biri 40 ürün x 3 kademe)
+    @Param({"50", "1000"})
+    public int shops;
+
+    private static final int PRODUCTS = 40;
+    private static final int[] TIERS = {1, 10, 25};
+    private static final int LOOKUPS = 1024;
+
+    private record Key(long shopId, long productId) {
+    }
+
+    private record Tier(int minQuantity, double price) {
+    }
+
+    private PricingTable table;
+    private Map<Key, List<Tier>> map;
+    private long[] shopIds;
+    private long[] productIds;
+    private int[] quantities;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        PricingTable.Builder builder = new PricingTable.Builder();
+        map = new HashMap<>();
+        for (long shop = 1; shop <= shops; shop++) {
+            for (long product = 1; product <= PRODUCTS; product++) {
+                List<Tier> tiers = new ArrayList<>();
+                for (int t = 0; t < TIERS.length; t++) {
+                    double price = 800 - t * 20 - shop % 7;
+                    builder.add(shop, product, TIERS[t], price);
+                    tiers.add(new Tier(TIERS[t], price));
+                }
+                map.put(new Key(shop, product), tiers);
+            }
+        }
+        table = builder.build();
+
+        Random random = new Random(42);
+        shopIds = new long[LOOKUPS];
+        productIds = new long[LOOKUPS];
+        quantities = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            shopIds[i] = 1 + random.nextInt(shops);
+            productIds[i] = 1 + random.nextInt(PRODUCTS + 5); // Birkaçı listede yok -> ürün fiyatı
+            quantities[i] = 1 + random.nextInt(40);
+        }
+    }
+
+    @Benchmark
+    public double compiledTable() {
+        int i = next++ & (LOOKUPS - 1);
+        return table.unitPrice(shopIds[i], productIds[i], quantities[i], 800);
+    }
+
+    @Benchmark
+    public double objectMap() {
+        int i = next++ & (LOOKUPS - 1);
+        List<Tier> tiers = map.get(new Key(shopIds[i], productIds[i]));
+        double price = 800;
+        if (tiers != null) {
+            for (Tier tier : tiers) {
+                if (tier.minQuantity() > quantities[i]) break;
+                price = tier.price();
+            }
+        }
+        return price;
+    }
+}
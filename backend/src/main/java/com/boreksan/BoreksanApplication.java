@@ -2,8 +2,10 @@ package com.boreksan;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Sabit siparişlerin kesim saati kontrolü (StandingOrderJob)
 public class BoreksanApplication {
 
 	public static void main(String[] args) {
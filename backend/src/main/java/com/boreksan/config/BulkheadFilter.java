@@ -0,0 +1,194 @@
+package com.boreksan.config;
+
+import com.boreksan.exception.ErrorCode;
+import com.boreksan.exception.ProblemDetails;
+import com.boreksan.service.JwtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// İstek sınıfı başına eşzamanlılık sınırı (bulkhead).
+// Amaç: admin'in tüm geçmişi çekmesi ya da login fırtınası, 22:00 öncesi sipariş alımının
+// Tomcat thread'lerini ve Hikari bağlantılarını tüketmesin. Sınıf doluysa istek beklemeden 503 alır.
+//   INTAKE     : POST /api/orders (kendi sınırı var, diğer sınıflar ona ayrılan bağlantılara dokunamaz)
+//   SHOP_READ  : dükkanların GET /api/orders/**, /api/products/**, /api/standing-orders/** istekleri
+//   ADMIN_READ : GET /api/admin/**, /api/shops/**, /api/reports/**, /api/production/** ve admin'in GET /api/orders/**'u
+//   AUTH       : /api/auth/** (BCrypt CPU'yu yer)
+//   DEFAULT    : geri kalan her şey (admin güncellemeleri, sabit sipariş değişiklikleri...)
+// Sınıfsız istek kalmaz: açılış kontrolündeki toplam gerçekten eşzamanlı bağlantı üst sınırıdır (Actuator hariç).
+// Güvenlik filtrelerinden önce çalışır: reddedilecek istek için kullanıcı yüklemesi yapılmaz. Admin / dükkan ayrımı
+// için access token'daki rol okunur (sadece imza kontrolü, veritabanı yok).
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    enum Compartment { INTAKE, SHOP_READ, ADMIN_READ, AUTH, DEFAULT }
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final Map<Compartment, Semaphore> semaphores = new EnumMap<>(Compartment.class);
+    private final Map<Compartment, Counter> rejections = new EnumMap<>(Compartment.class);
+    private final byte[] busyBody; // Sabit 503 gövdesi, açılışta bir kez
+
+    public BulkheadFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper, JwtService jwtService,
+                          @Value("${bulkhead.enabled:true}") boolean enabled,
+                          @Value("${bulkhead.max-wait-ms:0}") long maxWaitMillis,
+                          @Value("${bulkhead.intake.max-concurrent:50}") int intakeLimit,
+                          @Value("${bulkhead.shop-read.max-concurrent:6}") int shopReadLimit,
+                          @Value("${bulkhead.admin-read.max-concurrent:2}") int adminReadLimit,
+                          @Value("${bulkhead.auth.max-concurrent:6}") int authLimit,
+                          @Value("${bulkhead.default.max-concurrent:2}") int defaultLimit,
+                          @Value("${bulkhead.intake.reserved-connections:4}") int reservedConnections,
+                          @Value("${spring.task.scheduling.pool.size:1}") int schedulerThreads,
+                          @Value("${order.intake.group-commit.enabled:false}") boolean intakeWorker,
+                          @Value("${app.cache-bus.enabled:true}") boolean cacheBusWorker,
+                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) throws JsonProcessingException {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.busyBody = objectMapper.writeValueAsBytes(ProblemDetails.of(ErrorCode.SERVICE_BUSY,
+                "Sistem şu an yoğun, lütfen birkaç saniye sonra tekrar deneyin."));
+        this.maxWaitMillis = maxWaitMillis;
+
+        // Arka plan işleri de havuzdan bağlantı alır: zamanlanmış işler (outbox relay, sabit siparişler, gün kapanışı,
+        // tahmin yeniden kurulumu) en fazla scheduler thread sayısı kadar, toplu commit açıksa kuyruk worker'ı +1,
+        // cache bus açıksa abone kuyruğu (fiyat tablosu derleme, tahmin tazeleme) +1.
+        int backgroundConnections = schedulerThreads + (intakeWorker ? 1 : 0) + (cacheBusWorker ? 1 : 0);
+        // Diğer bütün sınıflar ve arka plan işleri aynı anda dolu olsa bile sipariş alımına reservedConnections kalmalı
+        int total = shopReadLimit + adminReadLimit + authLimit + defaultLimit + backgroundConnections + reservedConnections;
+        if (enabled && total > poolSize) {
+            throw new IllegalStateException(String.format(
+                    "Bulkhead ayarları bağlantı havuzunu aşıyor: shop-read(%d) + admin-read(%d) + auth(%d) + default(%d)"
+                            + " + arka plan işleri(%d) + intake rezervi(%d) = %d > havuz(%d)",
+                    shopReadLimit, adminReadLimit, authLimit, defaultLimit, backgroundConnections, reservedConnections,
+                    total, poolSize));
+        }
+
+        register(meterRegistry, Compartment.INTAKE, intakeLimit);
+        register(meterRegistry, Compartment.SHOP_READ, shopReadLimit);
+        register(meterRegistry, Compartment.ADMIN_READ, adminReadLimit);
+        register(meterRegistry, Compartment.AUTH, authLimit);
+        register(meterRegistry, Compartment.DEFAULT, defaultLimit);
+    }
+
+    private void register(MeterRegistry registry, Compartment compartment, int limit) {
+        Semaphore semaphore = new Semaphore(limit);
+        semaphores.put(compartment, semaphore);
+        String tag = compartment.name().toLowerCase(Locale.ROOT);
+        rejections.put(compartment, Counter.builder("boreksan.bulkhead.rejected")
+                .description("Sınıfı dolu olduğu için 503 ile reddedilen istekler")
+                .tag("class", tag)
+                .register(registry));
+        Gauge.builder("boreksan.bulkhead.active", semaphore, s -> limit - s.availablePermits())
+                .description("Sınıfta o an işlenen istek sayısı")
+                .tag("class", tag)
+                .register(registry);
+        Gauge.builder("boreksan.bulkhead.limit", () -> limit)
+                .tag("class", tag)
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Compartment compartment = enabled ? classify(request) : null;
+        if (compartment == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Semaphore semaphore = semaphores.get(compartment);
+        if (!tryAcquire(semaphore)) {
+            rejections.get(compartment).increment();
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    Compartment classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+
+        // Sağlık / metrik uçları hiç reddedilmez (normalde ayrı yönetim portunda, buraya gelmez)
+        if (uri.startsWith("/actuator/")) {
+            return null;
+        }
+        if (uri.startsWith("/api/auth/")) {
+            return Compartment.AUTH;
+        }
+        if (HttpMethod.POST.matches(method) && uri.equals("/api/orders")) {
+            return Compartment.INTAKE;
+        }
+        if (HttpMethod.GET.matches(method)) {
+            if (uri.startsWith("/api/admin") || uri.startsWith("/api/shops")
+                    || uri.startsWith("/api/reports") || uri.startsWith("/api/production")) {
+                return Compartment.ADMIN_READ;
+            }
+            if (uri.startsWith("/api/orders")) {
+                return isAdmin(request) ? Compartment.ADMIN_READ : Compartment.SHOP_READ;
+            }
+            if (uri.startsWith("/api/products") || uri.startsWith("/api/standing-orders")) {
+                return Compartment.SHOP_READ;
+            }
+        }
+        return Compartment.DEFAULT;
+    }
+
+    // Geçersiz / eski (rolsüz) token dükkan sayılır; asıl doğrulama JwtAuthenticationFilter'da
+    private boolean isAdmin(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        return authHeader != null && authHeader.startsWith("Bearer ")
+                && jwtService.isAdminAccessToken(authHeader.substring(7));
+    }
+
+    private boolean tryAcquire(Semaphore semaphore) {
+        if (maxWaitMillis <= 0) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // GlobalExceptionHandler ile aynı gövde biçimi (ProblemDetail)
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(busyBody.length);
+        response.getOutputStream().write(busyBody);
+    }
+}
@@ -0,0 +1,20 @@
+package com.boreksan.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Spring @Cacheable desteği. Cache'ler Hibernate 2. seviye cache ile aynı ehcache.xml'den gelir.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Hibernate kendi CacheManager'ını açmasın, Spring'inkini kullansın:
+    // ehcache.xml açılışta iki kez yüklenmez ve tüm bölgeler tek yöneticide toplanır
+    @Bean
+    public HibernatePropertiesCustomizer jcacheManagerCustomizer(javax.cache.CacheManager cacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+}
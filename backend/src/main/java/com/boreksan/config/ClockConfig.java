@@ -0,0 +1,28 @@
+package com.boreksan.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Configuration
+public class ClockConfig {
+
+    // Sipariş saat sınırı (22:00) ve "bugün" hesapları bu saati kullanır.
+    // app.clock.start-at verilirse (örn. 21:55) uygulama o saatten başlayıp normal hızda ilerler;
+    // yük testi gerçek saatten bağımsız olarak son 5 dakika yoğunluğunu canlandırabilsin diye.
+    @Bean
+    public Clock clock(@Value("${app.clock.start-at:}") String startAt) {
+        Clock system = Clock.systemDefaultZone();
+        if (startAt == null || startAt.isBlank()) {
+            return system;
+        }
+        LocalDateTime now = LocalDateTime.now(system);
+        LocalDateTime target = now.toLocalDate().atTime(LocalTime.parse(startAt));
+        return Clock.offset(system, Duration.between(now, target));
+    }
+}
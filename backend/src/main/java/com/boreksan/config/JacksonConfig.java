@@ -0,0 +1,51 @@
+package com.boreksan.config;
+
+import com.boreksan.dto.OrderListItem;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    // Sipariş DTO'ları @JsonFilter("orderFields") taşıyor. GET /api/orders dışındaki cevaplarda
+    // (sipariş oluşturma, durum güncelleme...) filtre verilmez; bu varsayılan ile tüm alanlar yazılır.
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider()
+                .addFilter(OrderListItem.FIELD_FILTER, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    // Alan adları Smile'da zaten bir kez yazılır; durum, ürün ve dükkan adları gibi tekrar eden değerler de öyle olsun
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer orderFieldFilterCustomizer() {
+        return builder -> builder.filters(defaultFilters());
+    }
+
+    // İkili formatlar: panel ve dağıtım araçları büyük listeleri Accept: application/cbor (veya
+    // application/x-jackson-smile) ile isteyebilir; alan adları her kalemde tekrar yazılmaz. JSON varsayılan kalır.
+    // Spring'in kendi CBOR/Smile converter'ları Boot ayarlarını (tarih biçimi, yukarıdaki filtre) görmez;
+    // bu yüzden Boot'un yapılandırdığı builder'dan üretiyoruz.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+}
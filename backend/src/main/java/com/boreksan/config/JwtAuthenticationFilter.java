@@ -1,11 +1,20 @@
 package com.boreksan.config;
 
+import com.boreksan.exception.ErrorCode;
+import com.boreksan.exception.ProblemDetails;
 import com.boreksan.service.JwtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,14 +25,47 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    // Token doğrulama süresi (zincirin geri kalanı hariç), sonuca göre ayrı
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+
+    // 401 cevabı her seferinde aynı: açılışta bir kez JSON'a çevrilir, her geçersiz token'da sadece bu byte'lar yazılır
+    private final byte[] invalidTokenBody;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, MeterRegistry meterRegistry,
+                                   ObjectMapper objectMapper) throws JsonProcessingException {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.validTokenTimer = jwtTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = jwtTimer(meterRegistry, "invalid");
+        this.invalidTokenBody = invalidTokenBody(objectMapper);
+    }
+
+    // "error" alanı eski gövdeyle ({"error": ..., "details": ...}) uyum için; hata ayrıntısı artık cevaba değil loga yazılır
+    public static byte[] invalidTokenBody(ObjectMapper objectMapper) throws JsonProcessingException {
+        ProblemDetail problem = ProblemDetails.of(ErrorCode.INVALID_TOKEN, "Gecersiz veya Hatali Token");
+        problem.setProperty("error", "Gecersiz veya Hatali Token");
+        return objectMapper.writeValueAsBytes(problem);
+    }
+
+    private static Timer jwtTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("boreksan.jwt.filter")
+                .description("JWT ayrıştırma + kullanıcı yükleme süresi")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -43,6 +85,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // 2. Token işlemlerini TRY-CATCH içine alıyoruz
+        long started = System.nanoTime();
         try {
             // "Bearer " kısmını kesip sadece token'ı al
             jwt = authHeader.substring(7);
@@ -67,27 +110,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
 
-            // Her şey yolundaysa devam et
-            filterChain.doFilter(request, response);
+            validTokenTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 
         } catch (Exception e) {
+            invalidTokenTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
             
-            // Konsola hatayı bas ki loglarda görelim
-            System.err.println("JWT Doğrulama Hatası: " + e.getMessage());
+            // Geçersiz token'lar saldırı/bozuk istemci durumunda çok sık gelir; logback-spring.xml'de saniye başına örneklenir
+            log.warn("invalid_token uri={} reason={}", request.getRequestURI(), e.getMessage());
 
-            // Cevabı 401 UNAUTHORIZED olarak ayarla
+            // 401 UNAUTHORIZED + hazır ProblemDetail gövdesi; zinciri kır ve bitir (return)
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json");
-            response.setCharacterEncoding("UTF-8");
-
-            // JSON formatında hata mesajını yaz
-            String jsonError = String.format(
-                    "{\"error\": \"Gecersiz veya Hatali Token\", \"details\": \"%s\"}", 
-                    e.getMessage()
-            );
-            
-            response.getWriter().write(jsonError);
-            // Zinciri kır ve bitir (return)
+            response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+            response.setContentLength(invalidTokenBody.length);
+            response.getOutputStream().write(invalidTokenBody);
+            return;
         }
+
+        // Her şey yolundaysa devam et. Zincirin geri kalanındaki hatalar token hatası sayılmaz (try dışında)
+        filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.boreksan.config;
+
+import com.boreksan.entity.Product;
+import com.boreksan.entity.User;
+import com.boreksan.entity.enums.Role;
+import com.boreksan.repository.ProductRepository;
+import com.boreksan.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Sadece "loadtest" profilinde: yük testinin beklediği dükkanları, admin'i ve ürünleri oluşturur.
+// Veri zaten varsa (aynı veritabanıyla tekrar açılış) hiçbir şey yapmaz.
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    private static final String ADMIN_USERNAME = "loadtest-admin";
+    private static final String SHOP_PREFIX = "loadtest-shop-";
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    private final int shopCount;
+    private final int productCount;
+    private final String password;
+
+    public LoadTestDataSeeder(UserRepository userRepository, ProductRepository productRepository, PasswordEncoder passwordEncoder,
+                              @Value("${loadtest.seed.shops:500}") int shopCount,
+                              @Value("${loadtest.seed.products:30}") int productCount,
+                              @Value("${loadtest.seed.password:loadtest}") String password) {
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.shopCount = shopCount;
+        this.productCount = productCount;
+        this.password = password;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (userRepository.findByUsername(ADMIN_USERNAME).isPresent()) {
+            log.info("Yük testi verisi zaten mevcut, atlanıyor");
+            return;
+        }
+
+        // BCrypt bilerek yavaş; aynı şifre için tek hash yeterli
+        String encoded = passwordEncoder.encode(password);
+
+        List<User> users = new ArrayList<>(shopCount + 1);
+        users.add(newUser(ADMIN_USERNAME, Role.ADMIN, null, encoded));
+        for (int i = 1; i <= shopCount; i++) {
+            User shop = newUser(SHOP_PREFIX + i, Role.CUSTOMER, "Yük Testi Pastanesi " + i, encoded);
+            shop.setPhone(String.format("0555%07d", i));
+            shop.setAddress("Test Sok. No:" + i);
+            users.add(shop);
+        }
+        userRepository.saveAll(users);
+
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 1; i <= productCount; i++) {
+            Product product = new Product();
+            product.setName("Test Böreği " + i);
+            product.setDescription("Yük testi ürünü");
+            product.setPricePortion(40.0 + i);
+            product.setPriceTray(600.0 + i * 10);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+
+        log.info("Yük testi verisi oluşturuldu: {} dükkan, {} ürün", shopCount, productCount);
+    }
+
+    private User newUser(String username, Role role, String shopName, String encodedPassword) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(encodedPassword);
+        user.setRole(role);
+        user.setShopName(shopName);
+        return user;
+    }
+}
@@ -0,0 +1,59 @@
+package com.boreksan.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// logback-spring.xml'den yapılandırılır: verilen logger (ve alt logger'ları) için
+// saniyede en fazla maxPerSecond olay geçer, fazlası daha mesaj formatlanmadan atılır.
+// Örn. saldırı sırasında saniyede binlerce "invalid_token" satırı basılmasın.
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private int maxPerSecond = 5;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger countInSecond = new AtomicInteger();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null: isXxxEnabled() kontrolü, gerçek bir olay değil
+        if (format == null || level.isGreaterOrEqual(Level.ERROR) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long second = System.currentTimeMillis() / 1000;
+        long seen = currentSecond.get();
+        if (seen != second && currentSecond.compareAndSet(seen, second)) {
+            countInSecond.set(0);
+        }
+        return countInSecond.incrementAndGet() <= maxPerSecond ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        return name.startsWith(loggerName)
+                && (name.length() == loggerName.length() || name.charAt(loggerName.length()) == '.');
+    }
+
+    @Override
+    public void start() {
+        if (loggerName == null || loggerName.isBlank()) {
+            addError("loggerName belirtilmeli");
+            return;
+        }
+        super.start();
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+}
@@ -0,0 +1,89 @@
+package com.boreksan.config;
+
+import com.boreksan.dto.*;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.OrderOutboxEvent;
+import com.boreksan.entity.PriceList;
+import com.boreksan.entity.PriceListItem;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.ProductionAdjustment;
+import com.boreksan.entity.ProductionBatch;
+import com.boreksan.entity.ProductionBatchLine;
+import com.boreksan.entity.RefreshToken;
+import com.boreksan.entity.ReportMonth;
+import com.boreksan.entity.ReportRow;
+import com.boreksan.entity.StandingOrder;
+import com.boreksan.entity.StandingOrderItem;
+import com.boreksan.entity.StandingOrderRun;
+import com.boreksan.entity.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.stream.Stream;
+
+// Spring AOT / GraalVM native-image için çalışma zamanı ipuçları (./mvnw -Pnative native:compile).
+// Controller dönüş tiplerini ve @RequestBody DTO'larını Spring kendisi kaydeder; burada onun göremedikleri var:
+// iç içe DTO'lar, JPQL "select new" ile oluşturulan ShopResponse / OrderSummaryResponse / ReportLine, jjwt'nin isimle yüklediği sınıflar
+// ve Spring dışındaki kütüphanelerin classpath'ten okuduğu dosyalar. JVM'de çalışırken etkisi yoktur.
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BoreksanRuntimeHints.class)
+@RegisterReflectionForBinding({
+        OrderResponse.class, OrderItemResponse.class, OrderRequest.class, OrderItemRequest.class,
+        ShopResponse.class, ProductResponse.class, AuthResponse.class, BulkStatusUpdateResponse.class,
+        // GET /api/orders MappingJacksonValue döndüğü için Spring gerçek tipleri göremiyor
+        OrderSummaryResponse.class, OrderListResponse.class, OrderShopResponse.class,
+        MonthlyReportResponse.class, ReportLine.class
+})
+public class NativeHintsConfig {
+
+    static class BoreksanRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Lombok entity'leri: Hibernate alanlara ve parametresiz constructor'a reflection ile erişir
+            Stream.of(User.class, Product.class, Order.class, OrderItem.class, RefreshToken.class,
+                            ReportMonth.class, ReportRow.class,
+                            StandingOrder.class, StandingOrderItem.class, StandingOrderRun.class,
+                            ProductionBatch.class, ProductionBatchLine.class, ProductionAdjustment.class,
+                            OrderOutboxEvent.class, PriceList.class, PriceListItem.class)
+                    .forEach(type -> hints.reflection().registerType(type,
+                            MemberCategory.DECLARED_FIELDS,
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.INVOKE_PUBLIC_METHODS));
+
+            // UserRepository.findShopDirectory: "select new com.boreksan.dto.ShopResponse(...)"
+            hints.reflection().registerType(ShopResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // OrderRepository özet sorguları: "select new com.boreksan.dto.OrderSummaryResponse(...)"
+            hints.reflection().registerType(OrderSummaryResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // ReportQueryRepository: "select new com.boreksan.dto.ReportLine(...)"
+            hints.reflection().registerType(ReportLine.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            // jjwt 0.11: Jwts ve Services uygulama sınıflarını isimle yükler
+            Stream.of(
+                    "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                    "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                    "io.jsonwebtoken.impl.DefaultJwtParser",
+                    "io.jsonwebtoken.impl.DefaultClaims",
+                    "io.jsonwebtoken.impl.DefaultHeader",
+                    "io.jsonwebtoken.impl.DefaultJwsHeader",
+                    "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                    "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                    "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+            ).forEach(name -> hints.reflection().registerType(TypeReference.of(name),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Ehcache yapılandırması ve açılışta çalışan SQL betikleri
+            hints.resources().registerPattern("ehcache.xml");
+            hints.resources().registerPattern("db/scripts/*.sql");
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.boreksan.config;
 
 import com.boreksan.repository.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,6 +34,12 @@ public class SecurityConfig {
 
     private final UserRepository userRepository;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> userRepository.findByUsername(username)
@@ -79,7 +87,18 @@ public class SecurityConfig {
                 // 5. SİPARİŞ OLUŞTURMA VE LİSTELEME (Sadece Giriş Yapmış Kullanıcılar)
                 .requestMatchers("/api/orders/**").hasAnyRole("ADMIN", "CUSTOMER")
 
-                // 6. DİĞER HER ŞEY (Kilitli)
+                // 5b. SABİT SİPARİŞLER (Dükkan kendi şablonunu yönetir; elle çalıştırma SADECE ADMIN)
+                .requestMatchers(HttpMethod.POST, "/api/standing-orders/run").hasRole("ADMIN")
+                .requestMatchers("/api/standing-orders/**").hasAnyRole("ADMIN", "CUSTOMER")
+
+                // 6. YÖNETİM UÇLARI (Cache istatistikleri, dükkan rehberi, raporlar, üretim çizelgesi vb. -> SADECE ADMIN)
+                // Actuator ayrı yönetim portundaysa (dışarı kapalı) Prometheus token'sız okuyabilsin;
+                // aynı porta alınırsa sadece Admin görebilsin.
+                .requestMatchers(this::isManagementPortRequest).permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/api/admin/**", "/api/shops/**", "/api/reports/**", "/api/production/**", "/actuator/**").hasRole("ADMIN")
+
+                // 7. DİĞER HER ŞEY (Kilitli)
                 .anyRequest().authenticated()
             )
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -89,12 +108,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isManagementPortRequest(HttpServletRequest request) {
+        return managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of("X-Request-Id")); // Hata bildirirken istek ID'si okunabilsin
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
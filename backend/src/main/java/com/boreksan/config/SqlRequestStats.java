@@ -0,0 +1,70 @@
+package com.boreksan.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+// Bir HTTP isteği boyunca (aynı thread'de) çalışan SQL ifadelerinin sayısı, toplam süresi
+// ve en yavaş N tanesi. SqlTimingFilter isteğin başında açar, DataSource proxy'si doldurur.
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    public record SlowStatement(long nanos, String sql) {
+    }
+
+    private final int slowestLimit;
+    // En yavaşlar için min-heap: en hızlısı başta, yenisi ondan yavaşsa yer değiştirir
+    private final PriorityQueue<SlowStatement> slowest;
+    private int statementCount;
+    private long totalNanos;
+
+    private SqlRequestStats(int slowestLimit) {
+        this.slowestLimit = slowestLimit;
+        this.slowest = new PriorityQueue<>(Math.max(1, slowestLimit), Comparator.comparingLong(SlowStatement::nanos));
+    }
+
+    static SqlRequestStats start(int slowestLimit) {
+        SqlRequestStats stats = new SqlRequestStats(slowestLimit);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // SQL metni sadece en yavaşlar listesine girecekse oluşturulur
+    void record(long nanos, Supplier<String> sql) {
+        statementCount++;
+        totalNanos += nanos;
+        if (slowestLimit <= 0) return;
+        if (slowest.size() < slowestLimit) {
+            slowest.add(new SlowStatement(nanos, sql.get()));
+        } else if (slowest.peek().nanos() < nanos) {
+            slowest.poll();
+            slowest.add(new SlowStatement(nanos, sql.get()));
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // En yavaştan hızlıya
+    public List<SlowStatement> getSlowest() {
+        List<SlowStatement> list = new ArrayList<>(slowest);
+        list.sort(Comparator.comparingLong(SlowStatement::nanos).reversed());
+        return list;
+    }
+}
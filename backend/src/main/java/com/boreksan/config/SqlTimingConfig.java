@@ -0,0 +1,77 @@
+package com.boreksan.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// DataSource'u datasource-proxy ile sarar ve her SQL'in süresini o anki isteğin SqlRequestStats'ına yazar.
+// app.sql-timing.enabled=false ile tamamen kapanır (proxy de filtre de eklenmez).
+@Configuration
+@ConditionalOnProperty(name = "app.sql-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTimingConfig {
+
+    // static: BeanPostProcessor diğer bean'lerden önce oluşturulmalı
+    @Bean
+    public static BeanPostProcessor sqlTimingDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new RequestStatsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlTimingFilter> sqlTimingFilter(
+            @Value("${app.sql-timing.slow-request-ms:500}") long slowRequestMillis,
+            @Value("${app.sql-timing.max-statements:50}") int maxStatements,
+            @Value("${app.sql-timing.log-slowest:5}") int slowestLimit) {
+        FilterRegistrationBean<SqlTimingFilter> registration =
+                new FilterRegistrationBean<>(new SqlTimingFilter(slowRequestMillis, maxStatements, slowestLimit));
+        // RequestIdFilter'dan hemen sonra: sql_stats satırları istek ID'sini taşısın
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // İstek dışında (örn. sipariş kuyruğu thread'i, başlangıç) çalışan SQL'ler sayılmaz
+    private static final class RequestStatsListener implements QueryExecutionListener {
+
+        private static final String STARTED = "sqlTiming.started";
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (SqlRequestStats.current() != null) {
+                execInfo.addCustomValue(STARTED, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            Long started = execInfo.getCustomValue(STARTED, Long.class);
+            if (stats == null || started == null) return;
+            stats.record(System.nanoTime() - started, () -> queryInfoList.stream()
+                    .map(QueryInfo::getQuery)
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+}
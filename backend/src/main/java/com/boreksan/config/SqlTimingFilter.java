@@ -0,0 +1,138 @@
+package com.boreksan.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Her isteğin SQL sayısını ve veritabanında geçen süresini ölçer:
+//  - "Server-Timing: db;dur=..;desc="N sql", app;dur=.." başlığı (tarayıcı DevTools'ta görünür)
+//  - yavaş ya da çok sorgulu (N+1 şüphesi) isteklerde en yavaş SQL'ler ile WARN
+//  - diğer istekler için tek satırlık key=value log sadece DEBUG'da (yoğun saatte log hacmini ikiye katlamasın)
+// Güvenlik filtrelerinden önce çalışır ki JWT kullanıcı yüklemesi de sayılsın.
+public class SqlTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlTimingFilter.class);
+
+    private final long slowRequestNanos;
+    private final int maxStatements;
+    private final int slowestLimit;
+
+    public SqlTimingFilter(long slowRequestMillis, int maxStatements, int slowestLimit) {
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.maxStatements = maxStatements;
+        this.slowestLimit = slowestLimit;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long started = System.nanoTime();
+        SqlRequestStats stats = SqlRequestStats.start(slowestLimit);
+        ServerTimingResponse timingResponse = new ServerTimingResponse(response, stats, started);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            // Gövdesiz cevaplarda (void endpoint'ler) başlık henüz yazılmamıştır
+            timingResponse.writeServerTiming();
+            SqlRequestStats.clear();
+            logRequest(request, response.getStatus(), stats, System.nanoTime() - started);
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, int status, SqlRequestStats stats, long totalNanos) {
+        boolean slow = totalNanos >= slowRequestNanos || stats.getStatementCount() > maxStatements;
+        if (!slow) {
+            if (log.isDebugEnabled()) {
+                log.debug("sql_stats method={} uri={} status={} statements={} db_ms={} total_ms={}",
+                        request.getMethod(), request.getRequestURI(), status, stats.getStatementCount(),
+                        millis(stats.getTotalNanos()), millis(totalNanos));
+            }
+            return;
+        }
+
+        StringBuilder slowest = new StringBuilder();
+        for (SqlRequestStats.SlowStatement statement : stats.getSlowest()) {
+            slowest.append("\n  ").append(millis(statement.nanos())).append(" ms: ").append(statement.sql());
+        }
+        log.warn("sql_stats slow=true method={} uri={} status={} statements={} db_ms={} total_ms={} slowest:{}",
+                request.getMethod(), request.getRequestURI(), status, stats.getStatementCount(),
+                millis(stats.getTotalNanos()), millis(totalNanos), slowest);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    // Server-Timing başlığını cevap commit edilmeden, gövde yazılmaya başladığı anda ekler
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private final long started;
+        private boolean written = false;
+
+        ServerTimingResponse(HttpServletResponse response, SqlRequestStats stats, long started) {
+            super(response);
+            this.stats = stats;
+            this.started = started;
+        }
+
+        void writeServerTiming() {
+            if (written || isCommitted()) return;
+            written = true;
+            addHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%s;desc=\"%d sql\", app;dur=%s",
+                    millis(stats.getTotalNanos()), stats.getStatementCount(), millis(System.nanoTime() - started)));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.boreksan.controller;
+
+import com.boreksan.service.EntityCacheService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    public CacheController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    // 2. seviye cache hit / miss istatistikleri (Sadece Admin)
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return entityCacheService.getStatistics();
+    }
+}
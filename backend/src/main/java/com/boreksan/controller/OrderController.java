@@ -1,23 +1,40 @@
 package com.boreksan.controller;
 
+import com.boreksan.dto.BulkStatusUpdateRequest;
+import com.boreksan.dto.BulkStatusUpdateResponse;
+import com.boreksan.dto.OrderChangesResponse;
 import com.boreksan.dto.OrderRequest;
 import com.boreksan.dto.DailyOrderUpdateRequest;
+import com.boreksan.dto.OrderListItem;
 import com.boreksan.dto.OrderResponse;
+import com.boreksan.dto.OrderView;
+import com.boreksan.dto.ProductSuggestion;
 import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.exception.InvalidQueryParameterException;
+import com.boreksan.service.DemandForecastService;
 import com.boreksan.service.OrderService;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import jakarta.validation.Valid;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final DemandForecastService demandForecastService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, DemandForecastService demandForecastService) {
         this.orderService = orderService;
+        this.demandForecastService = demandForecastService;
     }
 
     // Sipariş Ver
@@ -27,9 +44,69 @@ public class OrderController {
     }
 
     // Siparişlerim / Sipariş Listesi
+    // Parametresiz çağrı eskisi gibi kalemlerle birlikte tam listeyi döner. İsteğe bağlı:
+    //   view=summary        -> kalemler yerine itemCount / totalQuantity
+    //   fields=id,status    -> sadece bu alanlar (id her zaman gelir)
+    //   normalized=true     -> dükkan bilgileri "shops" sözlüğünde bir kez, siparişlerde shopRef
+    // Örnek: GET /api/orders?view=summary&fields=status,totalPrice,createdAt&normalized=true
     @GetMapping
-    public List<OrderResponse> getOrders() {
-        return orderService.getAllOrders();
+    public MappingJacksonValue getOrders(@RequestParam(required = false) String view,
+                                         @RequestParam(required = false) Set<String> fields,
+                                         @RequestParam(defaultValue = "false") boolean normalized) {
+        OrderView orderView = OrderView.from(view);
+        MappingJacksonValue body = new MappingJacksonValue(orderService.getOrders(orderView, normalized));
+        body.setFilters(new SimpleFilterProvider()
+                .addFilter(OrderListItem.FIELD_FILTER, fieldFilter(orderView, fields, normalized)));
+        return body;
+    }
+
+    // İstenen alanlar + normalize moduna göre sipariş satırlarına uygulanacak Jackson filtresi
+    private static SimpleBeanPropertyFilter fieldFilter(OrderView view, Set<String> fields, boolean normalized) {
+        if (fields == null || fields.isEmpty()) {
+            return normalized
+                    ? SimpleBeanPropertyFilter.serializeAllExcept(OrderListItem.SHOP_FIELDS)
+                    : SimpleBeanPropertyFilter.serializeAll();
+        }
+
+        Set<String> keep = new HashSet<>();
+        keep.add("id");
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            if (!view.fields().contains(name)) {
+                throw new InvalidQueryParameterException("Bilinmeyen alan: " + name + " (geçerli alanlar: " + view.fields() + ")");
+            }
+            keep.add(name);
+        }
+        if (normalized) {
+            keep.removeAll(OrderListItem.SHOP_FIELDS);
+            keep.add("shopRef");
+        }
+        return SimpleBeanPropertyFilter.filterOutAllExcept(keep);
+    }
+
+    // Değişiklik akışı: son bakıştan beri değişen siparişler (ilk çağrıda since=0)
+    // Örnek: GET /api/orders/changes?since=1234 -> {"orders":[...], "nextSince":1250, "hasMore":false}
+    @GetMapping("/changes")
+    public OrderChangesResponse getChanges(@RequestParam(defaultValue = "0") long since,
+                                           @RequestParam(defaultValue = "500") int limit) {
+        return orderService.getChangesSince(since, limit);
+    }
+
+    // Sipariş formu için önerilen miktarlar (dükkanın aynı haftagünündeki geçmişinden, bellekten)
+    // Örnek: GET /api/orders/suggestions?date=2026-10-20  (date yoksa bugün; admin başka dükkan için &shopName=...)
+    @GetMapping("/suggestions")
+    public List<ProductSuggestion> getSuggestions(@RequestParam(required = false) String date,
+                                                  @RequestParam(required = false) String shopName) {
+        LocalDate day = null;
+        if (date != null && !date.isBlank()) {
+            try {
+                day = LocalDate.parse(date.trim());
+            } catch (DateTimeParseException e) {
+                throw new InvalidQueryParameterException("Geçersiz tarih: " + date + " (örn. 2026-10-18)");
+            }
+        }
+        return demandForecastService.getSuggestions(day, shopName);
     }
 
     // Admin gün içi miktar güncelleme (Azaltma/Arttırma)
@@ -44,4 +121,11 @@ public class OrderController {
     public OrderResponse updateStatus(@PathVariable Long id, @RequestParam OrderStatus newStatus) {
         return orderService.updateOrderStatus(id, newStatus);
     }
+
+    // Toplu Durum Güncelle (Sadece Admin)
+    // Örnek: PUT /api/orders/status  {"fromStatus":"WAITING","toStatus":"PREPARING"} -> bugünün bekleyenlerini onayla
+    @PutMapping("/status")
+    public BulkStatusUpdateResponse bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return orderService.bulkUpdateStatus(request);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.boreksan.controller;
+
+import com.boreksan.dto.PriceListRequest;
+import com.boreksan.dto.PriceListResponse;
+import com.boreksan.service.PricingService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Dükkana özel fiyat listeleri (Sadece Admin, /api/admin/**). Her değişiklik commit'ten sonra fiyat tablosunu yeniden derler.
+@RestController
+@RequestMapping("/api/admin/price-lists")
+public class PriceListController {
+
+    private final PricingService pricingService;
+
+    public PriceListController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    // 1. Tüm listeler (dükkanları ve kademeleriyle)
+    @GetMapping
+    public List<PriceListResponse> getPriceLists() {
+        return pricingService.getPriceLists();
+    }
+
+    // 2. Tek liste
+    @GetMapping("/{id}")
+    public PriceListResponse getPriceList(@PathVariable Long id) {
+        return pricingService.getPriceList(id);
+    }
+
+    // 3. Oluştur
+    // Örnek: POST /api/admin/price-lists {"name":"Toptan","shopNames":["Lale Pastanesi"],
+    //        "items":[{"productId":1,"priceTray":780},{"productId":1,"minQuantity":10,"priceTray":740}]}
+    @PostMapping
+    public PriceListResponse createPriceList(@Valid @RequestBody PriceListRequest request) {
+        return pricingService.createPriceList(request);
+    }
+
+    // 4. Güncelle (tamamen değiştirir)
+    @PutMapping("/{id}")
+    public PriceListResponse updatePriceList(@PathVariable Long id, @Valid @RequestBody PriceListRequest request) {
+        return pricingService.updatePriceList(id, request);
+    }
+
+    // 5. Sil
+    @DeleteMapping("/{id}")
+    public void deletePriceList(@PathVariable Long id) {
+        pricingService.deletePriceList(id);
+    }
+}
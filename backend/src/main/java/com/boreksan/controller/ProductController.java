@@ -1,9 +1,12 @@
 package com.boreksan.controller;
 
+import com.boreksan.dto.ProductImportResponse;
+import com.boreksan.dto.ProductImportRow;
 import com.boreksan.dto.ProductResponse;
 import com.boreksan.dto.ProductRequest;
 import com.boreksan.dto.ProductUpdateRequest;
 import com.boreksan.service.ProductService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
@@ -50,4 +53,16 @@ public class ProductController {
         productService.deleteProduct(id);
         return "Product successfully deleted! ID: " + id;
     }
-}
\ No newline at end of file
+
+    // 6. Bulk Import (JSON array). Örn: [{"name":"Su Böreği","pricePortion":60,"priceTray":950},{"id":3,"priceTray":700}]
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ProductImportResponse importProducts(@RequestBody List<ProductImportRow> rows) {
+        return productService.importProducts(rows);
+    }
+
+    // 6b. Bulk Import (CSV). İlk satır başlık: id,name,description,pricePortion,priceTray (sütunlar isteğe bağlı, sıra serbest)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ProductImportResponse importProductsCsv(@RequestBody String csv) {
+        return productService.importProductsCsv(csv);
+    }
+}
@@ -0,0 +1,50 @@
+package com.boreksan.controller;
+
+import com.boreksan.dto.ProductionSheetResponse;
+import com.boreksan.exception.InvalidQueryParameterException;
+import com.boreksan.service.DayCloseJob;
+import com.boreksan.service.ProductionService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("/api/production")
+public class ProductionController {
+
+    private final ProductionService productionService;
+    private final DayCloseJob dayCloseJob;
+    private final Clock clock;
+
+    public ProductionController(ProductionService productionService, DayCloseJob dayCloseJob, Clock clock) {
+        this.productionService = productionService;
+        this.dayCloseJob = dayCloseJob;
+        this.clock = clock;
+    }
+
+    // Üretim Çizelgesi (Sadece Admin): ürün ve dükkan başına tepsi
+    // Örnek: GET /api/production?date=2026-10-18  (date verilmezse bugün)
+    @GetMapping
+    public ProductionSheetResponse getSheet(@RequestParam(required = false) String date) {
+        return productionService.getSheet(parseDate(date));
+    }
+
+    // Günü şimdi kapat (kapanış saatinden sonra; zamanlayıcı kaçırdıysa). Tekrar çağırmak güvenli.
+    @PostMapping("/close")
+    public ProductionSheetResponse close() {
+        return dayCloseJob.close();
+    }
+
+    private LocalDate parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return LocalDate.now(clock);
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryParameterException("Geçersiz tarih: " + date + " (örn. 2026-10-18)");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.boreksan.controller;
+
+import com.boreksan.dto.MonthlyReportResponse;
+import com.boreksan.exception.InvalidQueryParameterException;
+import com.boreksan.service.ReportService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+    private final Clock clock;
+
+    public ReportController(ReportService reportService, Clock clock) {
+        this.reportService = reportService;
+        this.clock = clock;
+    }
+
+    // Aylık Rapor (Sadece Admin): dükkan / ürün / gün bazında ciro, tepsi ve sipariş sayısı
+    // Örnek: GET /api/reports/monthly?month=2026-09  (month verilmezse içinde bulunulan ay)
+    @GetMapping("/monthly")
+    public MonthlyReportResponse getMonthlyReport(@RequestParam(required = false) String month) {
+        return reportService.getMonthlyReport(parseMonth(month));
+    }
+
+    private YearMonth parseMonth(String month) {
+        if (month == null || month.isBlank()) {
+            return YearMonth.now(clock);
+        }
+        try {
+            return YearMonth.parse(month.trim());
+        } catch (DateTimeParseException e) {
+            throw new InvalidQueryParameterException("Geçersiz ay: " + month + " (örn. 2026-09)");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.boreksan.controller;
+
+import com.boreksan.dto.ShopResponse;
+import com.boreksan.service.ShopService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shops")
+public class ShopController {
+
+    private final ShopService shopService;
+
+    public ShopController(ShopService shopService) {
+        this.shopService = shopService;
+    }
+
+    // Dükkan Listesi (Sadece Admin)
+    // Örnek: GET /api/shops?q=lal -> adı "lal" ile başlayan dükkanlar
+    @GetMapping
+    public List<ShopResponse> getShops(@RequestParam(name = "q", required = false) String query) {
+        return shopService.getShops(query);
+    }
+}
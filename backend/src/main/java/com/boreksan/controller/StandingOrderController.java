@@ -0,0 +1,49 @@
+package com.boreksan.controller;
+
+import com.boreksan.dto.StandingOrderRequest;
+import com.boreksan.dto.StandingOrderResponse;
+import com.boreksan.dto.StandingOrderRunResponse;
+import com.boreksan.service.StandingOrderJob;
+import com.boreksan.service.StandingOrderService;
+import jakarta.validation.Valid;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/standing-orders")
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+    private final StandingOrderJob standingOrderJob;
+
+    public StandingOrderController(StandingOrderService standingOrderService, StandingOrderJob standingOrderJob) {
+        this.standingOrderService = standingOrderService;
+        this.standingOrderJob = standingOrderJob;
+    }
+
+    // Sabit Siparişim (Admin: tüm dükkanlarınki)
+    @GetMapping
+    public List<StandingOrderResponse> getStandingOrders() {
+        return standingOrderService.getStandingOrders();
+    }
+
+    // Sabit Siparişi Kaydet (oluştur / tamamen değiştir)
+    // Örnek: PUT /api/standing-orders {"weekdays":["MONDAY","FRIDAY"],"items":[{"productId":1,"quantity":4}]}
+    @PutMapping
+    public StandingOrderResponse saveStandingOrder(@Valid @RequestBody StandingOrderRequest request) {
+        return standingOrderService.saveStandingOrder(request);
+    }
+
+    // Sabit Siparişi Sil (Admin başka dükkan için ?shopName=...)
+    @DeleteMapping
+    public void deleteStandingOrder(@RequestParam(required = false) String shopName) {
+        standingOrderService.deleteStandingOrder(shopName);
+    }
+
+    // Bugünün şablonlarını hemen siparişe çevir (Sadece Admin). Tekrar çağırmak güvenli.
+    @PostMapping("/run")
+    public StandingOrderRunResponse run() {
+        return standingOrderJob.run();
+    }
+}
@@ -0,0 +1,23 @@
+package com.boreksan.dto;
+
+import com.boreksan.entity.enums.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+
+    @NotNull(message = "Mevcut durum gereklidir.")
+    private OrderStatus fromStatus; // Sadece bu durumdaki siparişler güncellenir
+
+    @NotNull(message = "Yeni durum gereklidir.")
+    private OrderStatus toStatus;
+
+    // Ya ID listesi ya da tarih verilir. Örn: {"fromStatus":"WAITING","toStatus":"PREPARING","date":"2025-01-15"}
+    private List<Long> orderIds;
+
+    private LocalDate date; // O günün siparişleri
+}
@@ -0,0 +1,14 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+    private List<Long> updatedIds;  // Durumu gerçekten değişen siparişler
+    private int updatedCount;
+    private int skippedCount;       // ID ile istenip fromStatus'ta olmadığı için atlananlar
+}
@@ -0,0 +1,26 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// GET /api/reports/monthly?month=2026-09
+// closed=true: ay kapanmış, rapor kaydedilmiş haliyle geliyor ve bir daha değişmeyecek.
+// closed=false: içinde bulunulan ay, kısa aralıklarla yeniden hesaplanıyor (generatedAt'e bakın).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyReportResponse implements Serializable {
+    private String month;
+    private boolean closed;
+    private LocalDateTime generatedAt;
+
+    private ReportLine total;
+    private List<ReportLine> byShop;
+    private List<ReportLine> byProduct;
+    private List<ReportLine> byDay;
+}
@@ -0,0 +1,19 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// GET /api/orders/changes?since=... cevabı.
+// İstemci bir sonraki sorguda since=nextSince gönderir; hasMore=true ise beklemeden tekrar sorabilir.
+// İptal edilen siparişler de burada CANCELLED durumuyla gelir (listeden kaldırma işareti).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangesResponse {
+    private List<OrderResponse> orders; // Değişiklik sırasına göre
+    private Long nextSince;
+    private boolean hasMore;
+}
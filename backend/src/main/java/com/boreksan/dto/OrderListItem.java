@@ -0,0 +1,24 @@
+package com.boreksan.dto;
+
+import java.util.Set;
+
+// Sipariş listesindeki satırların (OrderResponse / OrderSummaryResponse) ortak yüzü.
+// fields= ile alan seçimi ve dükkan sözlüğüne (normalized) çevirme bu arayüz üzerinden yapılır.
+public interface OrderListItem {
+
+    // @JsonFilter kimliği: controller istenen alanlara göre bu filtreyi doldurur
+    String FIELD_FILTER = "orderFields";
+
+    // Normalize modda siparişten çıkarılıp "shops" sözlüğüne taşınan alanlar
+    Set<String> SHOP_FIELDS = Set.of("customerName", "shopName", "address", "phone");
+
+    String getCustomerName();
+
+    String getShopName();
+
+    String getAddress();
+
+    String getPhone();
+
+    void setShopRef(Integer shopRef);
+}
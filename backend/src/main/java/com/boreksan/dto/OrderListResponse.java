@@ -0,0 +1,18 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// GET /api/orders?normalized=true cevabı:
+// { "shops": { "0": {shopName, ...} }, "orders": [ { "id": 5, "shopRef": 0, ... } ] }
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderListResponse<T extends OrderListItem> {
+    private Map<Integer, OrderShopResponse> shops;
+    private List<T> orders;
+}
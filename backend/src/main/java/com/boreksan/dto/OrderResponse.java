@@ -1,13 +1,16 @@
 package com.boreksan.dto;
 
 import com.boreksan.entity.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-public class OrderResponse {
+@JsonFilter(OrderListItem.FIELD_FILTER)
+public class OrderResponse implements OrderListItem {
     private Long id;
     private String customerName; // sadece isim var!
     private String shopName;
@@ -19,4 +22,7 @@ public class OrderResponse {
     private LocalDateTime createdAt;
     
     private List<OrderItemResponse> items; // Temizlenmiş ürün listesi
-}
\ No newline at end of file
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer shopRef; // Sadece normalize listede: "shops" sözlüğündeki anahtar
+}
@@ -0,0 +1,16 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Normalize sipariş listesinde dükkan bilgisi: her farklı dükkan kopyası bir kez yazılır
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderShopResponse {
+    private String customerName;
+    private String shopName;
+    private String address;
+    private String phone;
+}
@@ -0,0 +1,47 @@
+package com.boreksan.dto;
+
+import com.boreksan.entity.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// GET /api/orders?view=summary : kalemler yerine sadece sayıları (panel tablosunun bir satırı)
+// OrderRepository'de JPQL "select new" ile doğrudan oluşturulur, kalemler belleğe hiç yüklenmez.
+@Data
+@NoArgsConstructor
+@JsonFilter(OrderListItem.FIELD_FILTER)
+public class OrderSummaryResponse implements OrderListItem {
+    private Long id;
+    private String customerName;
+    private String shopName;
+    private String address;
+    private String phone;
+
+    private Double totalPrice;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+
+    private Long itemCount;     // Kaç çeşit ürün
+    private Long totalQuantity; // Toplam tepsi
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer shopRef; // Sadece normalize listede: "shops" sözlüğündeki anahtar
+
+    public OrderSummaryResponse(Long id, String customerName, String shopName, String address, String phone,
+                                Double totalPrice, OrderStatus status, LocalDateTime createdAt,
+                                Long itemCount, Long totalQuantity) {
+        this.id = id;
+        this.customerName = customerName;
+        this.shopName = shopName;
+        this.address = address;
+        this.phone = phone;
+        this.totalPrice = totalPrice;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.itemCount = itemCount;
+        this.totalQuantity = totalQuantity;
+    }
+}
@@ -0,0 +1,37 @@
+package com.boreksan.dto;
+
+import com.boreksan.exception.InvalidQueryParameterException;
+
+import java.util.Locale;
+import java.util.Set;
+
+// GET /api/orders?view=... : sipariş listesinin ne kadar detaylı döneceği
+public enum OrderView {
+    // Tablo satırı için: kalemler yok, sadece kalem sayısı ve toplam tepsi
+    SUMMARY(Set.of("id", "customerName", "shopName", "address", "phone",
+            "totalPrice", "status", "createdAt", "itemCount", "totalQuantity")),
+    // Varsayılan: kalemlerle birlikte (eski davranış)
+    FULL(Set.of("id", "customerName", "shopName", "address", "phone",
+            "totalPrice", "status", "createdAt", "items"));
+
+    private final Set<String> fields; // fields= ile istenebilecek alanlar
+
+    OrderView(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+
+    public static OrderView from(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryParameterException("Geçersiz view: " + value + " (summary veya full olmalı)");
+        }
+    }
+}
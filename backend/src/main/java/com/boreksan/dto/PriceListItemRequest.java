@@ -0,0 +1,20 @@
+package com.boreksan.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PriceListItemRequest {
+
+    @NotNull(message = "Ürün ID'si gereklidir.")
+    private Long productId;
+
+    // Bu kademenin başladığı tepsi sayısı; verilmezse 1 (her miktar)
+    @Min(value = 1, message = "Kademe en az 1 tepsiden başlamalıdır.")
+    private Integer minQuantity;
+
+    @NotNull(message = "Tepsi fiyatı gereklidir.")
+    @Min(value = 0, message = "Fiyat negatif olamaz.")
+    private Double priceTray;
+}
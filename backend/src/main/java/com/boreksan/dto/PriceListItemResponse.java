@@ -0,0 +1,14 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PriceListItemResponse {
+    private Long productId;
+    private String productName;
+    private Integer minQuantity;
+    private Double priceTray;
+    private Double basePriceTray; // Ürünün liste dışı tepsi fiyatı (karşılaştırma için)
+}
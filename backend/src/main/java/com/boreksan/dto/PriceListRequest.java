@@ -0,0 +1,22 @@
+package com.boreksan.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.List;
+
+// Örn: {"name":"Toptan","shopNames":["Lale Pastanesi"],
+//       "items":[{"productId":1,"priceTray":780},{"productId":1,"minQuantity":10,"priceTray":740}]}
+@Data
+public class PriceListRequest {
+
+    @NotBlank(message = "Liste adı gereklidir.")
+    private String name;
+
+    // Listeye atanan dükkanlar (dükkan adı veya kullanıcı adı); boş liste = dükkansız (taslak)
+    private List<String> shopNames;
+
+    @Valid
+    private List<PriceListItemRequest> items;
+}
@@ -0,0 +1,15 @@
+package com.boreksan.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class PriceListResponse {
+    private Long id;
+    private String name;
+    private List<String> shopNames;
+    private List<PriceListItemResponse> items; // Ürün, sonra kademe sırasıyla
+    private LocalDateTime updatedAt;
+}
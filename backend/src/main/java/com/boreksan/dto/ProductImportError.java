@@ -0,0 +1,12 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductImportError {
+    private int row;        // 1'den başlayan veri satırı numarası (CSV'de başlık sayılmaz)
+    private String field;   // Satırın tamamıyla ilgili hatalarda null
+    private String message;
+}
@@ -0,0 +1,13 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductImportResponse {
+    private int totalRows;
+    private int createdCount;
+    private int updatedCount;
+    private int unchangedCount; // Eşleşen ama değerleri zaten aynı olan ürünler (yazılmaz)
+}
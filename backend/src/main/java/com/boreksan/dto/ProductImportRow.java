@@ -0,0 +1,25 @@
+package com.boreksan.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+// Toplu içe aktarımda bir satır (JSON dizisinin elemanı veya CSV satırı).
+// id verilirse o ürün güncellenir; yoksa aynı isimli ürün (büyük/küçük harf duyarsız) güncellenir, o da yoksa yeni ürün eklenir.
+// Güncellemede boş bırakılan alanlar değişmez (ProductUpdateRequest gibi); yeni ürün için fiyatlar zorunludur.
+@Data
+public class ProductImportRow {
+
+    private Long id;
+
+    private String name;
+
+    @Size(max = 500, message = "Description cannot be too long!")
+    private String description;
+
+    @Min(value = 0, message = "Price cannot be negative!")
+    private Double pricePortion;
+
+    @Min(value = 0, message = "Price cannot be negative!")
+    private Double priceTray;
+}
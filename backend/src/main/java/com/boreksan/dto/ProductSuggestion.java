@@ -0,0 +1,15 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductSuggestion {
+    private Long productId;
+    private String productName;
+    private int suggestedQuantity; // Sipariş formunda önerilen tepsi (ortalamanın yuvarlanmışı)
+    private double mean;           // Aynı gün (örn. her salı) için üstel ağırlıklı ortalama
+    private double stdDev;         // Üstel ağırlıklı standart sapma (tahminin oynaklığı)
+    private int observations;      // Hesaba katılan gün sayısı
+}
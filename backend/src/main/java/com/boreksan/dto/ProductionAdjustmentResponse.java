@@ -0,0 +1,21 @@
+package com.boreksan.dto;
+
+import com.boreksan.entity.enums.AdjustmentReason;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionAdjustmentResponse {
+    private Long orderId;
+    private String shopName;
+    private String productName;
+    private int delta;
+    private AdjustmentReason reason;
+    private String createdBy;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Üretim çizelgesinde bir ürün / dükkan satırı: partideki miktar + sonradan gelen düzeltmeler = net
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionLine {
+    private String key;        // Ürün / dükkan ID'si
+    private String label;      // Ürün adı / dükkan adı
+    private long batchTrays;   // Kapanışta dondurulan
+    private long adjustment;   // Kapanıştan sonraki değişikliklerin toplamı
+    private long netTrays;     // Pişirilecek
+    private long orders;       // Partideki sipariş sayısı
+}
@@ -0,0 +1,27 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Günün üretim çizelgesi. closed=false ise gün henüz kapanmamıştır ve rakamlar canlı siparişlerden hesaplanır
+// (batchTrays = o anki toplam, düzeltme yok); kapandıysa kayıtlı partiden + düzeltmelerden okunur.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionSheetResponse {
+    private LocalDate date;
+    private boolean closed;
+    private LocalDateTime closedAt;
+    private String checksum;
+    private Boolean checksumValid; // Kayıtlı satırlardan yeniden hesaplanan özet eşleşiyor mu (açık günde null)
+    private int orderCount;
+    private long totalTrays;       // Net toplam
+    private List<ProductionLine> byProduct;
+    private List<ProductionLine> byShop;
+    private List<ProductionAdjustmentResponse> adjustments;
+}
@@ -0,0 +1,20 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Rapordaki tek satır. ReportQueryRepository'de JPQL "select new" ile oluşturulur.
+// Serializable: rapor cache'te (JCache) tutuluyor
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportLine implements Serializable {
+    private String key;      // Dükkan / ürün ID'si ya da tarih
+    private String label;    // Dükkan adı / ürün adı / tarih
+    private Double revenue;  // Ciro (iptal edilenler hariç)
+    private Long trays;      // Toplam tepsi
+    private Long orders;     // Sipariş sayısı
+}
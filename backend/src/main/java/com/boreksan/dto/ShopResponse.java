@@ -0,0 +1,24 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Serializable: dükkan listesi kısa süreli cache'te (JCache) tutuluyor
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShopResponse implements Serializable {
+    private Long id;
+    private String username;
+    private String shopName;
+    private String phone;
+    private String address;
+
+    private LocalDateTime lastOrderAt; // İptal edilmemiş son sipariş zamanı (yoksa null)
+    private Long orderCount;           // İptal edilmemiş sipariş sayısı
+    private Long trayVolume30d;        // Son 30 gündeki toplam tepsi
+}
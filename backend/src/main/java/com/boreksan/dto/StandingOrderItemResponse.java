@@ -0,0 +1,14 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingOrderItemResponse {
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+}
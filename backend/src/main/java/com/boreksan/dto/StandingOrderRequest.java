@@ -0,0 +1,27 @@
+package com.boreksan.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class StandingOrderRequest {
+
+    @Valid
+    @NotEmpty(message = "Sabit sipariş en az bir ürün içermelidir!")
+    private List<OrderItemRequest> items;
+
+    // Siparişin üretileceği günler, örn. ["MONDAY","TUESDAY","WEDNESDAY","THURSDAY","FRIDAY"]
+    @NotEmpty(message = "En az bir gün seçilmelidir!")
+    private Set<DayOfWeek> weekdays;
+
+    // Verilmezse aktif
+    private Boolean active;
+
+    // Admin'in başka bir dükkan adına şablon kaydetmesi için opsiyonel alan
+    private String shopName;
+}
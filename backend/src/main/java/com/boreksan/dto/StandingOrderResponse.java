@@ -0,0 +1,18 @@
+package com.boreksan.dto;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class StandingOrderResponse {
+    private Long id;
+    private String customerName;
+    private String shopName;
+    private boolean active;
+    private List<DayOfWeek> weekdays; // Pazartesi'den Pazar'a sıralı
+    private List<StandingOrderItemResponse> items;
+    private LocalDateTime updatedAt;
+}
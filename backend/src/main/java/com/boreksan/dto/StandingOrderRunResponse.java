@@ -0,0 +1,20 @@
+package com.boreksan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Bir şablon çalıştırmasının sonucu (aynı gün tekrar çalıştırılırsa createdOrders 0 döner)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingOrderRunResponse {
+    private LocalDate date;
+    private int createdOrders;
+    private int trays;
+    private int skippedShops; // O gün zaten siparişi olduğu için atlanan dükkanlar
+    private LocalDateTime completedAt;
+}
@@ -3,10 +3,10 @@ package com.boreksan.entity;
 import com.boreksan.entity.enums.OrderStatus;
 import jakarta.persistence.*;
 import lombok.Data;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,8 +15,11 @@ import java.util.List;
 @Table(name = "orders") // "order" SQL'de özel kelime olduğu için "orders" yapıyoruz
 public class Order {
 
+    // SEQUENCE (pooled) kullanıyoruz ki toplu kayıtta INSERT'ler JDBC batch olarak gidebilsin.
+    // IDENTITY ile Hibernate her satırı tek tek göndermek zorunda kalır.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     // Siparişi veren Pastane (User tablosuna bağlı)
@@ -25,15 +28,52 @@ public class Order {
     @OnDelete(action = OnDeleteAction.CASCADE) // When a user is deleted, delete their orders too
     private User user;
 
+    // Sipariş anındaki dükkan bilgileri (kopya). Listeleme users tablosuna JOIN yapmadan bunları okur,
+    // dükkan bilgisi sonradan değişse de eski siparişler verildiği haliyle görünür.
+    private String customerName;
+    private String shopName;
+    private String address;
+    private String phone;
+
     private Double totalPrice; // Toplam Tutar (Backend hesaplayacak)
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status = OrderStatus.WAITING; // Varsayılan: Bekliyor
 
-    @CreationTimestamp
+    // Sipariş kuyruğa girdiyse geliş zamanı önceden set edilir; yoksa kayıt anı kullanılır
     private LocalDateTime createdAt;
 
+    // Son değişiklik zamanı ve değişiklik sırası (GET /api/orders/changes?since=...).
+    // changeSeq commit anında verilir (bkz. OrderChangeSequencer): INSERT'te hiç yazılmaz (NULL kalır),
+    // güncellemede markChanged() ile aynı UPDATE içinde NULL'a çekilir. Silme yok: iptal edilen
+    // sipariş CANCELLED durumuyla akışta görünür, istemci için "silindi" işareti budur.
+    private LocalDateTime updatedAt;
+
+    @Column(name = "change_seq", insertable = false)
+    private Long changeSeq;
+
+    // Günün üretim partisine dahil edildiyse o günün tarihi (kapanışta toplu UPDATE ile işaretlenir).
+    // Kapanıştan sonra eklenen siparişlerde null kalır; onlar partiye düzeltme olarak yansır.
+    private LocalDate productionDate;
+
     // Siparişin içindeki kalemler (OrderItem tablosuna bağlı)
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    // orphanRemoval: listeden çıkarılan kalem (gün içi miktar azaltma) veritabanından da silinsin
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items;
+
+    // Bir sonraki UPDATE siparişi değişiklik akışına yeniden sokar (numara commit'te verilir)
+    public void markChanged(LocalDateTime now) {
+        this.updatedAt = now;
+        this.changeSeq = null;
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+    }
 }
\ No newline at end of file
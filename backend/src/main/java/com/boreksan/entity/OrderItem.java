@@ -12,7 +12,8 @@ import org.hibernate.annotations.OnDeleteAction;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -21,10 +22,13 @@ public class OrderItem {
     @OnDelete(action = OnDeleteAction.CASCADE) // When an order is deleted, delete its items too
     private Order order;
 
-    @ManyToOne
+    // LAZY: listelemede ürün adı productName kopyasından okunur, products tablosuna gidilmez
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
 
+    private String productName; // Sipariş anındaki ürün adı (ürün sonradan değişse de tarihçe bozulmasın)
+
     private Integer quantity; // Kaç Tepsi?
 
     private Double unitPrice; // O anki tepsi fiyatı (Tarihçesi kalsın diye)
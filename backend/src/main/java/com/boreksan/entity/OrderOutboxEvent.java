@@ -0,0 +1,66 @@
+package com.boreksan.entity;
+
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Transactional outbox: siparişi değiştiren transaction, olayı da aynı transaction'da buraya yazar.
+// Satırlar OrderOutbox (yazma) ve OutboxRelay (SKIP LOCKED + locked_until kirası ile sahiplenme) tarafından JDBC ile işlenir;
+// toplu işlemler olayları tek INSERT ... SELECT ile ekleyebilsin diye alanlar JSON değil sabit kolonlar.
+// Bekleyen olay index'i kısmi (where next_attempt_at is not null): JPA ifade edemediği için db/scripts/007'de.
+@Data
+@Entity
+@Table(name = "order_outbox")
+public class OrderOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderEventType eventType;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    private Long userId;
+
+    private String shopName;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status; // Olay anındaki durum
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus previousStatus; // Sadece STATUS_CHANGED
+
+    private Double totalPrice;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // --- Teslim durumu ---
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Bekleyen olayın bir sonraki deneme zamanı. Teslim edilen / vazgeçilen olayda null:
+    // relay sadece dolu olanları tarar, kısmi index bekleyenler kadar küçük kalır.
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Olayı alan relay'in kirası: bu zamana kadar başka düğüm almaz. Relay sahiplenmeyi commit edip handler'ları
+    // transaction dışında çalıştırır; düğüm çökerse kira dolunca olay tekrar alınır (en az bir kez).
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    private LocalDateTime deliveredAt;
+
+    private LocalDateTime failedAt; // max-attempts aşıldı, elle incelenmeli
+
+    @Column(length = 1000)
+    private String lastError;
+}
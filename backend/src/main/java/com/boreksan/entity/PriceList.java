@@ -0,0 +1,44 @@
+package com.boreksan.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Dükkana özel fiyat listesi: atanan dükkanlar bu listedeki ürünleri (miktar kademelerine göre) liste fiyatından alır.
+// Listede olmayan ürün / kademeye girmeyen miktar ürünün kendi tepsi fiyatıyla satılır. Bir dükkan en fazla bir listede olur.
+// Sipariş anında veritabanına gidilmez: PricingService listeleri bellekte bir PricingTable'a derler.
+@Data
+@Entity
+@Table(name = "price_lists")
+public class PriceList {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @ManyToMany
+    @JoinTable(name = "price_list_shops",
+            joinColumns = @JoinColumn(name = "price_list_id"),
+            inverseJoinColumns = @JoinColumn(name = "user_id", unique = true))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<User> shops = new HashSet<>();
+
+    @OneToMany(mappedBy = "priceList", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<PriceListItem> items = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.boreksan.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// Fiyat listesinde bir ürünün bir kademesi: minQuantity tepsi ve üstü priceTray'den.
+// Aynı ürün için birden fazla satır = hacim indirimi (örn. 1+ 800, 10+ 760, 25+ 720).
+@Data
+@Entity
+@Table(name = "price_list_items",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"price_list_id", "product_id", "min_quantity"}))
+public class PriceListItem {
+
+    @Id
+    // Sequence: bir listenin kademeleri tek JDBC batch'iyle yazılır (IDENTITY batch'i kapatır)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_list_items_seq")
+    @SequenceGenerator(name = "price_list_items_seq", sequenceName = "price_list_items_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "price_list_id", nullable = false)
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private PriceList priceList;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE) // Ürün silinirse listeden de düşsün
+    private Product product;
+
+    @Column(name = "min_quantity", nullable = false)
+    private Integer minQuantity;
+
+    @Column(name = "price_tray", nullable = false)
+    private Double priceTray;
+}
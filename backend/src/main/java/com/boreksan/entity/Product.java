@@ -2,12 +2,17 @@ package com.boreksan.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read-mostly: kept in Hibernate's second-level cache
 @Table(name = "products")
 public class Product {
 
@@ -16,6 +21,12 @@ public class Product {
     private Long id;
 
     private String name;
+
+    // İsim eşleşmesinin anahtarı (bkz. nameKey). Veritabanının lower()'ına bırakılmaz: collation'a göre
+    // "İ" / "I" farklı küçülür ve Java'daki karşılaştırmayla uyuşmaz. Unique index: db/scripts/008
+    @Column(name = "name_key")
+    private String nameKey;
+
     private String description;
 
     @Column(name = "price_portion")
@@ -27,4 +38,16 @@ public class Product {
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void fillNameKey() {
+        nameKey = name != null ? nameKey(name) : null;
+    }
+
+    // İsim eşleşmesi büyük/küçük harf ve baştaki/sondaki boşluk duyarsız.
+    // Locale.ROOT: JVM'in diline göre değişmesin (Türkçe JVM'de "I" -> "ı" olur)
+    public static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.boreksan.entity;
+
+import com.boreksan.entity.enums.AdjustmentReason;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Üretim partisi kapandıktan sonraki bir miktar değişikliği (sipariş kalemi başına, + veya - tepsi).
+// Net üretim = parti + düzeltmeler. @Immutable: geçmiş değişmez, yanlış düzeltme yeni bir düzeltmeyle geri alınır.
+@Data
+@Entity
+@Immutable
+@Table(name = "production_adjustments", indexes = @Index(name = "idx_production_adjustments_date", columnList = "production_date"))
+public class ProductionAdjustment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "production_adjustments_seq")
+    @SequenceGenerator(name = "production_adjustments_seq", sequenceName = "production_adjustments_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "production_date", nullable = false)
+    private LocalDate productionDate;
+
+    private Long orderId;
+
+    // Dükkan ve ürün bilgileri siparişteki kopyadan (parti satırlarıyla aynı anahtarlar)
+    private Long userId;
+    private String shopName;
+    private Long productId;
+    private String productName;
+
+    @Column(nullable = false)
+    private Integer delta; // Tepsi farkı
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AdjustmentReason reason;
+
+    private String createdBy; // Admin kullanıcı adı; zamanlanmış işlerde "system"
+
+    private LocalDateTime createdAt;
+}
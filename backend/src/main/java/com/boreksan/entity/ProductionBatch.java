@@ -0,0 +1,32 @@
+package com.boreksan.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Günün üretim partisi: kesimde o günün iptal edilmemiş siparişleri toplanıp burada dondurulur
+// (ürün / dükkan satırları ProductionBatchLine'da). Sonraki değişiklikler partiyi değiştirmez,
+// ProductionAdjustment olarak eklenir.
+// Satır kapanıştan önce de oluşabilir (closedAt null): kesimden sonra gelen admin değişiklikleri ile
+// kapanış aynı günün satırını SELECT ... FOR UPDATE ile kilitleyerek sıraya girer.
+@Data
+@Entity
+@Table(name = "production_batches")
+public class ProductionBatch {
+
+    @Id
+    @Column(name = "production_date")
+    private LocalDate productionDate;
+
+    private LocalDateTime closedAt; // null: henüz kapanmadı
+
+    private Integer orderCount;  // Partiye dahil edilen (orders.production_date işaretlenen) siparişler
+
+    private Long totalTrays;
+
+    // Satırların SHA-256 özeti: okumada yeniden hesaplanıp karşılaştırılır, mutfak çıktısıyla da eşleştirilebilir
+    @Column(length = 64)
+    private String checksum;
+}
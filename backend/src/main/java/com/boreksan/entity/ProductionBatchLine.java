@@ -0,0 +1,35 @@
+package com.boreksan.entity;
+
+import com.boreksan.entity.enums.ReportDimension;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+// Üretim partisinin ürün / dükkan başına toplamı. @Immutable: sadece INSERT.
+@Data
+@Entity
+@Immutable
+@Table(name = "production_batch_lines", indexes = @Index(name = "idx_production_batch_lines_date", columnList = "production_date"))
+public class ProductionBatchLine {
+
+    // SEQUENCE (pooled): bir partinin satırları tek JDBC batch'i ile yazılabilsin
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "production_batch_lines_seq")
+    @SequenceGenerator(name = "production_batch_lines_seq", sequenceName = "production_batch_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "production_date", nullable = false)
+    private LocalDate productionDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportDimension dimension; // PRODUCT veya SHOP
+
+    private String dimensionKey; // Ürün / dükkan ID'si
+    private String label;        // Ürün adı / dükkan adı
+
+    private Long trays;       // Toplam tepsi
+    private Long orderCount;  // Sipariş sayısı
+}
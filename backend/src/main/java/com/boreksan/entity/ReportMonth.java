@@ -0,0 +1,46 @@
+package com.boreksan.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Kapanmış bir ayın raporu bir kez hesaplanıp kaydedilir; sonra asla değişmez.
+// Bu satır "bu ayın raporu hazır" işaretidir (satırlar ReportRow'da). Ay birincil anahtar olduğu için
+// iki düğüm aynı ayı aynı anda kaydetmeye çalışırsa ikincisi hata alır ve kaydedileni okur.
+// Bunun için kayıt her zaman INSERT olmalı: ID atanmış bir entity'de save() varsayılan olarak merge yapar,
+// merge önce SELECT atar ve diğer düğümün commit ettiği satırı bulursa (@Immutable: UPDATE de yok) sessizce geçer.
+// isNew() hep true: save() persist çağırır, çakışan ay birincil anahtarda düşer.
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "report_months")
+public class ReportMonth implements Persistable<String> {
+
+    @Id
+    @Column(name = "report_month", length = 7) // "month" H2'de ayrılmış kelime
+    private String month; // "2026-09"
+
+    @Column(nullable = false)
+    private LocalDateTime generatedAt;
+
+    public ReportMonth(String month, LocalDateTime generatedAt) {
+        this.month = month;
+        this.generatedAt = generatedAt;
+    }
+
+    @Override
+    public String getId() {
+        return month;
+    }
+
+    // Sadece yazılırken kullanılır; okunan başlıklar hiç kaydedilmez
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
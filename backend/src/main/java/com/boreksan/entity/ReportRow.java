@@ -0,0 +1,34 @@
+package com.boreksan.entity;
+
+import com.boreksan.entity.enums.ReportDimension;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+// Kapanmış ayın rapor satırı (dükkan / ürün / gün başına toplamlar). @Immutable: sadece INSERT.
+@Data
+@Entity
+@Immutable
+@Table(name = "report_rows", indexes = @Index(name = "idx_report_rows_month", columnList = "report_month"))
+public class ReportRow {
+
+    // SEQUENCE (pooled): bir ayın satırları tek JDBC batch'i ile yazılabilsin
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_rows_seq")
+    @SequenceGenerator(name = "report_rows_seq", sequenceName = "report_rows_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_month", nullable = false, length = 7) // "month" H2'de ayrılmış kelime
+    private String month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportDimension dimension;
+
+    private String dimensionKey; // Dükkan / ürün ID'si ya da "2026-09-14"
+    private String label;        // Dükkan adı / ürün adı / tarih
+
+    private Double revenue;   // Ciro
+    private Long trays;       // Toplam tepsi
+    private Long orderCount;  // Sipariş sayısı
+}
@@ -0,0 +1,52 @@
+package com.boreksan.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Dükkanın her gün (seçtiği günlerde) tekrarlanan siparişi. Her dükkanın en fazla bir şablonu olur.
+// StandingOrderJob bunları kesim saatinde gerçek Order/OrderItem satırlarına dönüştürür;
+// o gün elle sipariş vermiş dükkanın şablonu atlanır.
+@Data
+@Entity
+@Table(name = "standing_orders")
+public class StandingOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE) // Dükkan silinirse şablonu da gitsin
+    private User user;
+
+    // false ise şablon saklanır ama sipariş üretilmez (tatil vb.)
+    @Column(nullable = false)
+    private boolean active = true;
+
+    // Siparişin üretileceği günler (siparişin VERİLDİĞİ gün; teslimat ertesi sabah).
+    // Kalemlerle aynı JOIN'de gelirse kalemler gün sayısı kadar tekrar eder; listedeki tüm şablonların günleri tek ek sorguda
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "standing_order_weekdays", joinColumns = @JoinColumn(name = "standing_order_id"))
+    @Column(name = "weekday", nullable = false, length = 9)
+    @Enumerated(EnumType.STRING)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+
+    @OneToMany(mappedBy = "standingOrder", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<StandingOrderItem> items = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.boreksan.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Data
+@Entity
+@Table(name = "standing_order_items")
+public class StandingOrderItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "standing_order_id", nullable = false)
+    @JsonIgnore
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private StandingOrder standingOrder;
+
+    // Fiyat ve ürün adı şablonda tutulmaz: sipariş üretildiği günün fiyatıyla kopyalanır
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE) // Ürün silinirse şablondan da düşsün
+    private Product product;
+
+    @Column(nullable = false)
+    private Integer quantity; // Kaç Tepsi?
+}
@@ -0,0 +1,26 @@
+package com.boreksan.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Her gün için tek satır: o günün şablon çalıştırmasının kaydı.
+// Satırlar StandingOrderJob tarafından JDBC ile yazılır (INSERT ... ON CONFLICT + SELECT FOR UPDATE);
+// aynı gün için ikinci bir çalıştırma (başka düğüm, elle tetikleme) bu satırın kilidinde sıraya girer.
+@Data
+@Entity
+@Table(name = "standing_order_runs")
+public class StandingOrderRun {
+
+    @Id
+    @Column(name = "run_date")
+    private LocalDate runDate;
+
+    private LocalDateTime completedAt; // null: hiç tamamlanmadı (ilk çalıştırma rollback olduysa tekrar denenir)
+
+    private Integer createdOrders;
+
+    private Integer skippedShops; // O gün elle sipariş verdiği için atlanan dükkanlar
+}
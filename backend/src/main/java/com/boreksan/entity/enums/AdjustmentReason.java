@@ -0,0 +1,9 @@
+package com.boreksan.entity.enums;
+
+// Üretim partisi kapandıktan sonra miktarı değiştiren işlemler
+public enum AdjustmentReason {
+    DAILY_UPDATE,     // Admin gün içi miktar güncelleme (POST /api/orders/daily-update)
+    ADMIN_ORDER,      // Kesimden sonra admin'in verdiği sipariş
+    STATUS_CHANGE,    // İptal (veya iptalden geri alma)
+    STANDING_ORDER    // Kapanıştan sonra elle çalıştırılan sabit siparişler
+}
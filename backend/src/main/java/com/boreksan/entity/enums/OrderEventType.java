@@ -0,0 +1,8 @@
+package com.boreksan.entity.enums;
+
+// Outbox'a yazılan sipariş olayları
+public enum OrderEventType {
+    CREATED,         // Yeni sipariş (dükkan, admin, gün içi ekleme veya sabit sipariş şablonu)
+    ITEMS_CHANGED,   // Gün içi güncellemeyle miktarı azalan sipariş
+    STATUS_CHANGED   // Durum değişikliği (tekil, toplu veya boşalan siparişin iptali)
+}
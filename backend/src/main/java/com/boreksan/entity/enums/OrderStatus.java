@@ -1,9 +1,45 @@
 package com.boreksan.entity.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     WAITING,    // Onay Bekliyor
     PREPARING,  // Hazırlanıyor
     ON_WAY,     // Yolda
     DELIVERED,  // Teslim Edildi
-    CANCELLED   // İptal
-}
\ No newline at end of file
+    CANCELLED;  // İptal
+
+    // İleri akış (Bekliyor -> Hazırlanıyor -> Yolda -> Teslim, teslimden önce iptal).
+    // Toplu güncelleme sadece bunu kabul eder.
+    public Set<OrderStatus> allowedTransitions() {
+        return switch (this) {
+            case WAITING -> EnumSet.of(PREPARING, CANCELLED);
+            case PREPARING -> EnumSet.of(ON_WAY, CANCELLED);
+            case ON_WAY -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return allowedTransitions().contains(target);
+    }
+
+    // Tek sipariş ekranında admin ayrıca yanlış tıklamayı düzeltebilir: bir adım geri almak
+    // (Yolda -> Hazırlanıyor gibi) ve iptali geri almak (sipariş Bekliyor'a döner).
+    // Toplu güncellemede düzeltme yok: yüzlerce siparişi geri almak hiçbir zaman kasıtlı değildir.
+    // Bunların dışındaki geçişler (örn. Teslim -> Bekliyor) iki uçta da reddedilir.
+    public Set<OrderStatus> allowedCorrections() {
+        return switch (this) {
+            case WAITING -> EnumSet.noneOf(OrderStatus.class);
+            case PREPARING -> EnumSet.of(WAITING);
+            case ON_WAY -> EnumSet.of(PREPARING);
+            case DELIVERED -> EnumSet.of(ON_WAY);
+            case CANCELLED -> EnumSet.of(WAITING);
+        };
+    }
+
+    public boolean canCorrectTo(OrderStatus target) {
+        return canTransitionTo(target) || allowedCorrections().contains(target);
+    }
+}
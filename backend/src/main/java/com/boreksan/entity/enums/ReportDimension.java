@@ -0,0 +1,8 @@
+package com.boreksan.entity.enums;
+
+// Aylık rapor satırının neye göre gruplandığı
+public enum ReportDimension {
+    SHOP,    // Dükkan bazında
+    PRODUCT, // Ürün bazında
+    DAY      // Gün bazında
+}
@@ -0,0 +1,8 @@
+package com.boreksan.exception;
+
+// Giriş yapılmış ama işlem sadece admin'e açık: 403
+public class AdminOnlyException extends DomainException {
+    public AdminOnlyException(String message) {
+        super(ErrorCode.ADMIN_ONLY, message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.boreksan.exception;
+
+// Beklenen iş kuralı hataları (bulunamadı, saat doldu, geçersiz token...). Bunlar hata değil cevaptır:
+// 22:00 sonrası yüzlerce 400 / 401 gelir ve hiçbirinin stack trace'ine bakılmaz.
+// Bu yüzden stack trace toplanmaz (fillInStackTrace en pahalı kısım) ve suppressed listesi tutulmaz.
+// Beklenmeyen hatalar (NullPointerException vb.) bundan türemez, stack trace'leriyle loglanır.
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    protected DomainException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
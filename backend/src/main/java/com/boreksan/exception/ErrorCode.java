@@ -0,0 +1,51 @@
+package com.boreksan.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.util.Locale;
+
+// Sabit hata kodları: istemciler error_code'a (ve ProblemDetail "type"ına) göre davranır, mesaj metnine değil.
+// Durum, başlık ve type URI'si her kod için bir kez oluşturulur; hata cevabı sadece detail'i ekler.
+public enum ErrorCode {
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND, "Ürün bulunamadı"),
+    ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "Sipariş bulunamadı"),
+    PRICE_LIST_NOT_FOUND(HttpStatus.NOT_FOUND, "Fiyat listesi bulunamadı"),
+    SHOP_NOT_FOUND(HttpStatus.NOT_FOUND, "Dükkan bulunamadı"),
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "Geçersiz veya süresi dolmuş token"),
+    BAD_CREDENTIALS(HttpStatus.UNAUTHORIZED, "Hatalı kullanıcı adı veya şifre"),
+    ADMIN_ONLY(HttpStatus.FORBIDDEN, "Bu işlem sadece admin'e açık"),
+    USERNAME_TAKEN(HttpStatus.CONFLICT, "Kullanıcı adı alınmış"),
+    VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "Geçersiz istek"),
+    DATA_INTEGRITY_VIOLATION(HttpStatus.CONFLICT, "Veri bütünlüğü hatası"),
+    ORDER_TIME_LIMIT_EXCEEDED(HttpStatus.BAD_REQUEST, "Sipariş saati doldu"),
+    INVALID_STATUS_TRANSITION(HttpStatus.BAD_REQUEST, "Geçersiz durum geçişi"),
+    INVALID_PARAMETER(HttpStatus.BAD_REQUEST, "Geçersiz sorgu parametresi"),
+    PRODUCT_IMPORT_INVALID(HttpStatus.BAD_REQUEST, "Ürün içe aktarımı reddedildi"),
+    PRODUCTION_DAY_OPEN(HttpStatus.CONFLICT, "Üretim günü henüz kapatılamaz"),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Sistem yoğun"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Beklenmeyen hata");
+
+    private final HttpStatus status;
+    private final String title;
+    private final URI type;
+
+    ErrorCode(HttpStatus status, String title) {
+        this.status = status;
+        this.title = title;
+        // Locale.ROOT: Türkçe JVM'de "INVALID" -> "ınvalıd" olmasın, URI'ler her ortamda aynı kalsın
+        this.type = URI.create("urn:boreksan:error:" + name().toLowerCase(Locale.ROOT).replace('_', '-'));
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public URI type() {
+        return type;
+    }
+}
@@ -1,69 +1,71 @@
 package com.boreksan.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+// Tüm hata cevapları ProblemDetail (application/problem+json): type, title, status, detail, instance
+// + geriye uyumluluk için message ve error_code.
+// Spring MVC'nin kendi istisnaları (bozuk JSON, eksik / dönüştürülemeyen parametre, desteklenmeyen metod...)
+// ResponseEntityExceptionHandler'dan 4xx durumlarıyla geçer; catch-all'a düşüp 500 + ERROR logu üretmezler.
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     // 1. GENERAL CASE: All other exceptions (e.g., NullPointerException) fall here (500)
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleGeneralException(Exception e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "An unexpected error occurred.");
-        response.put("details", e.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
-    }
-
-    // 2. SPECIFIC CASE: Only triggered when a product is not found (404)
-    @ExceptionHandler(ProductNotFoundException.class)
-    public ResponseEntity<Map<String, String>> handleProductNotFound(ProductNotFoundException e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", e.getMessage());
-        response.put("error_code", "PRODUCT_NOT_FOUND");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleGeneralException(Exception e) {
+        // Beklenmeyen hata: stack trace'i sadece burada (ve sadece bunlar için) loglanır.
+        // Beklenen hatalar DomainException (stack trace'siz) veya aşağıdaki MVC istisnalarıdır, buraya gelmez.
+        log.error("unexpected_error: {}", e.getMessage(), e);
+        ProblemDetail problem = ProblemDetails.of(ErrorCode.INTERNAL_ERROR, "An unexpected error occurred.");
+        problem.setProperty("details", e.getMessage());
+        return ResponseEntity.status(ErrorCode.INTERNAL_ERROR.status()).body(problem);
     }
 
-    // 3. INVALID TOKEN: Token is invalid or expired (401)
-    @ExceptionHandler(InvalidTokenException.class)
-    public ResponseEntity<Map<String, String>> handleInvalidTokenException(InvalidTokenException e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", e.getMessage());
-        response.put("error_code", "INVALID_TOKEN");
-        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    // 2. DOMAIN ERRORS: ürün / sipariş bulunamadı (404), geçersiz token (401), kullanıcı adı alınmış (409),
+    //    sipariş saati doldu, geçersiz durum geçişi, geçersiz parametre (400), gün henüz kapanamaz (409).
+    //    Durum ve kod istisnanın ErrorCode'undan gelir; yeni bir DomainException için burada handler gerekmez.
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ProblemDetail> handleDomainException(DomainException e) {
+        return ProblemDetails.response(e.getErrorCode(), e.getMessage());
     }
 
-    // 4. USERNAME ALREADY EXISTS: Duplicate username registration (409)
-    @ExceptionHandler(UsernameAlreadyExistsException.class)
-    public ResponseEntity<Map<String, String>> handleUsernameAlreadyExists(UsernameAlreadyExistsException e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", e.getMessage());
-        response.put("error_code", "USERNAME_TAKEN");
-        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    // 2a. BULK IMPORT: Satır hataları ayrı bir alanda (hiçbir satır yazılmadı)
+    @ExceptionHandler(ProductImportException.class)
+    public ResponseEntity<ProblemDetail> handleProductImportException(ProductImportException e) {
+        ProblemDetail problem = ProblemDetails.of(e.getErrorCode(), e.getMessage());
+        problem.setProperty("row_errors", e.getRowErrors());
+        return ResponseEntity.status(e.getErrorCode().status()).body(problem);
     }
 
-    // 5. LOGIN ERRORS: Incorrect username/password (401)
+    // 3. LOGIN ERRORS: Incorrect username/password (401)
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<Map<String, String>> handleBadCredentials(BadCredentialsException e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Invalid username or password");
-        response.put("error_code", "BAD_CREDENTIALS");
-        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    public ResponseEntity<ProblemDetail> handleBadCredentials(BadCredentialsException e) {
+        return ProblemDetails.response(ErrorCode.BAD_CREDENTIALS, "Invalid username or password");
     }
 
-    // 6. VALIDATION ERRORS: Triggered when @Valid fails (400)
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> validationErrors = new HashMap<>();
+    // 4. VALIDATION ERRORS: Triggered when @Valid fails (400)
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        Map<String, String> validationErrors = new LinkedHashMap<>();
 
         // Iterate through all fields with errors (e.g., name, price, etc.)
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -72,29 +74,35 @@ public class GlobalExceptionHandler {
             validationErrors.put(fieldName, errorMessage);
         });
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Girdiğiniz bilgilerde eksik veya hatalar var.");
-        response.put("error_code", "VALIDATION_ERROR");
-        response.put("validation_errors", validationErrors); // Hataları ayrı bir alana koyduk
-
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        ProblemDetail problem = ProblemDetails.of(ErrorCode.VALIDATION_ERROR, "Girdiğiniz bilgilerde eksik veya hatalar var.");
+        problem.setProperty("validation_errors", validationErrors); // Hataları ayrı bir alana koyduk
+        return ResponseEntity.status(ErrorCode.VALIDATION_ERROR.status()).headers(headers).body(problem);
     }
 
-    // 7. DB CONSTRAINT: Unexpected unique constraint violations, etc. (409) - fallback
-    @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Data integrity violation.");
-        response.put("error_code", "DATA_INTEGRITY_VIOLATION");
-        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    // 4a. DİĞER MVC İSTİSNALARI: Spring'in ürettiği ProblemDetail'e bizim alanlarımız eklenir.
+    //     400'ler (bozuk JSON, eksik / hatalı parametre) VALIDATION_ERROR olarak işaretlenir; 5xx olanlar
+    //     (ör. cevap yazılamadı) gerçekten beklenmeyen hatadır ve catch-all gibi stack trace'le loglanır.
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers,
+                                                             HttpStatusCode statusCode, WebRequest request) {
+        if (statusCode.is5xxServerError()) {
+            log.error("unexpected_error: {}", ex.getMessage(), ex);
+        }
+        ResponseEntity<Object> response = super.handleExceptionInternal(ex, body, headers, statusCode, request);
+        if (response != null && response.getBody() instanceof ProblemDetail problem) {
+            if (statusCode.value() == HttpStatus.BAD_REQUEST.value()) {
+                problem.setType(ErrorCode.VALIDATION_ERROR.type());
+                problem.setTitle(ErrorCode.VALIDATION_ERROR.title());
+                problem.setProperty("error_code", ErrorCode.VALIDATION_ERROR.name());
+            }
+            problem.setProperty("message", problem.getDetail());
+        }
+        return response;
     }
 
-    // 8. SİPARİŞ SAATİ HATASI (400 Bad Request)
-    @ExceptionHandler(OrderTimeLimitException.class)
-    public ResponseEntity<Map<String, String>> handleOrderTimeLimit(OrderTimeLimitException e) {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", e.getMessage());
-        response.put("error_code", "ORDER_TIME_LIMIT_EXCEEDED");
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    // 5. DB CONSTRAINT: Unexpected unique constraint violations, etc. (409) - fallback
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return ProblemDetails.response(ErrorCode.DATA_INTEGRITY_VIOLATION, "Data integrity violation.");
     }
-}
\ No newline at end of file
+}
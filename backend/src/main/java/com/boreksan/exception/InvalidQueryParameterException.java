@@ -0,0 +1,7 @@
+package com.boreksan.exception;
+
+public class InvalidQueryParameterException extends DomainException {
+    public InvalidQueryParameterException(String message) {
+        super(ErrorCode.INVALID_PARAMETER, message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.boreksan.exception;
+
+public class InvalidStatusTransitionException extends DomainException {
+    public InvalidStatusTransitionException(String message) {
+        super(ErrorCode.INVALID_STATUS_TRANSITION, message);
+    }
+}
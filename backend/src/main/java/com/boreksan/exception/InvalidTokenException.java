@@ -1,7 +1,7 @@
 package com.boreksan.exception;
 
-public class InvalidTokenException extends RuntimeException {
+public class InvalidTokenException extends DomainException {
     public InvalidTokenException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_TOKEN, message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.boreksan.exception;
+
+public class OrderNotFoundException extends DomainException {
+    public OrderNotFoundException(String message) {
+        super(ErrorCode.ORDER_NOT_FOUND, message);
+    }
+}
@@ -1,7 +1,7 @@
 package com.boreksan.exception;
 
-public class OrderTimeLimitException extends RuntimeException {
+public class OrderTimeLimitException extends DomainException {
     public OrderTimeLimitException(String message) {
-        super(message);
+        super(ErrorCode.ORDER_TIME_LIMIT_EXCEEDED, message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.boreksan.exception;
+
+public class PriceListNotFoundException extends DomainException {
+    public PriceListNotFoundException(String message) {
+        super(ErrorCode.PRICE_LIST_NOT_FOUND, message);
+    }
+}
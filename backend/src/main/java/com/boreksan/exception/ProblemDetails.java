@@ -0,0 +1,26 @@
+package com.boreksan.exception;
+
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+// RFC 7807 (application/problem+json) hata cevapları. type / title / status ErrorCode'da hazır; her cevap
+// sadece detail'i ekler. Mevcut istemciler (frontend) için "message" ve "error_code" alanları da yazılır.
+public final class ProblemDetails {
+
+    private ProblemDetails() {
+    }
+
+    public static ProblemDetail of(ErrorCode code, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatus(code.status());
+        problem.setType(code.type());
+        problem.setTitle(code.title());
+        problem.setDetail(detail);
+        problem.setProperty("error_code", code.name());
+        problem.setProperty("message", detail);
+        return problem;
+    }
+
+    public static ResponseEntity<ProblemDetail> response(ErrorCode code, String detail) {
+        return ResponseEntity.status(code.status()).body(of(code, detail));
+    }
+}
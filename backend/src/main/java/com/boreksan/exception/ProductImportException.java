@@ -0,0 +1,20 @@
+package com.boreksan.exception;
+
+import com.boreksan.dto.ProductImportError;
+
+import java.util.List;
+
+// İçe aktarımda en az bir satır geçersiz: hiçbir satır yazılmaz, tüm satır hataları birlikte döner
+public class ProductImportException extends DomainException {
+
+    private final List<ProductImportError> rowErrors;
+
+    public ProductImportException(List<ProductImportError> rowErrors) {
+        super(ErrorCode.PRODUCT_IMPORT_INVALID, rowErrors.size() + " row(s) are invalid, nothing was imported.");
+        this.rowErrors = List.copyOf(rowErrors);
+    }
+
+    public List<ProductImportError> getRowErrors() {
+        return rowErrors;
+    }
+}
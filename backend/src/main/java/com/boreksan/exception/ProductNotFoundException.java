@@ -1,9 +1,9 @@
 package com.boreksan.exception;
 
 // Bu bizim kendi özel hatamız.
-// RuntimeException'dan miras alıyor ki Java bunu hata olarak tanısın.
-public class ProductNotFoundException extends RuntimeException {
+// DomainException'dan miras alıyor: stack trace toplamaz, hata kodu (404) sınıfla birlikte gelir.
+public class ProductNotFoundException extends DomainException {
     public ProductNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.PRODUCT_NOT_FOUND, message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.boreksan.exception;
+
+// Üretim partisi kapanış saatinden önce kapatılmak istendi
+public class ProductionDayOpenException extends DomainException {
+    public ProductionDayOpenException(String message) {
+        super(ErrorCode.PRODUCTION_DAY_OPEN, message);
+    }
+}
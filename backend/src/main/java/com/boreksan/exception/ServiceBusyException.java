@@ -0,0 +1,8 @@
+package com.boreksan.exception;
+
+// İstek kabul edildi ama makul sürede işlenemedi (ör. grup commit kuyruğu takıldı): 503, istemci sonra tekrar dener
+public class ServiceBusyException extends DomainException {
+    public ServiceBusyException(String message) {
+        super(ErrorCode.SERVICE_BUSY, message);
+    }
+}
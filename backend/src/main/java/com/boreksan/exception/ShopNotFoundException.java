@@ -0,0 +1,8 @@
+package com.boreksan.exception;
+
+// Dükkan / kullanıcı bulunamadı (admin başka dükkan adına işlem yaparken yanlış ad verdi, token'daki kullanıcı silindi): 404
+public class ShopNotFoundException extends DomainException {
+    public ShopNotFoundException(String message) {
+        super(ErrorCode.SHOP_NOT_FOUND, message);
+    }
+}
@@ -1,8 +1,8 @@
 package com.boreksan.exception;
 
-public class UsernameAlreadyExistsException extends RuntimeException {
+public class UsernameAlreadyExistsException extends DomainException {
     public UsernameAlreadyExistsException(String message) {
-        super(message);
+        super(ErrorCode.USERNAME_TAKEN, message);
     }
 }
 
@@ -0,0 +1,26 @@
+package com.boreksan.repository;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Postgres'e özgü SQL (update ... returning, LISTEN/NOTIFY) kullanılıp kullanılamayacağı.
+// Sürücü URL'ine bakılmaz: sarmalayıcı sürücülerde (p6spy, AWS wrapper) ya da spring.datasource.url ile
+// kurulmamış bir DataSource'ta URL yanıltır. Bağlanılan veritabanının kendi bildirdiği ad kullanılır;
+// çağıranlar açılışta bir kez okur.
+public final class DatabasePlatform {
+
+    private DatabasePlatform() {
+    }
+
+    public static boolean isPostgres(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(JdbcUtils.commonDatabaseName(productName));
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Veritabanı türü okunamadı", e);
+        }
+    }
+}
@@ -1,14 +1,94 @@
 package com.boreksan.repository;
 
+import com.boreksan.dto.OrderSummaryResponse;
 import com.boreksan.entity.Order;
+import com.boreksan.entity.enums.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
+    // Listeleme sorguları kalemleri de aynı sorguda getirir (sipariş başına ayrı SELECT / N+1 olmasın)
+
     // Admin için: Tüm siparişleri tarihe göre getir (Yeniden eskiye)
+    @EntityGraph(attributePaths = "items")
     List<Order> findAllByOrderByCreatedAtDesc();
 
     // Müşteri (Pastane) için: Sadece kendi siparişlerini getir
+    @EntityGraph(attributePaths = "items")
     List<Order> findAllByUserIdOrderByCreatedAtDesc(Long userId);
-}
\ No newline at end of file
+
+    // Günlük miktar güncellemesi için: dükkanın verilen aralıktaki siparişleri (tüm geçmiş değil)
+    @EntityGraph(attributePaths = "items")
+    List<Order> findAllByUserIdAndCreatedAtBetweenOrderByCreatedAtDesc(Long userId, LocalDateTime from, LocalDateTime to);
+
+    // --- Özet liste (view=summary) ---
+    // Kalemler yerine GROUP BY ile kalem sayısı ve toplam tepsi; tek sorgu, kalem satırları belleğe gelmez.
+
+    String SUMMARY_SELECT = """
+            select new com.boreksan.dto.OrderSummaryResponse(
+                o.id, o.customerName, o.shopName, o.address, o.phone,
+                o.totalPrice, o.status, o.createdAt,
+                count(i.id), coalesce(sum(i.quantity), 0L))
+            from Order o left join o.items i
+            """;
+    String SUMMARY_GROUP = """
+            group by o.id, o.customerName, o.shopName, o.address, o.phone, o.totalPrice, o.status, o.createdAt
+            order by o.createdAt desc
+            """;
+
+    @Query(SUMMARY_SELECT + SUMMARY_GROUP)
+    List<OrderSummaryResponse> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "where o.user.id = :userId " + SUMMARY_GROUP)
+    List<OrderSummaryResponse> findAllSummariesByUserId(@Param("userId") Long userId);
+
+    // --- Değişiklik akışı (GET /api/orders/changes) ---
+
+    // since'ten sonra değişen ilk N sipariş, kalemleriyle. LIMIT alt sorguda (idx_orders_change_seq üzerinden
+    // veritabanında) uygulanır; koleksiyon fetch'i ile doğrudan LIMIT kullanılırsa Hibernate sayfalamayı bellekte yapar.
+    // Tek sorgu olması da önemli: sıra numaraları ile satırlar aynı anlık görüntüden okunur.
+    @EntityGraph(attributePaths = "items")
+    @Query("""
+            select o from Order o
+            where o.id in (select c.id from Order c where c.changeSeq > :since order by c.changeSeq limit :limit)
+            order by o.changeSeq
+            """)
+    List<Order> findChangedSince(@Param("since") long since, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = "items")
+    @Query("""
+            select o from Order o
+            where o.id in (select c.id from Order c where c.user.id = :userId and c.changeSeq > :since
+                           order by c.changeSeq limit :limit)
+            order by o.changeSeq
+            """)
+    List<Order> findChangedSinceByUserId(@Param("userId") Long userId, @Param("since") long since,
+                                         @Param("limit") int limit);
+
+    // Günün kapanışı: o gün verilmiş, iptal edilmemiş ve henüz bir partiye girmemiş siparişleri partiye işaretle.
+    // Aynı siparişi kilitleyen bir admin değişikliği varsa UPDATE onun commit'ini bekler ve son halini görür.
+    @Modifying
+    @Query("""
+            update Order o set o.productionDate = :day
+            where o.createdAt >= :from and o.createdAt < :to and o.status <> :cancelled and o.productionDate is null
+            """)
+    int markProduction(@Param("day") LocalDate day, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                       @Param("cancelled") OrderStatus cancelled);
+
+    // Toplu iptalin dokunacağı günler (gün kilitleri sipariş kilitlerinden önce alınır)
+    @Query("select distinct cast(o.createdAt as LocalDate) from Order o where o.id in :ids")
+    List<LocalDate> findCreatedDaysByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Toplu iptalde üretim düzeltmeleri için kalemler
+    @EntityGraph(attributePaths = "items")
+    List<Order> findAllWithItemsByIdIn(Collection<Long> ids);
+}
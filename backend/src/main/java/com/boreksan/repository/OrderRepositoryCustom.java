@@ -0,0 +1,16 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    // Toplu durum güncellemesi: tek UPDATE, sadece hâlâ "from" durumundaki satırlar değişir; değişenlerin ID'leri döner
+    List<Long> updateStatusByIdIn(OrderStatus from, OrderStatus to, Collection<Long> ids, LocalDateTime now);
+
+    List<Long> updateStatusByCreatedAtBetween(OrderStatus from, OrderStatus to, LocalDateTime start,
+                                              LocalDateTime end, LocalDateTime now);
+}
@@ -0,0 +1,60 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.enums.OrderStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Toplu durum güncellemesi tek SQL ifadesidir: "where status = :from" UPDATE'in kendisinde kontrol edilir
+// (araya giren başka bir değişiklik satırı başka duruma taşıdıysa o satır değişmez), değişiklik sırası aynı
+// UPDATE'te sıfırlanır (numara commit'te, bkz. OrderChangeSequencer) ve güncellenen ID'ler aynı ifadeden döner
+// (outbox olayları ve cevap için).
+// JPQL UPDATE ID döndüremez: Postgres'te "update ... returning id", H2'de (testler) "select id from final table (update ...)".
+class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String SET = """
+            update orders set status = :to, change_seq = null, updated_at = :now
+            where status = :from and %s""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    OrderRepositoryCustomImpl(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.postgres = DatabasePlatform.isPostgres(dataSource);
+    }
+
+    @Override
+    public List<Long> updateStatusByIdIn(OrderStatus from, OrderStatus to, Collection<Long> ids, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return update("id in (:ids)", params(from, to, now).addValue("ids", ids));
+    }
+
+    @Override
+    public List<Long> updateStatusByCreatedAtBetween(OrderStatus from, OrderStatus to, LocalDateTime start,
+                                                     LocalDateTime end, LocalDateTime now) {
+        return update("created_at >= :start and created_at < :end", params(from, to, now)
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end)));
+    }
+
+    private List<Long> update(String filter, MapSqlParameterSource params) {
+        String update = SET.formatted(filter);
+        String sql = postgres ? update + " returning id" : "select id from final table (" + update + ")";
+        return jdbcTemplate.queryForList(sql, params, Long.class).stream().sorted().toList();
+    }
+
+    private static MapSqlParameterSource params(OrderStatus from, OrderStatus to, LocalDateTime now) {
+        return new MapSqlParameterSource()
+                .addValue("from", from.name())
+                .addValue("to", to.name())
+                .addValue("now", Timestamp.valueOf(now));
+    }
+}
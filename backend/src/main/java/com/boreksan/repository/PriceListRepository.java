@@ -0,0 +1,29 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.PriceList;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceListRepository extends JpaRepository<PriceList, Long> {
+
+    // Liste + dükkanlar + kalemler (ürün adı için ürünler). İki koleksiyon birlikte: satırlar çarpılır ama listeler küçük
+    @EntityGraph(attributePaths = {"shops", "items", "items.product"})
+    @Query("select distinct pl from PriceList pl where pl.id = :id")
+    Optional<PriceList> findWithDetailsById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"shops", "items", "items.product"})
+    @Query("select distinct pl from PriceList pl order by pl.id")
+    List<PriceList> findAllWithDetails();
+
+    boolean existsByNameAndIdNot(String name, Long id);
+
+    // Başka bir listeye zaten atanmış dükkanlar: [dükkan adı, liste adı] (yeni liste için id = -1)
+    @Query("select s.shopName, pl.name from PriceList pl join pl.shops s where s.id in :userIds and pl.id <> :id")
+    List<Object[]> findAssignedElsewhere(@Param("userIds") Collection<Long> userIds, @Param("id") Long id);
+}
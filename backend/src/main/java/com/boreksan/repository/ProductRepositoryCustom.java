@@ -0,0 +1,12 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.Product;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    // findAllById gibi ama önce entity cache'ine bakar; sadece cache'te olmayanlar tek sorguda yüklenir
+    List<Product> findAllByIdCached(Collection<Long> ids);
+}
@@ -0,0 +1,12 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.ProductionAdjustment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductionAdjustmentRepository extends JpaRepository<ProductionAdjustment, Long> {
+
+    List<ProductionAdjustment> findAllByProductionDateOrderById(LocalDate productionDate);
+}
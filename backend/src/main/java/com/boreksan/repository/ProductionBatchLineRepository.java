@@ -0,0 +1,12 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.ProductionBatchLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProductionBatchLineRepository extends JpaRepository<ProductionBatchLine, Long> {
+
+    List<ProductionBatchLine> findAllByProductionDateOrderById(LocalDate productionDate);
+}
@@ -0,0 +1,9 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.ProductionBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface ProductionBatchRepository extends JpaRepository<ProductionBatch, LocalDate> {
+}
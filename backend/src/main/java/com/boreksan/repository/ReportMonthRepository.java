@@ -0,0 +1,7 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.ReportMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReportMonthRepository extends JpaRepository<ReportMonth, String> {
+}
@@ -0,0 +1,78 @@
+package com.boreksan.repository;
+
+import com.boreksan.dto.ReportLine;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.enums.OrderStatus;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Rapor toplamları: satırlar belleğe çekilmez, gruplama veritabanında yapılır.
+// Ciro kalem ara toplamlarından hesaplanır (iptal edilen siparişler hariç); dükkan ve ürün adı
+// sipariş anındaki kopyadan gelir, ay içinde değiştiyse en büyüğü (alfabetik) gösterilir.
+// Gün bazında gruplama "YYYY-MM-DD" metni üzerinden: H2, SELECT'teki ifadenin GROUP BY ile birebir aynı olmasını istiyor.
+// production* sorguları günün kapanışında sadece o partiye işaretlenmiş siparişleri toplar.
+public interface ReportQueryRepository extends Repository<Order, Long> {
+
+    @Query("""
+            select new com.boreksan.dto.ReportLine(
+                cast(o.user.id as String), max(o.shopName),
+                sum(i.subTotal), sum(i.quantity), count(distinct o.id))
+            from Order o join o.items i
+            where o.status <> :cancelled and o.createdAt >= :from and o.createdAt < :to
+            group by o.user.id
+            order by sum(i.subTotal) desc
+            """)
+    List<ReportLine> revenueByShop(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                   @Param("cancelled") OrderStatus cancelled);
+
+    @Query("""
+            select new com.boreksan.dto.ReportLine(
+                cast(i.product.id as String), max(i.productName),
+                sum(i.subTotal), sum(i.quantity), count(distinct o.id))
+            from Order o join o.items i
+            where o.status <> :cancelled and o.createdAt >= :from and o.createdAt < :to
+            group by i.product.id
+            order by sum(i.subTotal) desc
+            """)
+    List<ReportLine> revenueByProduct(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      @Param("cancelled") OrderStatus cancelled);
+
+    @Query("""
+            select new com.boreksan.dto.ReportLine(
+                cast(cast(o.createdAt as LocalDate) as String), cast(cast(o.createdAt as LocalDate) as String),
+                sum(i.subTotal), sum(i.quantity), count(distinct o.id))
+            from Order o join o.items i
+            where o.status <> :cancelled and o.createdAt >= :from and o.createdAt < :to
+            group by cast(cast(o.createdAt as LocalDate) as String)
+            order by cast(cast(o.createdAt as LocalDate) as String)
+            """)
+    List<ReportLine> revenueByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                  @Param("cancelled") OrderStatus cancelled);
+
+    @Query("""
+            select new com.boreksan.dto.ReportLine(
+                cast(i.product.id as String), max(i.productName),
+                sum(i.subTotal), sum(i.quantity), count(distinct o.id))
+            from Order o join o.items i
+            where o.productionDate = :day
+            group by i.product.id
+            order by max(i.productName)
+            """)
+    List<ReportLine> productionByProduct(@Param("day") LocalDate day);
+
+    @Query("""
+            select new com.boreksan.dto.ReportLine(
+                cast(o.user.id as String), max(o.shopName),
+                sum(i.subTotal), sum(i.quantity), count(distinct o.id))
+            from Order o join o.items i
+            where o.productionDate = :day
+            group by o.user.id
+            order by max(o.shopName)
+            """)
+    List<ReportLine> productionByShop(@Param("day") LocalDate day);
+}
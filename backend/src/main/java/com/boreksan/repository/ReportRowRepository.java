@@ -0,0 +1,12 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.ReportRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReportRowRepository extends JpaRepository<ReportRow, Long> {
+
+    // Kayıt sırası korunur (her boyut kendi içinde sıralı yazıldı)
+    List<ReportRow> findAllByMonthOrderById(String month);
+}
@@ -0,0 +1,19 @@
+package com.boreksan.repository;
+
+import com.boreksan.entity.StandingOrder;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    // Şablon + kalemler (ürün adı için ürünler) tek sorguda; günler ayrı (StandingOrder.weekdays, SUBSELECT)
+    @EntityGraph(attributePaths = {"user", "items", "items.product"})
+    Optional<StandingOrder> findByUserId(Long userId);
+
+    // Admin listesi
+    @EntityGraph(attributePaths = {"user", "items", "items.product"})
+    List<StandingOrder> findAllByOrderById();
+}
@@ -1,10 +1,47 @@
 package com.boreksan.repository;
 
+import com.boreksan.dto.ShopResponse;
 import com.boreksan.entity.User;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Her istekte (JWT filtresi, sipariş oluşturma) çağrıldığı için sorgu cache'inden gelir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByShopName(String shopName);
+
+    // Dükkan rehberi: her dükkan için son sipariş, sipariş sayısı ve son 30 günün tepsi toplamı TEK sorguda.
+    // İptal edilen siparişler üçüne de girmez (son siparişi iptal olan dükkan, karşılığı olmayan bir tarih göstermesin).
+    // Prefix araması lower(shop_name) üzerindeki text_pattern_ops index'ini kullanır (db/scripts/003).
+    @Query("""
+            select new com.boreksan.dto.ShopResponse(
+                u.id, u.username, u.shopName, u.phone, u.address,
+                max(case when o.status <> :cancelled then o.createdAt end),
+                count(distinct case when o.status <> :cancelled then o.id end),
+                coalesce(sum(case when o.status <> :cancelled and o.createdAt >= :since then i.quantity else 0 end), 0))
+            from User u
+            left join Order o on o.user = u
+            left join o.items i
+            where u.role = :role and lower(u.shopName) like :prefix escape '\\'
+            group by u.id, u.username, u.shopName, u.phone, u.address
+            order by u.shopName
+            """)
+    List<ShopResponse> findShopDirectory(@Param("role") Role role,
+                                         @Param("prefix") String prefix,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("cancelled") OrderStatus cancelled);
 }
\ No newline at end of file
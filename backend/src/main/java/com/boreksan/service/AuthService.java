@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.Cookie;
@@ -20,6 +21,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.util.Date;
 
 @Service
+@Timed(value = "boreksan.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 @RequiredArgsConstructor
 public class AuthService {
 
@@ -28,6 +30,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final EntityCacheService entityCacheService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request, HttpServletResponse response) {
@@ -45,6 +48,8 @@ public class AuthService {
         user.setAddress(request.getAddress());   // Set address
 
         userRepository.save(user);
+        // A cached "not found" result for this username/shop name must not survive the commit
+        entityCacheService.evictUser(user.getId());
 
         var accessToken = jwtService.generateAccessToken(user);
         var refreshToken = jwtService.generateRefreshToken(user);
@@ -0,0 +1,294 @@
+package com.boreksan.service;
+
+import com.boreksan.repository.DatabasePlatform;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Birden fazla backend örneği çalışırken düğümler arası cache temizleme (ek altyapı yok, sadece Postgres).
+// Bir düğüm cache'lenen bir kaydı değiştirdiğinde aynı transaction içinde pg_notify gönderir;
+// Postgres bildirimi ancak COMMIT olunca iletir, rollback olursa hiç gitmez.
+// Her düğüm havuz dışında tek bir LISTEN bağlantısı tutar ve gelen mesajla ilgili kaydı kendi cache'inden atar.
+// Bağlantı koparsa arada kaçan mesajlar bilinemez: yeniden bağlanınca tüm cache'ler boşaltılır.
+// LISTEN thread'inde sadece yerel Hibernate/JCache temizliği çalışır (bellek işi). Abonelerin işi (fiyat tablosunu
+// yeniden derleme, tahmin tazeleme) havuzdan bağlantı alan sorgulardır; tek thread'lik ayrı bir kuyruğa verilir ki
+// yavaş bir sorgu ya da dolu havuz arkadaki ürün/kullanıcı temizliklerini bekletmesin. Kuyrukta zaten bekleyen
+// aynı iş tekrar eklenmez (ör. art arda gelen fiyat listesi mesajları tek yeniden derlemeye iner).
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // Mesaj: "<düğüm>|<tür>|<id veya *>"  örn. "3f2a...|product|12"
+    public record Message(String type, String key) {
+    }
+
+    // wholeType: mesajın anahtarı önemsiz (iş hep aynı), kuyrukta türe göre tek çalıştırmaya iner
+    private record Subscriber(Consumer<Message> handler, Runnable onFlush, boolean wholeType) {
+    }
+
+    private static final String FLUSH_KEY = "<flush>";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final String channel;
+    private final long pingMillis;
+    private final long reconnectMaxMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter received;
+    private final Counter reconnects;
+
+    private volatile Consumer<Message> messageHandler = message -> { };
+    private volatile Runnable flushHandler = () -> { };
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // Abone kuyruğunda bekleyen (henüz başlamamış) işler
+    private final Set<Message> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService subscriberExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-bus-subscribers");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running = false;
+    private volatile Connection listenConnection;
+    private Thread worker;
+
+    public CacheInvalidationBus(DataSource dataSource, DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry,
+                                @Value("${app.cache-bus.enabled:true}") boolean enabled,
+                                @Value("${app.cache-bus.channel:boreksan_cache}") String channel,
+                                @Value("${app.cache-bus.ping-ms:10000}") long pingMillis,
+                                @Value("${app.cache-bus.reconnect-max-ms:30000}") long reconnectMaxMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dataSourceProperties = dataSourceProperties;
+        // LISTEN/NOTIFY Postgres'e özgü; H2 ile (testler, yük testi) otomatik kapalı.
+        // LISTEN bağlantısı havuz dışından, spring.datasource.url ile açılır: URL yoksa da kapalı
+        boolean postgres = enabled && DatabasePlatform.isPostgres(dataSource);
+        if (postgres && dataSourceProperties.getUrl() == null) {
+            log.warn("cache_bus_disabled: Postgres kullanılıyor ama LISTEN bağlantısı için spring.datasource.url tanımlı değil");
+        }
+        this.enabled = postgres && dataSourceProperties.getUrl() != null;
+        this.channel = channel;
+        this.pingMillis = pingMillis;
+        this.reconnectMaxMillis = reconnectMaxMillis;
+
+        this.received = Counter.builder("boreksan.cache.bus.received")
+                .description("Başka düğümlerden gelen cache temizleme mesajları")
+                .register(meterRegistry);
+        this.reconnects = Counter.builder("boreksan.cache.bus.reconnects")
+                .description("LISTEN bağlantısının yeniden kurulması (her biri tam cache boşaltma demek)")
+                .register(meterRegistry);
+    }
+
+    // Başka düğümden gelen tekil mesaj ve kopukluk sonrası tam boşaltma için (EntityCacheService bağlar)
+    public void onMessage(Consumer<Message> handler) {
+        this.messageHandler = handler;
+    }
+
+    public void onFullFlush(Runnable handler) {
+        this.flushHandler = handler;
+    }
+
+    // Kendi mesaj türü olan diğer bellek içi kopyalar (örn. DemandForecastService'in günlük tahminleri).
+    // Bu türün mesajları onMessage'a gitmez, abone kuyruğunda çalışır; kopukluk sonrası tam boşaltmada onFlush da çağrılır.
+    public void subscribe(String type, Consumer<Message> handler, Runnable onFlush) {
+        subscribers.put(type, new Subscriber(handler, onFlush, false));
+    }
+
+    // Anahtarı önemsiz tür (örn. PricingService: her mesajda bütün tablo yeniden derlenir)
+    public void subscribeAll(String type, Runnable handler, Runnable onFlush) {
+        subscribers.put(type, new Subscriber(message -> handler.run(), onFlush, true));
+    }
+
+    // Diğer düğümlere duyur. Transaction içindeysek bildirim commit ile birlikte gider.
+    public void publish(String type, Object key) {
+        if (!enabled) return;
+        String payload = nodeId + "|" + type + "|" + key;
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+
+    // --- ARKA PLAN THREAD'İ ---
+
+    private void runListener() {
+        long backoff = 500;
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + channel + "\""); // pg_notify ile aynı (büyük/küçük harf duyarlı) isim
+                }
+                // LISTEN kurulduktan SONRA boşalt: bundan sonraki değişiklikler zaten mesaj olarak gelecek
+                if (!firstConnect) {
+                    reconnects.increment();
+                    log.info("cache_bus_reconnected, tüm cache'ler boşaltılıyor");
+                    flushAll();
+                }
+                firstConnect = false;
+                backoff = 500;
+                listen(connection);
+            } catch (SQLException | RuntimeException e) {
+                if (!running) break;
+                log.warn("cache_bus_disconnected, {} ms sonra tekrar denenecek: {}", backoff, e.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, reconnectMaxMillis);
+            } finally {
+                listenConnection = null;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) pingMillis);
+            if (notifications == null || notifications.length == 0) {
+                // Sessiz dönemde yarı açık TCP bağlantısını fark etmek için
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                handle(notification.getParameter());
+            }
+        }
+    }
+
+    // Paket içi: testler Postgres olmadan mesaj verebilsin
+    void handle(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return; // Bozuk mesaj ya da kendi mesajımız (yerel cache zaten temizlendi)
+        }
+        received.increment();
+        Message message = new Message(parts[1], parts[2]);
+        Subscriber subscriber = subscribers.get(message.type());
+        if (subscriber != null) {
+            enqueue(subscriber.wholeType() ? new Message(message.type(), "*") : message,
+                    () -> subscriber.handler().accept(message));
+            return;
+        }
+        try {
+            messageHandler.accept(message);
+        } catch (RuntimeException e) {
+            // Ne olduğunu bilemiyorsak güvenli taraf: hepsini boşalt
+            log.warn("cache_bus_message_failed payload={}, tüm cache'ler boşaltılıyor: {}", payload, e.getMessage());
+            flushAll();
+        }
+    }
+
+    private void flushAll() {
+        flushHandler.run();
+        subscribers.forEach((type, subscriber) -> enqueue(new Message(type, FLUSH_KEY), subscriber.onFlush()));
+    }
+
+    // Abone işi kuyruğa: aynı iş zaten bekliyorsa eklenmez. İş başlarken bekleyenlerden çıkar,
+    // böylece çalışırken gelen yeni mesaj bir çalıştırma daha tetikler (değişikliği kaçırmaz).
+    private void enqueue(Message task, Runnable work) {
+        if (!pending.add(task)) {
+            return;
+        }
+        subscriberExecutor.execute(() -> {
+            pending.remove(task);
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                if (FLUSH_KEY.equals(task.key())) {
+                    log.warn("cache_bus_flush_failed type={}: {}", task.type(), e.getMessage());
+                    return;
+                }
+                // Kopya güncellenemedi: aboneyi baştan kurmayı dene
+                log.warn("cache_bus_message_failed type={} key={}, abone boşaltılıyor: {}", task.type(), task.key(), e.getMessage());
+                enqueue(new Message(task.type(), FLUSH_KEY), subscribers.get(task.type()).onFlush());
+            }
+        });
+    }
+
+    // Havuzdan değil doğrudan sürücüden: bağlantı süresiz tutuluyor, bulkhead/havuz hesabını bozmasın
+    private Connection openListenConnection() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.getUsername() != null) properties.setProperty("user", dataSourceProperties.getUsername());
+        if (dataSourceProperties.getPassword() != null) properties.setProperty("password", dataSourceProperties.getPassword());
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("ApplicationName", "boreksan-cache-bus");
+        return DriverManager.getConnection(dataSourceProperties.getUrl(), properties);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    // --- YAŞAM DÖNGÜSÜ ---
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("cache_bus_disabled (Postgres dışı veritabanı ya da app.cache-bus.enabled=false)");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runListener, "cache-bus");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) return;
+        // Bloklanmış getNotifications çağrısından çıkmak için bağlantıyı kapat
+        Connection connection = listenConnection;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Zaten kapanıyor
+            }
+        }
+        worker.interrupt();
+        try {
+            worker.join(5000);
+            // Listener durdu, yeni iş gelmez; kuyruktakiler kapanışta önemsiz
+            subscriberExecutor.shutdownNow();
+            subscriberExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,64 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.ProductionSheetResponse;
+import com.boreksan.exception.ProductionDayOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Kesimde günü kapatır: mutfak 22:00'den sonra değişmeyen bir üretim partisi görür (ProductionService).
+// Kapanıştan önce, saati gelmiş ama henüz çalışmamış sabit siparişler üretilir ki partiye girsinler.
+// StandingOrderJob gibi uygulama saatine göre check-interval-ms aralıklarla kontrol eder; düşen düğüm gün içinde tamamlar.
+@Component
+public class DayCloseJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DayCloseJob.class);
+
+    private final ProductionService productionService;
+    private final StandingOrderJob standingOrderJob;
+    private final Clock clock;
+    private final boolean enabled;
+    private final LocalTime closeAt;
+
+    public DayCloseJob(ProductionService productionService, StandingOrderJob standingOrderJob, Clock clock,
+                       @Value("${production.enabled:true}") boolean enabled,
+                       @Value("${production.close-at:22:02}") String closeAt) {
+        this.productionService = productionService;
+        this.standingOrderJob = standingOrderJob;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.closeAt = LocalTime.parse(closeAt);
+    }
+
+    @Scheduled(initialDelayString = "${production.check-interval-ms:30000}",
+               fixedDelayString = "${production.check-interval-ms:30000}")
+    public void closeIfDue() {
+        if (!enabled) return;
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (now.toLocalTime().isBefore(closeAt) || productionService.isClosed(now.toLocalDate())) {
+            return;
+        }
+        try {
+            close();
+        } catch (RuntimeException e) {
+            // Transaction geri alındı, gün açık kaldı: bir sonraki kontrolde tekrar denenir
+            log.error("production_close_failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Bugünü kapat (zamanlayıcı veya admin). Zaten kapandıysa kayıtlı partiyi döner.
+    public ProductionSheetResponse close() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (now.toLocalTime().isBefore(closeAt)) {
+            throw new ProductionDayOpenException("Üretim partisi " + closeAt + " öncesinde kapatılamaz.");
+        }
+        standingOrderJob.runIfDue();
+        return productionService.closeDay(now.toLocalDate());
+    }
+}
@@ -0,0 +1,389 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.ProductSuggestion;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.User;
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.Role;
+import com.boreksan.exception.ShopNotFoundException;
+import com.boreksan.repository.ProductRepository;
+import com.boreksan.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Sipariş formundaki önerilen miktar: dükkanın aynı haftagünündeki (örn. son salılar) siparişlerinden,
+// (dükkan, haftagünü, ürün) başına üstel ağırlıklı ortalama + varyans. Her şey bellekte; form açılışı SQL çalıştırmaz.
+// - Artımlı: sipariş olayları (OutboxRelay) geldikçe o dükkanın o günkü toplamı tek sorguyla yeniden okunur.
+//   Olay tekrar gelse de sonuç aynı (en az bir kez teslime uygun). Gün bitene kadar toplam "bekleyen" kalır,
+//   o haftagününün bir sonraki günü geldiğinde (ya da okunurken gün geçmişse) ortalamaya katılır.
+//   Olayı SKIP LOCKED ile tek düğüm alır: o düğüm CacheInvalidationBus'a "forecast" mesajı (dükkan:gün) yayar,
+//   diğer düğümler aynı (dükkan, gün) toplamını kendileri okur (PricingService'in "pricing" mesajı gibi).
+//   Bus bağlantısı kopup mesaj kaçmışsa bir sonraki kontrolde yeniden kurulum yapılır.
+// - Yeniden kurulum: açılışta ve her gece rebuild-at'te son history-weeks haftanın toplamları tek sorguyla okunur,
+//   dükkanlar fork-join ile paralel işlenir ve tablo tek seferde değiştirilir. Katılmış bir güne sonradan gelen
+//   değişiklik (geçmiş siparişi düzeltme) de böylece gece düzelir.
+// Gözlem = dükkanın iptal edilmemiş siparişi olan gün; o gün sipariş etmediği ürün 0 sayılır, hiç sipariş vermediği gün sayılmaz.
+@Service
+public class DemandForecastService implements OrderEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(DemandForecastService.class);
+
+    private static final String BUS_TYPE = "forecast";
+
+    private static final String DAY_TOTALS = """
+            select oi.product_id, sum(oi.quantity) as quantity
+            from orders o join order_items oi on oi.order_id = o.id
+            where o.user_id = ? and o.created_at >= ? and o.created_at < ? and o.status <> ? and oi.product_id is not null
+            group by oi.product_id
+            """;
+
+    private static final String HISTORY = """
+            select o.user_id, cast(o.created_at as date) as order_day, oi.product_id, sum(oi.quantity) as quantity
+            from orders o join order_items oi on oi.order_id = o.id
+            where o.created_at >= ? and o.status <> ? and oi.product_id is not null
+            group by o.user_id, cast(o.created_at as date), oi.product_id
+            order by o.user_id, order_day
+            """;
+
+    // Fork-join yaprağında işlenecek en fazla dükkan
+    private static final int SHOPS_PER_TASK = 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Clock clock;
+    private final boolean enabled;
+    private final double alpha;
+    private final int historyWeeks;
+    private final int minObservations;
+    private final LocalTime rebuildAt;
+
+    private volatile Map<Key, ShopWeekdayStats> stats = new ConcurrentHashMap<>();
+    // Yeniden kurulum sürerken gelen olayların (dükkan, gün)'leri: eski tabloya işlendiler, yeni tabloya tekrar uygulanır
+    private volatile Set<ShopDay> touchedDuringRebuild;
+    private volatile LocalDate lastRebuildDate;
+
+    public DemandForecastService(DataSource dataSource, UserRepository userRepository, ProductRepository productRepository,
+                                 CacheInvalidationBus cacheInvalidationBus, Clock clock,
+                                 @Value("${forecast.enabled:true}") boolean enabled,
+                                 @Value("${forecast.alpha:0.3}") double alpha,
+                                 @Value("${forecast.history-weeks:26}") int historyWeeks,
+                                 @Value("${forecast.min-observations:2}") int minObservations,
+                                 @Value("${forecast.rebuild-at:03:30}") String rebuildAt) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.alpha = alpha;
+        this.historyWeeks = historyWeeks;
+        this.minObservations = minObservations;
+        this.rebuildAt = LocalTime.parse(rebuildAt);
+        // Kopukluk sonrası kaçan mesajlar bilinemez: bir sonraki rebuildIfDue baştan kursun
+        cacheInvalidationBus.subscribe(BUS_TYPE, this::onBusMessage, () -> lastRebuildDate = null);
+    }
+
+    private record Key(long userId, DayOfWeek weekday) {
+    }
+
+    private record ShopDay(long userId, LocalDate day) {
+
+        // Bus mesajı anahtarı: "<userId>:<gün>"
+        String key() {
+            return userId + ":" + day;
+        }
+
+        static ShopDay parse(String key) {
+            int separator = key.indexOf(':');
+            return new ShopDay(Long.parseLong(key.substring(0, separator)), LocalDate.parse(key.substring(separator + 1)));
+        }
+    }
+
+    // Tek bir gözlem serisinin üstel ağırlıklı ortalaması ve varyansı (West / Finch artımlı formülü)
+    static final class Ewma {
+        private double mean;
+        private double variance;
+        private int count;
+
+        void add(double x, double alpha) {
+            if (count++ == 0) {
+                mean = x;
+                return;
+            }
+            double diff = x - mean;
+            double increment = alpha * diff;
+            mean += increment;
+            variance = (1 - alpha) * (variance + diff * increment);
+        }
+
+        double mean() {
+            return mean;
+        }
+
+        double stdDev() {
+            return Math.sqrt(variance);
+        }
+    }
+
+    // Bir dükkanın bir haftagünü: katılmış günlerin ürün başına EWMA'sı + henüz katılmamış son gün.
+    // Erişim nesnenin kendisi üzerinde senkronize.
+    private static final class ShopWeekdayStats {
+        private final Map<Long, Ewma> products = new HashMap<>();
+        private int observations;
+        private LocalDate lastFolded;
+        private LocalDate pendingDay;
+        private Map<Long, Integer> pending;
+
+        // O günün (tamamı) toplamları; aynı gün tekrar gelirse öncekinin yerine geçer
+        void observe(LocalDate day, Map<Long, Integer> totals, double alpha) {
+            if (lastFolded != null && !day.isAfter(lastFolded)) {
+                return; // Ortalamaya katılmış gün: gece yeniden kurulumda düzelir
+            }
+            if (pendingDay != null && day.isAfter(pendingDay)) {
+                fold(alpha);
+            }
+            if (pendingDay == null || day.equals(pendingDay)) {
+                pendingDay = day;
+                pending = totals;
+            }
+            // pendingDay'den eski (sırası karışmış) gün: yeniden kurulumda yerine oturur
+        }
+
+        // asOf'tan önceki bekleyen gün bittiyse ortalamaya kat. Bugün hâlâ değişebilir: ileri bir tarih sorulsa da katılmaz.
+        void foldBefore(LocalDate asOf, LocalDate today, double alpha) {
+            if (pendingDay != null && pendingDay.isBefore(asOf) && pendingDay.isBefore(today)) {
+                fold(alpha);
+            }
+        }
+
+        private void fold(double alpha) {
+            if (!pending.isEmpty()) { // Tümü iptal edilen gün gözlem değil
+                pending.keySet().forEach(productId -> products.computeIfAbsent(productId, id -> new Ewma()));
+                for (Map.Entry<Long, Ewma> entry : products.entrySet()) {
+                    entry.getValue().add(pending.getOrDefault(entry.getKey(), 0), alpha);
+                }
+                observations++;
+                lastFolded = pendingDay;
+            }
+            pendingDay = null;
+            pending = null;
+        }
+    }
+
+    // --- ARTIMLI GÜNCELLEME (OutboxRelay) ---
+
+    // Miktarı değiştirebilen olaylar: yeni sipariş, kalem değişikliği, iptal / iptalden dönüş
+    @Override
+    public boolean supports(OrderEvent event) {
+        if (!enabled) return false;
+        return event.type() != OrderEventType.STATUS_CHANGED
+                || event.status() == OrderStatus.CANCELLED || event.previousStatus() == OrderStatus.CANCELLED;
+    }
+
+    @Override
+    public void handle(OrderEvent event) {
+        List<ShopDay> orders = jdbcTemplate.query("select user_id, created_at from orders where id = ?",
+                (rs, rowNum) -> new ShopDay(rs.getLong("user_id"), rs.getTimestamp("created_at").toLocalDateTime().toLocalDate()),
+                event.orderId());
+        if (!orders.isEmpty()) {
+            refresh(orders.get(0));
+            cacheInvalidationBus.publish(BUS_TYPE, orders.get(0).key());
+        }
+    }
+
+    // Olayı başka düğüm aldı: aynı (dükkan, gün) toplamını burada da oku
+    private void onBusMessage(CacheInvalidationBus.Message message) {
+        if (!enabled) return;
+        refresh(ShopDay.parse(message.key()));
+    }
+
+    private void refresh(ShopDay shopDay) {
+        Set<ShopDay> touched = touchedDuringRebuild;
+        if (touched != null) {
+            touched.add(shopDay);
+        }
+        Map<Long, Integer> totals = new HashMap<>();
+        jdbcTemplate.query(DAY_TOTALS, rs -> {
+            totals.put(rs.getLong("product_id"), rs.getInt("quantity"));
+        }, shopDay.userId(), Timestamp.valueOf(shopDay.day().atStartOfDay()),
+                Timestamp.valueOf(shopDay.day().plusDays(1).atStartOfDay()), OrderStatus.CANCELLED.name());
+
+        ShopWeekdayStats weekday = stats.computeIfAbsent(new Key(shopDay.userId(), shopDay.day().getDayOfWeek()),
+                key -> new ShopWeekdayStats());
+        synchronized (weekday) {
+            weekday.observe(shopDay.day(), totals, alpha);
+        }
+    }
+
+    // --- YENİDEN KURULUM ---
+
+    // Açılışta ve her gün rebuild-at'ten sonra bir kez (uygulama saatine göre, DayCloseJob gibi)
+    @Scheduled(initialDelay = 0, fixedDelayString = "${forecast.check-interval-ms:60000}")
+    public void rebuildIfDue() {
+        if (!enabled) return;
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean due = lastRebuildDate == null
+                || (lastRebuildDate.isBefore(now.toLocalDate()) && !now.toLocalTime().isBefore(rebuildAt));
+        if (!due) return;
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Eski tablo kullanılmaya devam eder; bir sonraki kontrolde tekrar denenir
+            log.error("forecast_rebuild_failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Son history-weeks haftanın günlük toplamlarından tabloyu baştan kurar
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now(clock);
+        touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+        try {
+            // Sorgu dükkan ve güne göre sıralı: her dükkanın günleri art arda gelir
+            Map<Long, List<DayRow>> history = new LinkedHashMap<>();
+            int[] rows = {0};
+            jdbcTemplate.query(HISTORY, rs -> {
+                history.computeIfAbsent(rs.getLong("user_id"), id -> new ArrayList<>())
+                        .add(new DayRow(rs.getDate("order_day").toLocalDate(), rs.getLong("product_id"), rs.getInt("quantity")));
+                rows[0]++;
+            }, Timestamp.valueOf(today.minusWeeks(historyWeeks).atStartOfDay()), OrderStatus.CANCELLED.name());
+
+            Map<Key, ShopWeekdayStats> rebuilt = new ConcurrentHashMap<>();
+            List<Map.Entry<Long, List<DayRow>>> shops = new ArrayList<>(history.entrySet());
+            ForkJoinPool.commonPool().invoke(new RebuildTask(shops, 0, shops.size(), rebuilt, alpha));
+            stats = rebuilt;
+
+            log.info("forecast_rebuilt shops={} keys={} rows={} duration_ms={}",
+                    shops.size(), rebuilt.size(), rows[0], (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            Set<ShopDay> touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+            touched.forEach(this::refresh);
+        }
+        lastRebuildDate = today;
+    }
+
+    private record DayRow(LocalDate day, long productId, int quantity) {
+    }
+
+    // Dükkan listesini ikiye bölerek paralel işler; dükkanlar birbirinden bağımsız (her biri kendi anahtarlarına yazar)
+    private static final class RebuildTask extends RecursiveAction {
+        private final List<Map.Entry<Long, List<DayRow>>> shops;
+        private final int from;
+        private final int to;
+        private final Map<Key, ShopWeekdayStats> target;
+        private final double alpha;
+
+        RebuildTask(List<Map.Entry<Long, List<DayRow>>> shops, int from, int to,
+                    Map<Key, ShopWeekdayStats> target, double alpha) {
+            this.shops = shops;
+            this.from = from;
+            this.to = to;
+            this.target = target;
+            this.alpha = alpha;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SHOPS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    replay(shops.get(i).getKey(), shops.get(i).getValue());
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RebuildTask(shops, from, middle, target, alpha),
+                      new RebuildTask(shops, middle, to, target, alpha));
+        }
+
+        // Günleri sırayla artımlı yoldaki gibi uygula: son gün bekleyen kalır (bugünse gün içinde değişmeye devam eder)
+        private void replay(long userId, List<DayRow> days) {
+            int i = 0;
+            while (i < days.size()) {
+                LocalDate day = days.get(i).day();
+                Map<Long, Integer> totals = new HashMap<>();
+                for (; i < days.size() && days.get(i).day().equals(day); i++) {
+                    totals.put(days.get(i).productId(), days.get(i).quantity());
+                }
+                target.computeIfAbsent(new Key(userId, day.getDayOfWeek()), key -> new ShopWeekdayStats())
+                        .observe(day, totals, alpha);
+            }
+        }
+    }
+
+    // --- ÖNERİLER ---
+
+    // Giriş yapan dükkanın (admin shopName ile başka dükkanın) date günü için önerileri; date yoksa bugün.
+    // Ortalaması yarım tepsinin altındaki ve yeterli gözlemi olmayan ürünler önerilmez.
+    public List<ProductSuggestion> getSuggestions(LocalDate date, String shopName) {
+        User shop = targetUser(shopName);
+        LocalDate today = LocalDate.now(clock);
+        LocalDate asOf = date != null ? date : today;
+        ShopWeekdayStats weekday = stats.get(new Key(shop.getId(), asOf.getDayOfWeek()));
+        if (weekday == null) {
+            return List.of();
+        }
+
+        Map<Long, String> productNames = new HashMap<>();
+        for (Product product : productRepository.findAll()) { // Sorgu cache'inden
+            productNames.put(product.getId(), product.getName());
+        }
+        List<ProductSuggestion> suggestions = new ArrayList<>();
+        synchronized (weekday) {
+            weekday.foldBefore(asOf, today, alpha);
+            if (weekday.observations < minObservations) {
+                return List.of();
+            }
+            for (Map.Entry<Long, Ewma> entry : weekday.products.entrySet()) {
+                String name = productNames.get(entry.getKey());
+                Ewma ewma = entry.getValue();
+                long quantity = Math.round(ewma.mean());
+                if (name == null || quantity < 1) continue; // Silinmiş ürün / artık sipariş edilmiyor
+                suggestions.add(new ProductSuggestion(entry.getKey(), name, (int) quantity,
+                        ewma.mean(), ewma.stdDev(), ewma.count));
+            }
+        }
+        suggestions.sort(Comparator.comparingInt(ProductSuggestion::getSuggestedQuantity).reversed()
+                .thenComparing(ProductSuggestion::getProductName));
+        return suggestions;
+    }
+
+    // Admin shopName verirse o dükkan, aksi halde giriş yapan kullanıcı (OrderService.createOrder ile aynı kural)
+    private User targetUser(String shopName) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User loggedInUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ShopNotFoundException("Kullanıcı bulunamadı"));
+        if (loggedInUser.getRole() != Role.ADMIN || shopName == null || shopName.isEmpty()) {
+            return loggedInUser;
+        }
+        return userRepository.findByShopName(shopName)
+                .or(() -> userRepository.findByUsername(shopName))
+                .orElseThrow(() -> new ShopNotFoundException("Belirtilen dükkan/kullanıcı bulunamadı: " + shopName));
+    }
+}
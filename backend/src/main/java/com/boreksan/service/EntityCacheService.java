@@ -0,0 +1,137 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.Product;
+import com.boreksan.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hibernate 2. seviye cache (User / Product + sorgu cache) için tek giriş noktası.
+// Hibernate üzerinden yapılan değişiklikleri bölgeler zaten kendisi günceller; buradaki
+// eviction'lar Hibernate'i atlayan yazmalar (toplu SQL, JDBC) ve açıkça temizlemek istediğimiz
+// durumlar için. Transaction içindeyken eviction commit SONRASINA ertelenir, yoksa commit
+// olmadan başka bir istek eski değeri tekrar cache'e koyabilir.
+// Her eviction CacheInvalidationBus ile diğer backend örneklerine de duyurulur (onlar da aynı kaydı atar).
+@Service
+public class EntityCacheService {
+
+    private static final String PRODUCT = "product";
+    private static final String USER = "user";
+    private static final String ALL = "*";
+
+    private final SessionFactory sessionFactory;
+    private final CacheManager cacheManager;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public EntityCacheService(EntityManagerFactory entityManagerFactory, CacheManager cacheManager,
+                              CacheInvalidationBus cacheInvalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.onMessage(this::evictRemote);
+        cacheInvalidationBus.onFullFlush(this::evictEverything);
+    }
+
+    public void evictProduct(Long productId) {
+        afterCommit(() -> evictProductLocally(productId));
+        cacheInvalidationBus.publish(PRODUCT, productId);
+    }
+
+    public void evictAllProducts() {
+        afterCommit(() -> evictProductLocally(null));
+        cacheInvalidationBus.publish(PRODUCT, ALL);
+    }
+
+    public void evictUser(Long userId) {
+        afterCommit(() -> evictUserLocally(userId));
+        cacheInvalidationBus.publish(USER, userId);
+    }
+
+    // Başka düğümde commit olmuş değişiklik: sadece yerel cache'ten at, tekrar duyurma
+    private void evictRemote(CacheInvalidationBus.Message message) {
+        Long id = ALL.equals(message.key()) ? null : Long.valueOf(message.key());
+        switch (message.type()) {
+            case PRODUCT -> evictProductLocally(id);
+            case USER -> evictUserLocally(id);
+            default -> evictEverything(); // Bu sürümün bilmediği tür (yeni sürümden gelen mesaj)
+        }
+    }
+
+    // null id = türün tamamı
+    private void evictProductLocally(Long productId) {
+        Cache cache = sessionFactory.getCache();
+        if (productId == null) {
+            cache.evictEntityData(Product.class);
+        } else {
+            cache.evictEntityData(Product.class, productId);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+
+    private void evictUserLocally(Long userId) {
+        Cache cache = sessionFactory.getCache();
+        if (userId == null) {
+            cache.evictEntityData(User.class);
+        } else {
+            cache.evictEntityData(User.class, userId);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+
+    // Kaçmış olabilecek mesajlar için: Hibernate bölgeleri + Spring @Cacheable cache'leri
+    public void evictEverything() {
+        sessionFactory.getCache().evictAllRegions();
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // Bölge bazında hit / miss / put sayıları
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) continue;
+            Map<String, Object> regionStats = new LinkedHashMap<>();
+            regionStats.put("hits", region.getHitCount());
+            regionStats.put("misses", region.getMissCount());
+            regionStats.put("puts", region.getPutCount());
+            regions.put(regionName, regionStats);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
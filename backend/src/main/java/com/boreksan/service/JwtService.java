@@ -1,16 +1,20 @@
 package com.boreksan.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -25,6 +29,10 @@ public class JwtService {
     // Access and Refresh token expiration times (ms)
     private static final long ACCESS_TOKEN_EXPIRATION = 1000L * 60 * 15; // 15 minutes
     private static final long REFRESH_TOKEN_EXPIRATION = 1000L * 60 * 60 * 24 * 7; // 7 days
+
+    // Access token also carries the role, so BulkheadFilter can classify a request before the user is loaded
+    private static final String ROLE_CLAIM = "role";
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
     
 
     // Extract username from access token
@@ -37,6 +45,15 @@ public class JwtService {
         return extractClaimFromRefreshToken(token, Claims::getSubject);
     }
 
+    // Is this a validly signed, unexpired admin access token? (never throws, anything else is false)
+    public boolean isAdminAccessToken(String token) {
+        try {
+            return ADMIN_AUTHORITY.equals(extractClaimFromAccessToken(token, claims -> claims.get(ROLE_CLAIM, String.class)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     // Is the access token valid?
     public boolean isAccessTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsernameFromAccessToken(token);
@@ -53,17 +70,25 @@ public class JwtService {
 
     // Generate Access Token (signed with access secret)
     public String generateAccessToken(UserDetails userDetails) {
-        return buildToken(userDetails, ACCESS_TOKEN_EXPIRATION, getAccessSignInKey());
+        String role = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse("");
+        return buildToken(userDetails, Map.of(ROLE_CLAIM, role), ACCESS_TOKEN_EXPIRATION, getAccessSignInKey());
     }
 
     // Generate Refresh Token (signed with refresh secret)
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(userDetails, REFRESH_TOKEN_EXPIRATION, getRefreshSignInKey());
+        return buildToken(userDetails, Map.of(), REFRESH_TOKEN_EXPIRATION, getRefreshSignInKey());
     }
 
     // --- Common token generation method ---
-    private String buildToken(UserDetails userDetails, long expirationMillis, Key signingKey) {
+    // Random jti: two logins by the same user within one second would otherwise produce identical tokens
+    // (iat/exp have second precision), and the refresh token column is unique
+    private String buildToken(UserDetails userDetails, Map<String, Object> claims, long expirationMillis, Key signingKey) {
         return Jwts.builder()
+                .addClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
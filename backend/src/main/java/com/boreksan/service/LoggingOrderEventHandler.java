@@ -0,0 +1,24 @@
+package com.boreksan.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Varsayılan handler: her olayı tek satır log olarak yazar (denetim izi; diğer handler'lar eklenene kadar relay'in çalıştığını da gösterir)
+@Component
+public class LoggingOrderEventHandler implements OrderEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOrderEventHandler.class);
+
+    @Override
+    public boolean supports(OrderEvent event) {
+        return true;
+    }
+
+    @Override
+    public void handle(OrderEvent event) {
+        log.info("order_event id={} type={} order={} shop={} status={} previous={} attempt={}",
+                event.id(), event.type(), event.orderId(), event.shopName(), event.status(),
+                event.previousStatus(), event.attempt());
+    }
+}
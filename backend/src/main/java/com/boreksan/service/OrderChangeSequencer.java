@@ -0,0 +1,59 @@
+package com.boreksan.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+// GET /api/orders/changes için değişiklik sırası (orders.change_seq) commit anında, tek bir kilit altında verilir.
+// Sipariş ekleyen / değiştiren her yazma change_seq'i NULL bırakır (INSERT'te kolon yazılmaz, UPDATE'lerde
+// aynı ifadede NULL'a çekilir); commit'ten hemen önce order_change_lock satırı kilitlenir ve transaction'ın
+// NULL satırlarına sequence'tan numara verilir. Kilit commit'e kadar tutulduğu için numaralar commit sırasıyla
+// görünür olur: istemci n'yi gördüyse n'den küçük hiçbir numara sonradan ortaya çıkamaz (geri alınanlar boşluk bırakır).
+// Duvar saati ile "bekleme süresi" tahmini gerekmez; uzun süren transaction'lar (sabit sipariş üretimi, toplu güncelleme)
+// da numaralarını ancak commit ederken alır.
+// Kilit transaction'ın aldığı SON kilittir (kendi satırları zaten kilitli): başka kilit beklerken tutulmaz, kilitlenme olmaz.
+@Component
+public class OrderChangeSequencer {
+
+    private static final String LOCK = "update order_change_lock set locked_at = current_timestamp where id = 1";
+    private static final String ASSIGN = "update orders set change_seq = nextval('order_change_seq') where change_seq is null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderChangeSequencer(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    // Siparişleri değiştiren transaction içinde çağrılır (birden fazla çağrı tek adım kaydeder)
+    public void assignOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Değişiklik sırası sadece bir transaction içinde verilebilir");
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Hibernate'in bekleyen INSERT / UPDATE'leri önce gitsin ki NULL satırlar görünsün
+                entityManager.flush();
+                // Kilit + numara tek gidiş-dönüş (JDBC batch)
+                jdbcTemplate.batchUpdate(LOCK, ASSIGN);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderChangeSequencer.this);
+            }
+        });
+    }
+}
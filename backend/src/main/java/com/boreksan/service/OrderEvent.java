@@ -0,0 +1,18 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.Order;
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+// order_outbox'ın bir satırı. id, yazılmadan önce null; attempt, handler'a verilen kaçıncı deneme olduğu (1'den başlar).
+public record OrderEvent(Long id, OrderEventType type, Long orderId, Long userId, String shopName,
+                         OrderStatus status, OrderStatus previousStatus, Double totalPrice,
+                         LocalDateTime occurredAt, int attempt) {
+
+    public static OrderEvent of(OrderEventType type, Order order, OrderStatus previousStatus, LocalDateTime occurredAt) {
+        return new OrderEvent(null, type, order.getId(), order.getUser().getId(), order.getShopName(),
+                order.getStatus(), previousStatus, order.getTotalPrice(), occurredAt, 0);
+    }
+}
@@ -0,0 +1,13 @@
+package com.boreksan.service;
+
+// Sipariş olaylarını OutboxRelay üzerinden alan yerel eklenti (irsaliye yazdırma, muhasebe aktarımı,
+// şoför bildirimi...). Her handler bir Spring bean'i olarak eklenir, sipariş transaction'ına hiç girmez.
+// Teslim "en az bir kez": aynı olay (aynı id) tekrar gelebilir, handler idempotent olmalı.
+// Hata fırlatmak olayı daha sonra tekrar denenmek üzere bırakır (diğer handler'lar da tekrar çağrılır).
+// Sıra garanti değildir: aynı siparişin olayları için id / occurredAt karşılaştırılmalı.
+public interface OrderEventHandler {
+
+    boolean supports(OrderEvent event);
+
+    void handle(OrderEvent event) throws Exception;
+}
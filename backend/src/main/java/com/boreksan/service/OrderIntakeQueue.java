@@ -0,0 +1,250 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.exception.ServiceBusyException;
+import com.boreksan.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 22:00 öncesi yoğunlukta her siparişin ayrı transaction + commit açmasını engeller.
+// Doğrulaması bitmiş siparişler sınırlı bir kuyruğa alınır, arka plandaki tek thread
+// bunları en fazla N sipariş / T milisaniyelik gruplar halinde TEK transaction'da kaydeder.
+// Her çağıran kendi siparişinin sonucunu (veya hatasını) CompletableFuture üzerinden alır.
+// Çağıran en fazla result-timeout-ms bekler: worker takılırsa Tomcat thread'leri sonsuza kadar bağlı kalmaz, 503 döner.
+@Component
+public class OrderIntakeQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeQueue.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderOutbox orderOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long maxWaitMillis;
+    private final long resultTimeoutMillis;
+    private final BlockingQueue<PendingOrder> queue;
+
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public OrderIntakeQueue(OrderRepository orderRepository, OrderOutbox orderOutbox,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${order.intake.group-commit.enabled:false}") boolean enabled,
+                            @Value("${order.intake.batch-size:50}") int batchSize,
+                            @Value("${order.intake.max-wait-ms:20}") long maxWaitMillis,
+                            @Value("${order.intake.queue-capacity:2000}") int queueCapacity,
+                            @Value("${order.intake.result-timeout-ms:5000}") long resultTimeoutMillis) {
+        this.orderRepository = orderRepository;
+        this.orderOutbox = orderOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.resultTimeoutMillis = resultTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Kuyruğa alınmayı bekleyen sipariş + sonucunu bekleyen çağıran
+    private record PendingOrder(Order order, CompletableFuture<Order> result) {
+    }
+
+    // Siparişi kaydeder ve kaydedilmiş halini döner.
+    // Kuyruk kapalıysa, durdurulmuşsa veya doluysa sipariş çağıranın thread'inde hemen kaydedilir.
+    public Order save(Order order) {
+        if (!enabled || !running) {
+            return saveSingle(order);
+        }
+
+        PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            // Kuyruk dolu: siparişi reddetmek yerine doğrudan kaydet (geliş zamanı zaten işaretli)
+            return saveSingle(order);
+        }
+        if (!running && queue.remove(pending)) {
+            // Kapanış sırasında kuyruğa girdi ve kimse almadı: kendimiz kaydedelim
+            return saveSingle(order);
+        }
+
+        try {
+            return pending.result().get(resultTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return abandon(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(pending);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    // Süre doldu. Sipariş hâlâ kuyruktaysa hiç yazılmadı; worker aldıysa iptal edilir ve commit'ten önce
+    // gruptan çıkarılır. Tam commit sırasında yakalandıysa sonucu bilinemez: istemci tekrar denemeden önce bakmalı.
+    private Order abandon(PendingOrder pending) {
+        if (queue.remove(pending)) {
+            log.warn("Sipariş kuyrukta {} ms bekledi, kaydedilmeden 503 dönüldü", resultTimeoutMillis);
+            throw new ServiceBusyException("Sistem yoğun, sipariş kaydedilmedi. Lütfen tekrar deneyin.");
+        }
+        if (!pending.result().cancel(false)) {
+            // İptalden hemen önce tamamlandı
+            try {
+                return pending.result().join();
+            } catch (CompletionException e) {
+                throw unwrap(e.getCause());
+            }
+        }
+        log.warn("Grup commit {} ms içinde bitmedi, sipariş iptal edilip 503 dönüldü", resultTimeoutMillis);
+        throw new ServiceBusyException(
+                "Sipariş kaydı zaman aşımına uğradı. Tekrar denemeden önce siparişlerinizi kontrol edin.");
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    // --- ARKA PLAN THREAD'İ ---
+
+    private void runWorker() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        // Durdurulsa bile kuyrukta bekleyen sipariş kalmayana kadar devam et
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                commitBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Kesinti ile çıkıldıysa kalanları yine de tek tek kaydet, kimse cevapsız kalmasın
+        PendingOrder leftover;
+        while ((leftover = queue.poll()) != null) {
+            completeSingle(leftover);
+        }
+    }
+
+    private void commitBatch(List<PendingOrder> batch) {
+        // Beklerken süresi dolup iptal edilenler yazılmaz
+        batch.removeIf(pending -> pending.result().isDone());
+        if (batch.isEmpty()) return;
+        try {
+            List<Order> saved = transactionTemplate.execute(status -> {
+                List<Order> orders = orderRepository.saveAll(batch.stream().map(PendingOrder::order).toList());
+                orderOutbox.created(orders);
+                return orders;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            // Grup commit başarısız oldu: hangi siparişin bozuk olduğunu bilemeyiz,
+            // bu yüzden her birini kendi transaction'ında tekrar dene ve sonucu sahibine ilet.
+            log.warn("Toplu sipariş kaydı başarısız ({} sipariş), tek tek deneniyor: {}", batch.size(), e.getMessage());
+            for (PendingOrder pending : batch) {
+                resetIds(pending.order());
+                completeSingle(pending);
+            }
+        }
+    }
+
+    private void completeSingle(PendingOrder pending) {
+        if (pending.result().isDone()) return;
+        try {
+            pending.result().complete(saveSingle(pending.order()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private Order saveSingle(Order order) {
+        return transactionTemplate.execute(status -> {
+            Order saved = orderRepository.save(order);
+            orderOutbox.created(saved);
+            return saved;
+        });
+    }
+
+    // Geri alınan transaction'da atanmış ID'ler kalırsa save() INSERT yerine merge yapar
+    private void resetIds(Order order) {
+        order.setId(null);
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                item.setId(null);
+            }
+        }
+    }
+
+    // --- YAŞAM DÖNGÜSÜ ---
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        worker = new Thread(this::runWorker, "order-intake");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) return;
+        try {
+            // Web sunucusu yeni istek almayı bıraktıktan sonra çağrılır; kuyruk boşalana kadar bekle
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+
+        PendingOrder leftover;
+        while ((leftover = queue.poll()) != null) {
+            completeSingle(leftover);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Web sunucusundan (graceful shutdown) SONRA durdurulmalı ki içerideki istekler cevabını alabilsin
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
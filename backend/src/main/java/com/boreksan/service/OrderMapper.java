@@ -0,0 +1,91 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.OrderItemResponse;
+import com.boreksan.dto.OrderListItem;
+import com.boreksan.dto.OrderListResponse;
+import com.boreksan.dto.OrderResponse;
+import com.boreksan.dto.OrderShopResponse;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.User;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Sipariş entity'leri <-> DTO çevirileri ve sipariş anı kopyaları. Bağımlılığı / durumu yok:
+// OrderService ve JMH benchmark'ları servisi kurmadan doğrudan kullanır.
+public final class OrderMapper {
+
+    private OrderMapper() {
+    }
+
+    // Entity -> OrderResponse
+    public static OrderResponse toResponse(Order order) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        // Dükkan bilgileri sipariş anındaki kopyadan gelir (users tablosuna JOIN yok)
+        response.setCustomerName(order.getCustomerName());
+        response.setShopName(order.getShopName());
+        response.setAddress(order.getAddress());
+        response.setPhone(order.getPhone());
+
+        response.setTotalPrice(order.getTotalPrice());
+        response.setStatus(order.getStatus());
+        response.setCreatedAt(order.getCreatedAt());
+
+        // İçindeki item'ları da tek tek çevir
+        List<OrderItemResponse> itemResponses = order.getItems().stream()
+                .map(OrderMapper::toItemResponse)
+                .collect(Collectors.toList());
+
+        response.setItems(itemResponses);
+        return response;
+    }
+
+    // Entity -> OrderItemResponse
+    private static OrderItemResponse toItemResponse(OrderItem item) {
+        OrderItemResponse response = new OrderItemResponse();
+        response.setProductName(item.getProductName());
+        response.setQuantity(item.getQuantity());
+        response.setUnitPrice(item.getUnitPrice());
+        response.setSubTotal(item.getSubTotal());
+        return response;
+    }
+
+    // Dükkan kopyalarını sözlüğe topla. Anahtar kullanıcı ID'si değil, kopyanın kendisi:
+    // dükkan adresini sonradan değiştirdiyse eski siparişler eski adresi göstermeye devam eder.
+    public static <T extends OrderListItem> OrderListResponse<T> normalize(List<T> orders) {
+        Map<OrderShopResponse, Integer> refs = new HashMap<>();
+        Map<Integer, OrderShopResponse> shops = new LinkedHashMap<>();
+        for (T order : orders) {
+            OrderShopResponse shop = new OrderShopResponse(
+                    order.getCustomerName(), order.getShopName(), order.getAddress(), order.getPhone());
+            Integer ref = refs.computeIfAbsent(shop, s -> {
+                int next = shops.size();
+                shops.put(next, s);
+                return next;
+            });
+            order.setShopRef(ref);
+        }
+        return new OrderListResponse<>(shops, orders);
+    }
+
+    // Sipariş anındaki dükkan bilgilerini siparişe kopyala
+    public static void snapshotShop(Order order, User user) {
+        order.setUser(user);
+        order.setCustomerName(user.getUsername());
+        order.setShopName(user.getShopName());
+        order.setAddress(user.getAddress());
+        order.setPhone(user.getPhone());
+    }
+
+    // Sipariş anındaki ürün bilgilerini kaleme kopyala
+    public static void snapshotProduct(OrderItem item, Product product) {
+        item.setProduct(product);
+        item.setProductName(product.getName());
+    }
+}
@@ -0,0 +1,46 @@
+package com.boreksan.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Sipariş iş metrikleri: kaç sipariş / kaç tepsi alındı, kaç sipariş 22:00 sınırına takıldı,
+// kaçı sabit sipariş şablonlarından üretildi
+@Component
+public class OrderMetrics {
+
+    private final Counter ordersCreated;
+    private final Counter traysOrdered;
+    private final Counter cutoffRejections;
+    private final Counter standingOrders;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.ordersCreated = Counter.builder("boreksan.orders.placed")
+                .description("Oluşturulan sipariş sayısı")
+                .register(registry);
+        this.traysOrdered = Counter.builder("boreksan.orders.trays")
+                .description("Siparişlerdeki toplam tepsi sayısı")
+                .register(registry);
+        this.cutoffRejections = Counter.builder("boreksan.orders.cutoff.rejected")
+                .description("22:00 sınırı nedeniyle reddedilen siparişler")
+                .register(registry);
+        this.standingOrders = Counter.builder("boreksan.orders.standing")
+                .description("Sabit sipariş şablonlarından üretilen siparişler (placed sayacına da eklenir)")
+                .register(registry);
+    }
+
+    public void orderCreated(int trays) {
+        ordersCreated.increment();
+        traysOrdered.increment(trays);
+    }
+
+    public void cutoffRejected() {
+        cutoffRejections.increment();
+    }
+
+    public void standingOrdersCreated(int orders, int trays) {
+        standingOrders.increment(orders);
+        ordersCreated.increment(orders);
+        traysOrdered.increment(trays);
+    }
+}
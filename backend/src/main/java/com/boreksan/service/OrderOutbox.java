@@ -0,0 +1,93 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.Order;
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Sipariş olaylarını çağıranın transaction'ında order_outbox'a yazar (MANDATORY): sipariş commit olursa olay da olur,
+// rollback olursa ikisi birden gider. Asıl iş (yazdırma, aktarım, bildirim) OutboxRelay'de, istekten bağımsız çalışır.
+// Olay yazan her transaction siparişleri de değiştirmiştir: değişiklik sırası da buradan commit'e bağlanır
+// (bkz. OrderChangeSequencer), yeni bir değişiklik yolu akışa girmeyi unutamaz.
+@Service
+public class OrderOutbox {
+
+    private static final String INSERT = """
+            insert into order_outbox (event_type, order_id, user_id, shop_name, status, previous_status,
+                                      total_price, occurred_at, attempts, next_attempt_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final OrderChangeSequencer changeSequencer;
+    private final Clock clock;
+
+    public OrderOutbox(DataSource dataSource, OrderChangeSequencer changeSequencer, Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.changeSequencer = changeSequencer;
+        this.clock = clock;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Order order) {
+        append(List.of(OrderEvent.of(OrderEventType.CREATED, order, null, LocalDateTime.now(clock))));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Collection<Order> orders) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        append(orders.stream().map(order -> OrderEvent.of(OrderEventType.CREATED, order, null, now)).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, OrderStatus previousStatus) {
+        append(List.of(OrderEvent.of(OrderEventType.STATUS_CHANGED, order, previousStatus, LocalDateTime.now(clock))));
+    }
+
+    // Toplu durum güncellemesi: siparişleri belleğe yüklemeden, güncellenmiş satırlardan tek INSERT ... SELECT
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Collection<Long> orderIds, OrderStatus previousStatus) {
+        if (orderIds.isEmpty()) return;
+        changeSequencer.assignOnCommit();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        namedJdbcTemplate.update("""
+                insert into order_outbox (event_type, order_id, user_id, shop_name, status, previous_status,
+                                          total_price, occurred_at, attempts, next_attempt_at)
+                select :type, o.id, o.user_id, o.shop_name, o.status, :previous, o.total_price, :now, 0, :now
+                from orders o
+                where o.id in (:ids)
+                order by o.id
+                """, new MapSqlParameterSource()
+                .addValue("type", OrderEventType.STATUS_CHANGED.name())
+                .addValue("previous", previousStatus.name())
+                .addValue("now", now)
+                .addValue("ids", orderIds));
+    }
+
+    // Hazır olaylar (gün içi azaltmada değişen siparişler, StandingOrderJob'un JDBC ile eklediği siparişler) tek batch INSERT ile
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<OrderEvent> events) {
+        if (events.isEmpty()) return;
+        changeSequencer.assignOnCommit();
+        jdbcTemplate.batchUpdate(INSERT, events.stream().map(event -> new Object[]{
+                event.type().name(), event.orderId(), event.userId(), event.shopName(),
+                event.status() != null ? event.status().name() : null,
+                event.previousStatus() != null ? event.previousStatus().name() : null,
+                event.totalPrice(), Timestamp.valueOf(event.occurredAt()), Timestamp.valueOf(event.occurredAt())
+        }).toList());
+    }
+}
@@ -1,89 +1,99 @@
 package com.boreksan.service;
 
+import com.boreksan.dto.BulkStatusUpdateRequest;
+import com.boreksan.dto.BulkStatusUpdateResponse;
+import com.boreksan.dto.OrderChangesResponse;
 import com.boreksan.dto.OrderItemRequest;
-import com.boreksan.dto.OrderItemResponse;
+import com.boreksan.dto.OrderListItem;
+import com.boreksan.dto.OrderSummaryResponse;
+import com.boreksan.dto.OrderView;
 import com.boreksan.dto.OrderRequest;
 import com.boreksan.dto.OrderResponse;
 import com.boreksan.entity.*;
+import com.boreksan.entity.enums.AdjustmentReason;
+import com.boreksan.entity.enums.OrderEventType;
 import com.boreksan.entity.enums.OrderStatus;
 import com.boreksan.entity.enums.Role;
+import com.boreksan.exception.AdminOnlyException;
+import com.boreksan.exception.InvalidStatusTransitionException;
+import com.boreksan.exception.OrderNotFoundException;
 import com.boreksan.exception.OrderTimeLimitException;
 import com.boreksan.exception.ProductNotFoundException;
+import com.boreksan.exception.ShopNotFoundException;
 import com.boreksan.repository.OrderRepository;
 import com.boreksan.repository.ProductRepository;
 import com.boreksan.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.boreksan.dto.DailyOrderUpdateRequest; // Added import
 
 @Service
+@Timed(value = "boreksan.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
-
-    public OrderService(OrderRepository orderRepository, ProductRepository productRepository, UserRepository userRepository) {
+    private final OrderIntakeQueue orderIntakeQueue;
+    private final OrderMetrics orderMetrics;
+    private final ProductionService productionService;
+    private final OrderOutbox orderOutbox;
+    private final PricingService pricingService;
+    private final Clock clock;
+    private final int maxChangePageSize;
+
+    public OrderService(OrderRepository orderRepository, ProductRepository productRepository, UserRepository userRepository,
+                        OrderIntakeQueue orderIntakeQueue, OrderMetrics orderMetrics,
+                        ProductionService productionService, OrderOutbox orderOutbox, PricingService pricingService,
+                        Clock clock,
+                        @Value("${order.changes.max-page-size:500}") int maxChangePageSize) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.orderIntakeQueue = orderIntakeQueue;
+        this.orderMetrics = orderMetrics;
+        this.productionService = productionService;
+        this.orderOutbox = orderOutbox;
+        this.pricingService = pricingService;
+        this.clock = clock;
+        this.maxChangePageSize = maxChangePageSize;
     }
 
-    // --- YARDIMCI METODLAR (ÇEVİRİCİLER) ---
-    
-    // Entity -> OrderResponse Çevirici
-    private OrderResponse mapToOrderResponse(Order order) {
-        OrderResponse response = new OrderResponse();
-        response.setId(order.getId());
-        response.setCustomerName(order.getUser().getUsername());
-        response.setShopName(order.getUser().getShopName());
-        response.setAddress(order.getUser().getAddress());
-        response.setPhone(order.getUser().getPhone());
-
-        response.setTotalPrice(order.getTotalPrice());
-        response.setStatus(order.getStatus());
-        response.setCreatedAt(order.getCreatedAt());
-
-        // İçindeki item'ları da tek tek çevir
-        List<OrderItemResponse> itemResponses = order.getItems().stream()
-                .map(this::mapToOrderItemResponse)
-                .collect(Collectors.toList());
-        
-        response.setItems(itemResponses);
-        return response;
-    }
-
-    // Entity -> OrderItemResponse Çevirici
-    private OrderItemResponse mapToOrderItemResponse(OrderItem item) {
-        OrderItemResponse response = new OrderItemResponse();
-        response.setProductName(item.getProduct().getName());
-        response.setQuantity(item.getQuantity());
-        response.setUnitPrice(item.getUnitPrice());
-        response.setSubTotal(item.getSubTotal()); // Ara toplamı hesapla
-        return response;
-    }
-
+    // Entity <-> DTO çevirileri ve sipariş anı kopyaları OrderMapper'da
 
     // 1. SİPARİŞ OLUŞTUR
-    @Transactional
+    // Bilerek @Transactional değil: doğrulama burada senkron yapılır, kayıt ise OrderIntakeQueue
+    // üzerinden (toplu commit açıksa diğer siparişlerle aynı transaction'da) gerçekleşir.
+    // Böylece kuyrukta beklerken elimizde açık bir transaction/bağlantı tutmuyoruz.
     public OrderResponse createOrder(OrderRequest request) {
         
         // --- KURAL 1: SAAT KONTROLÜ (22:00 SINIRI) ---
-        LocalTime now = LocalTime.now();
+        // Saat sınırı, siparişin kaydedildiği ana göre değil GELDİĞİ ana göre değerlendirilir
+        LocalDateTime receivedAt = LocalDateTime.now(clock);
+        LocalTime now = receivedAt.toLocalTime();
         LocalTime limit = LocalTime.of(22, 0); // Akşam 10
         
         // --- KURAL 2: KULLANICIYI BUL ---
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User loggedInUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Kullanıcı bulunamadı"));
+                .orElseThrow(() -> new ShopNotFoundException("Kullanıcı bulunamadı"));
 
         User targetUser = loggedInUser;
         
@@ -91,34 +101,46 @@ public class OrderService {
         if (loggedInUser.getRole() == Role.ADMIN && request.getShopName() != null && !request.getShopName().isEmpty()) {
             targetUser = userRepository.findByShopName(request.getShopName())
                     .or(() -> userRepository.findByUsername(request.getShopName())) // Belki username verilmiştir
-                    .orElseThrow(() -> new UsernameNotFoundException("Belirtilen dükkan/kullanıcı bulunamadı: " + request.getShopName()));
+                    .orElseThrow(() -> new ShopNotFoundException("Belirtilen dükkan/kullanıcı bulunamadı: " + request.getShopName()));
         }
 
         // Admin değilse zaman kuralı geçerli olsun
         if (loggedInUser.getRole() != Role.ADMIN) {
              if (now.isAfter(limit)) {
+                orderMetrics.cutoffRejected();
                 throw new OrderTimeLimitException("Günlük sipariş saati (22:00) dolmuştur. Lütfen yarın sipariş veriniz.");
             }
         }
 
         Order order = new Order();
-        order.setUser(targetUser);
+        OrderMapper.snapshotShop(order, targetUser);
         order.setStatus(OrderStatus.WAITING);
+        order.setCreatedAt(receivedAt);
 
         List<OrderItem> items = new ArrayList<>();
         double totalAmount = 0.0;
 
         // --- KURAL 3: KALEMLERİ OLUŞTUR (HEP TEPSİ) ---
+        // Sepetteki ürünler entity cache'inden gelir; cache'te olmayanlar kalem başına değil tek sorguda yüklenir
+        Map<Long, Product> products = productRepository.findAllByIdCached(
+                        request.getItems().stream().map(OrderItemRequest::getProductId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Dükkanın fiyat listesi / hacim kademeleri: bellekteki derlenmiş tablodan, kalem başına tek arama
+        PricingTable prices = pricingService.table();
         for (OrderItemRequest itemReq : request.getItems()) {
-            Product product = productRepository.findById(itemReq.getProductId())
-                    .orElseThrow(() -> new ProductNotFoundException("Ürün bulunamadı ID: " + itemReq.getProductId()));
+            Product product = products.get(itemReq.getProductId());
+            if (product == null) {
+                throw new ProductNotFoundException("Ürün bulunamadı ID: " + itemReq.getProductId());
+            }
 
-            // Pastaneler için her zaman TEPSİ fiyatını baz alıyoruz
-            double price = product.getPriceTray();
+            // Pastaneler için her zaman TEPSİ fiyatını baz alıyoruz (listede yoksa ürünün kendi fiyatı)
+            double price = prices.unitPrice(targetUser.getId(), product.getId(), itemReq.getQuantity(), product.getPriceTray());
             
             OrderItem item = new OrderItem();
             item.setOrder(order);
-            item.setProduct(product);
+            OrderMapper.snapshotProduct(item, product);
             item.setQuantity(itemReq.getQuantity());
             item.setUnitPrice(price);
 
@@ -132,9 +154,27 @@ public class OrderService {
         order.setItems(items);
         order.setTotalPrice(totalAmount);
 
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder;
+        LocalDate day = receivedAt.toLocalDate();
+        if (loggedInUser.getRole() == Role.ADMIN && productionService.mayBeClosed(day)) {
+            // Kesim sonrası admin siparişi: kuyruk yerine gün kilidi altında kaydedilir,
+            // gün kapandıysa kalemleri üretim partisine düzeltme olarak eklenir
+            savedOrder = productionService.inDayLock(day, closed -> {
+                Order saved = orderRepository.save(order);
+                orderOutbox.created(saved);
+                if (closed) {
+                    for (OrderItem item : saved.getItems()) {
+                        productionService.recordAdjustment(day, saved, item, item.getQuantity(), AdjustmentReason.ADMIN_ORDER);
+                    }
+                }
+                return saved;
+            });
+        } else {
+            savedOrder = orderIntakeQueue.save(order);
+        }
+        orderMetrics.orderCreated(items.stream().mapToInt(OrderItem::getQuantity).sum());
 
-        return mapToOrderResponse(savedOrder);
+        return OrderMapper.toResponse(savedOrder);
     }
 
     // 2. SİPARİŞLERİ LİSTELE
@@ -152,39 +192,57 @@ public class OrderService {
         }
 
         return orders.stream()
-                .map(this::mapToOrderResponse)
+                .map(OrderMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // 2b. SİPARİŞ LİSTESİ (görünüm seçenekli)
+    // view=SUMMARY kalemleri hiç yüklemez; normalized=true ise dükkan bilgileri her siparişte
+    // tekrar etmek yerine "shops" sözlüğüne bir kez yazılır ve sipariş shopRef ile ona işaret eder.
+    public Object getOrders(OrderView view, boolean normalized) {
+        List<? extends OrderListItem> orders = view == OrderView.SUMMARY ? getOrderSummaries() : getAllOrders();
+        return normalized ? OrderMapper.normalize(orders) : orders;
+    }
+
+    // 2c. SİPARİŞ ÖZETLERİ (kalemsiz, tek sorgu)
+    public List<OrderSummaryResponse> getOrderSummaries() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username).orElseThrow();
+
+        if (user.getRole() == Role.ADMIN) {
+            return orderRepository.findAllSummaries();
+        }
+        return orderRepository.findAllSummariesByUserId(user.getId());
+    }
+
     // 3. GÜNLÜK MİKTAR GÜNCELLE (Admin Yetkisi ile)
     @Transactional
     public void updateShopDailyQuantity(DailyOrderUpdateRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User adminUser = userRepository.findByUsername(username).orElseThrow();
+        User adminUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ShopNotFoundException("Kullanıcı bulunamadı"));
 
         if (adminUser.getRole() != Role.ADMIN) {
-            throw new RuntimeException("Bu işlemi sadece Admin yapabilir.");
+            throw new AdminOnlyException("Bu işlemi sadece Admin yapabilir.");
         }
 
         User targetUser = userRepository.findByShopName(request.getShopName())
                 .or(() -> userRepository.findByUsername(request.getShopName()))
-                .orElseThrow(() -> new UsernameNotFoundException("Dükkan bulunamadı: " + request.getShopName()));
+                .orElseThrow(() -> new ShopNotFoundException("Dükkan bulunamadı: " + request.getShopName()));
 
-        java.time.LocalDateTime startOfDay = java.time.LocalDate.now().atStartOfDay();
-        java.time.LocalDateTime endOfDay = java.time.LocalDate.now().atTime(23, 59, 59);
+        LocalDate today = LocalDate.now(clock);
+        // Gün kapandıysa (kesimden sonra) değişiklik üretim partisine düzeltme olarak da yazılır
+        boolean productionClosed = productionService.lockForChange(today);
+        java.time.LocalDateTime startOfDay = today.atStartOfDay();
+        java.time.LocalDateTime endOfDay = today.atTime(23, 59, 59);
 
         // Bugünün siparişlerini bul
-        List<Order> todayOrders = orderRepository.findAllByUserIdOrderByCreatedAtDesc(targetUser.getId()).stream()
-                .filter(o -> o.getCreatedAt().isAfter(startOfDay) && o.getCreatedAt().isBefore(endOfDay))
-                .filter(o -> o.getStatus() != OrderStatus.CANCELLED)
-                .collect(Collectors.toList());
+        List<Order> todayOrders = activeOrdersBetween(
+                orderRepository.findAllByUserIdAndCreatedAtBetweenOrderByCreatedAtDesc(targetUser.getId(), startOfDay, endOfDay),
+                startOfDay, endOfDay);
 
         // Mevcut stoğu hesapla
-        int currentTotal = todayOrders.stream()
-                .flatMap(o -> o.getItems().stream())
-                .filter(i -> i.getProduct().getId().equals(request.getProductId()))
-                .mapToInt(OrderItem::getQuantity)
-                .sum();
+        int currentTotal = totalQuantityOf(todayOrders, request.getProductId());
 
         int diff = request.getTargetQuantity() - currentTotal;
         if (diff == 0) return;
@@ -195,14 +253,15 @@ public class OrderService {
         if (diff > 0) {
             // Ekleme yap
             Order order = new Order();
-            order.setUser(targetUser);
+            OrderMapper.snapshotShop(order, targetUser);
             order.setStatus(OrderStatus.WAITING);
+            order.setCreatedAt(LocalDateTime.now(clock));
             
             OrderItem item = new OrderItem();
             item.setOrder(order);
-            item.setProduct(product);
+            OrderMapper.snapshotProduct(item, product);
             item.setQuantity(diff);
-            item.setUnitPrice(product.getPriceTray());
+            item.setUnitPrice(pricingService.table().unitPrice(targetUser.getId(), product.getId(), diff, product.getPriceTray()));
             item.setSubTotal(diff * item.getUnitPrice());
             
             List<OrderItem> items = new ArrayList<>();
@@ -211,6 +270,10 @@ public class OrderService {
             order.setTotalPrice(item.getSubTotal());
             
             orderRepository.save(order);
+            orderOutbox.created(order);
+            if (productionClosed) {
+                productionService.recordAdjustment(today, order, item, diff, AdjustmentReason.DAILY_UPDATE);
+            }
         } else {
             // Çıkarma yap (diff negatif)
             int toRemove = Math.abs(diff);
@@ -219,6 +282,8 @@ public class OrderService {
             // Eğer YENİ siparişi mi silmeliyiz, eskileri mi? Genelde son ekleneni silmek daha mantıklıdır (Undo gibi).
             // `todayOrders` ORDER BY CreatedAt DESC -> Yani index 0 en yeni sipariş.
             
+            List<OrderEvent> events = new ArrayList<>();
+            LocalDateTime changedAt = LocalDateTime.now(clock);
             for (Order order : todayOrders) {
                 if (toRemove <= 0) break;
 
@@ -226,10 +291,10 @@ public class OrderService {
                 List<OrderItem> targetItems = order.getItems().stream()
                         .filter(i -> i.getProduct().getId().equals(request.getProductId()))
                         .collect(Collectors.toList());
-
                 for (OrderItem item : targetItems) {
                     if (toRemove <= 0) break;
 
+                    int removed = Math.min(item.getQuantity(), toRemove);
                     if (item.getQuantity() > toRemove) {
                         // Kısmi azalt
                         item.setQuantity(item.getQuantity() - toRemove);
@@ -240,9 +305,15 @@ public class OrderService {
                         toRemove -= item.getQuantity();
                         order.getItems().remove(item);
                     }
+                    if (productionClosed) {
+                        productionService.recordAdjustment(today, order, item, -removed, AdjustmentReason.DAILY_UPDATE);
+                    }
                 }
 
+                if (targetItems.isEmpty()) continue;
+
                 // Sipariş boşaldıysa iptal et
+                OrderStatus previousStatus = order.getStatus();
                 if (order.getItems().isEmpty()) {
                     order.setStatus(OrderStatus.CANCELLED);
                     order.setTotalPrice(0.0);
@@ -250,22 +321,161 @@ public class OrderService {
                     double newTotal = order.getItems().stream().mapToDouble(OrderItem::getSubTotal).sum();
                     order.setTotalPrice(newTotal);
                 }
-                
+
+                // Değişiklik akışına aynı UPDATE ile geri girer (sıra numarası commit'te)
+                order.markChanged(changedAt);
                 orderRepository.save(order);
+                events.add(order.getStatus() != previousStatus
+                        ? OrderEvent.of(OrderEventType.STATUS_CHANGED, order, previousStatus, changedAt)
+                        : OrderEvent.of(OrderEventType.ITEMS_CHANGED, order, null, changedAt));
             }
+
+            orderOutbox.append(events);
         }
     }
 
+    // Verilen aralıktaki iptal edilmemiş siparişler (sıra korunur)
+    static List<Order> activeOrdersBetween(List<Order> orders, LocalDateTime start, LocalDateTime end) {
+        return orders.stream()
+                .filter(o -> o.getCreatedAt().isAfter(start) && o.getCreatedAt().isBefore(end))
+                .filter(o -> o.getStatus() != OrderStatus.CANCELLED)
+                .collect(Collectors.toList());
+    }
+
+    // Siparişlerdeki bir ürünün toplam tepsi miktarı
+    static int totalQuantityOf(List<Order> orders, Long productId) {
+        return orders.stream()
+                .flatMap(o -> o.getItems().stream())
+                .filter(i -> i.getProduct().getId().equals(productId))
+                .mapToInt(OrderItem::getQuantity)
+                .sum();
+    }
+
     // 3. Durum Güncelle (Sadece Admin)
+    @Transactional
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus) {
         // Siparişi bul
         Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Sipariş bulunamadı!"));
+                .orElseThrow(() -> new OrderNotFoundException("Sipariş bulunamadı: " + orderId));
+
+        // Aynı durum: değişiklik yok. İleri akış ve tek adımlık düzeltmeler dışı reddedilir (bkz. OrderStatus)
+        if (order.getStatus() == newStatus) {
+            return OrderMapper.toResponse(order);
+        }
+        if (!order.getStatus().canCorrectTo(newStatus)) {
+            throw new InvalidStatusTransitionException("Geçersiz durum geçişi: " + order.getStatus() + " -> " + newStatus);
+        }
+
+        // İptal (veya iptalden geri dönüş) kapanmış günün üretimini değiştirir: düzeltme olarak yaz
+        boolean wasCancelled = order.getStatus() == OrderStatus.CANCELLED;
+        boolean cancelled = newStatus == OrderStatus.CANCELLED;
+        if (wasCancelled != cancelled) {
+            LocalDate day = order.getCreatedAt().toLocalDate();
+            if (productionService.lockForChange(day)) {
+                for (OrderItem item : order.getItems()) {
+                    productionService.recordAdjustment(day, order, item,
+                            cancelled ? -item.getQuantity() : item.getQuantity(), AdjustmentReason.STATUS_CHANGE);
+                }
+            }
+        }
 
         // Durumu değiştir ve kaydet
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
+        order.markChanged(LocalDateTime.now(clock));
         Order updatedOrder = orderRepository.save(order);
+        orderOutbox.statusChanged(updatedOrder, previousStatus);
+
+        return OrderMapper.toResponse(updatedOrder);
+    }
 
-        return mapToOrderResponse(updatedOrder);
+    // 4. TOPLU DURUM GÜNCELLE (Sadece Admin)
+    // Sabah onayı gibi işlemler için: siparişleri tek tek yüklemek yerine tek bir UPDATE çalıştırır.
+    // Sadece fromStatus'taki siparişler değişir; sadece ileri akış (OrderStatus.canTransitionTo) kabul edilir.
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(BulkStatusUpdateRequest request) {
+        OrderStatus from = request.getFromStatus();
+        OrderStatus to = request.getToStatus();
+
+        if (!from.canTransitionTo(to)) {
+            throw new InvalidStatusTransitionException("Geçersiz durum geçişi: " + from + " -> " + to);
+        }
+
+        // Toplu iptal kapanmış günlerin üretimini değiştirir. Gün kilitleri sipariş satırlarından ÖNCE alınır
+        // (kapanış da önce gün satırını, sonra siparişleri kilitliyor; ters sıra kilitlenmeye yol açar).
+        Map<LocalDate, Boolean> closedDays = to == OrderStatus.CANCELLED ? lockProductionDays(request) : Map.of();
+
+        // Tek UPDATE: durum kontrolü (status = from), yeni durum ve değişiklik sırası aynı ifadede; değişen ID'ler döner
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Long> ids;
+        int requested;
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            // ID listesi ile
+            ids = orderRepository.updateStatusByIdIn(from, to, request.getOrderIds(), now);
+            requested = (int) request.getOrderIds().stream().distinct().count();
+        } else {
+            // Tarih filtresi ile (verilmezse bugün)
+            LocalDate day = request.getDate() != null ? request.getDate() : LocalDate.now(clock);
+            ids = orderRepository.updateStatusByCreatedAtBetween(from, to, day.atStartOfDay(),
+                    day.plusDays(1).atStartOfDay(), now);
+            requested = ids.size();
+        }
+
+        if (ids.isEmpty()) {
+            return new BulkStatusUpdateResponse(ids, 0, requested);
+        }
+
+        // Kalemler durum değişikliğinden etkilenmez: düzeltmeler güncellenen siparişlerden yazılır
+        if (closedDays.containsValue(true)) {
+            for (Order order : orderRepository.findAllWithItemsByIdIn(ids)) {
+                LocalDate day = order.getCreatedAt().toLocalDate();
+                if (!closedDays.getOrDefault(day, false)) continue;
+                for (OrderItem item : order.getItems()) {
+                    productionService.recordAdjustment(day, order, item, -item.getQuantity(), AdjustmentReason.STATUS_CHANGE);
+                }
+            }
+        }
+
+        // Olaylar güncellenmiş satırlardan tek INSERT ... SELECT ile
+        orderOutbox.statusChanged(ids, from);
+        return new BulkStatusUpdateResponse(ids, ids.size(), requested - ids.size());
+    }
+
+    // Toplu işlemin dokunabileceği günleri (sıralı) kilitle; gün -> kapandı mı
+    private Map<LocalDate, Boolean> lockProductionDays(BulkStatusUpdateRequest request) {
+        SortedSet<LocalDate> days = new TreeSet<>();
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            days.addAll(orderRepository.findCreatedDaysByIdIn(request.getOrderIds()));
+        } else {
+            days.add(request.getDate() != null ? request.getDate() : LocalDate.now(clock));
+        }
+        Map<LocalDate, Boolean> closed = new HashMap<>();
+        for (LocalDate day : days) {
+            closed.put(day, productionService.lockForChange(day));
+        }
+        return closed;
+    }
+
+    // 5. DEĞİŞİKLİK AKIŞI (since'ten sonra değişen siparişler)
+    // Her sorguda tüm listeyi çekmek yerine istemci son gördüğü sıra numarasını gönderir.
+    // Admin hepsini, pastane sadece kendi siparişlerini görür.
+    public OrderChangesResponse getChangesSince(long since, int limit) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByUsername(username).orElseThrow();
+
+        int pageSize = Math.max(1, Math.min(limit, maxChangePageSize));
+        List<Order> changed = user.getRole() == Role.ADMIN
+                ? orderRepository.findChangedSince(since, pageSize)
+                : orderRepository.findChangedSinceByUserId(user.getId(), since, pageSize);
+
+        // Sıra numaraları commit sırasıyla verilir (OrderChangeSequencer): görünen en büyük numaradan
+        // küçük bir numara sonradan ortaya çıkamaz, nextSince doğrudan son satırdır.
+        List<OrderResponse> orders = new ArrayList<>(changed.size());
+        long nextSince = since;
+        for (Order order : changed) {
+            orders.add(OrderMapper.toResponse(order));
+            nextSince = order.getChangeSeq();
+        }
+        return new OrderChangesResponse(orders, nextSince, changed.size() == pageSize);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,247 @@
+package com.boreksan.service;
+
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// order_outbox'taki bekleyen olayları arka planda OrderEventHandler'lara dağıtır.
+// Her tur üç adım: (1) kısa bir transaction'da batch SELECT ... FOR UPDATE SKIP LOCKED ile seçilip locked_until kirası
+// yazılır ve commit edilir, (2) handler'lar transaction ve bağlantı tutmadan çalışır, (3) sonuçlar ayrı bir kısa
+// transaction'da yazılır. Birden fazla düğüm aynı anda çalışsa da her olayı tek düğüm alır; düğüm çökerse kira dolunca
+// olay tekrar gelir (en az bir kez). Deneme sayısı sahiplenirken artar: düğümü düşüren olay da max-attempts'e ulaşır.
+// Başarısız olay artan aralıklarla (retry-base-ms * 2^deneme, en fazla retry-max-ms) tekrar denenir;
+// max-attempts'ten sonra failed_at ile işaretlenip bırakılır (elle incelenir, diğer olayları bekletmez).
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OrderEventHandler> handlers;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final int retentionDays;
+    private final Duration lease;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+
+    public OutboxRelay(DataSource dataSource, PlatformTransactionManager transactionManager,
+                       List<OrderEventHandler> handlers, MeterRegistry registry, Clock clock,
+                       @Value("${outbox.enabled:true}") boolean enabled,
+                       @Value("${outbox.batch-size:100}") int batchSize,
+                       @Value("${outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.retry-base-ms:5000}") long retryBaseMillis,
+                       @Value("${outbox.retry-max-ms:600000}") long retryMaxMillis,
+                       @Value("${outbox.retention-days:7}") int retentionDays,
+                       @Value("${outbox.lease-ms:60000}") long leaseMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.handlers = handlers;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.retentionDays = retentionDays;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.delivered = Counter.builder("boreksan.outbox.delivered")
+                .description("Tüm handler'lara teslim edilen sipariş olayları")
+                .register(registry);
+        this.retried = Counter.builder("boreksan.outbox.retried")
+                .description("Handler hatası nedeniyle tekrar denenmek üzere bırakılan olaylar")
+                .register(registry);
+        this.failed = Counter.builder("boreksan.outbox.failed")
+                .description("max-attempts aşıldığı için vazgeçilen olaylar")
+                .register(registry);
+    }
+
+    // Bir batch'in teslim sonucu
+    private record Outcome(long id, boolean ok, int attempt, String error) {
+    }
+
+    // Birikme varsa (dolu batch) beklemeden devam eder; boş / yarım batch'te sıradaki tura kadar bekler
+    @Scheduled(initialDelayString = "${outbox.poll-interval-ms:1000}", fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) return;
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            // Sahiplenme geri alındıysa olaylar sıradaki turda, sonuç yazılamadıysa kira dolunca tekrar gelir
+            log.error("outbox_relay_failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Bekleyen en fazla batch-size olayı sahiplenir, dağıtır ve sonuçlarını yazar; işlenen olay sayısını döner
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        // Kira, sonuç yazılırken sahiplik kontrolünde eşitlikle karşılaştırılır: kolon hassasiyetine yuvarlanmasın
+        LocalDateTime leasedUntil = now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+        List<OrderEvent> events = claim(now, leasedUntil);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(events.size());
+        for (OrderEvent event : events) {
+            outcomes.add(dispatch(event));
+        }
+        transactionTemplate.executeWithoutResult(status -> saveOutcomes(outcomes, LocalDateTime.now(clock), leasedUntil));
+        return events.size();
+    }
+
+    // Kirası olmayan (ya da kirası dolmuş) bekleyen olayları kilitleyip kiralar; commit ile kilitler hemen bırakılır
+    private List<OrderEvent> claim(LocalDateTime now, LocalDateTime leasedUntil) {
+        List<OrderEvent> events = transactionTemplate.execute(status -> {
+            Timestamp nowTs = Timestamp.valueOf(now);
+            List<OrderEvent> claimed = jdbcTemplate.query("""
+                    select id, event_type, order_id, user_id, shop_name, status, previous_status,
+                           total_price, occurred_at, attempts
+                    from order_outbox
+                    where next_attempt_at <= ? and (locked_until is null or locked_until <= ?)
+                    order by next_attempt_at, id
+                    limit ?
+                    for update skip locked
+                    """, (rs, rowNum) -> mapEvent(rs), nowTs, nowTs, batchSize);
+            if (!claimed.isEmpty()) {
+                namedJdbcTemplate.update("""
+                        update order_outbox set locked_until = :leasedUntil, attempts = attempts + 1
+                        where id in (:ids)
+                        """, new MapSqlParameterSource()
+                        .addValue("leasedUntil", Timestamp.valueOf(leasedUntil))
+                        .addValue("ids", claimed.stream().map(OrderEvent::id).toList()));
+            }
+            return claimed;
+        });
+        return events != null ? events : List.of();
+    }
+
+    // Transaction yok: handler'ların kendi @Transactional işleri birbirinden ve relay'den bağımsız commit / rollback olur
+    private Outcome dispatch(OrderEvent event) {
+        for (OrderEventHandler handler : handlers) {
+            if (!handler.supports(event)) continue;
+            try {
+                handler.handle(event);
+            } catch (Exception e) {
+                log.warn("outbox_handler_failed id={} type={} order={} handler={} attempt={}: {}",
+                        event.id(), event.type(), event.orderId(), handler.getClass().getSimpleName(),
+                        event.attempt(), e.getMessage());
+                return new Outcome(event.id(), false, event.attempt(),
+                        handler.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        return new Outcome(event.id(), true, event.attempt(), null);
+    }
+
+    // Sadece kira hâlâ bizdeyse yazılır: kira dolup olay başka düğüme geçtiyse sonucu o düğüm yazar
+    private void saveOutcomes(List<Outcome> outcomes, LocalDateTime now, LocalDateTime leasedUntil) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        Timestamp leaseTs = Timestamp.valueOf(leasedUntil);
+        List<Object[]> done = new ArrayList<>();
+        List<Object[]> retry = new ArrayList<>();
+        List<Object[]> dead = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if (outcome.ok()) {
+                done.add(new Object[]{nowTs, outcome.id(), leaseTs});
+            } else if (outcome.attempt() >= maxAttempts) {
+                dead.add(new Object[]{nowTs, truncate(outcome.error()), outcome.id(), leaseTs});
+            } else {
+                retry.add(new Object[]{Timestamp.valueOf(now.plus(Duration.ofMillis(backoffMillis(outcome.attempt())))),
+                        truncate(outcome.error()), outcome.id(), leaseTs});
+            }
+        }
+        if (!done.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    update order_outbox set delivered_at = ?, next_attempt_at = null, locked_until = null, last_error = null
+                    where id = ? and locked_until = ?
+                    """, done);
+        }
+        if (!retry.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    update order_outbox set next_attempt_at = ?, locked_until = null, last_error = ?
+                    where id = ? and locked_until = ?
+                    """, retry);
+        }
+        if (!dead.isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                    update order_outbox set failed_at = ?, next_attempt_at = null, locked_until = null, last_error = ?
+                    where id = ? and locked_until = ?
+                    """, dead);
+            log.error("outbox_events_failed count={} (max-attempts={} aşıldı)", dead.size(), maxAttempts);
+        }
+        delivered.increment(done.size());
+        retried.increment(retry.size());
+        failed.increment(dead.size());
+    }
+
+    // attempt. denemeden sonraki bekleme: base, 2*base, 4*base ... (taşmasın diye üs sınırlı)
+    long backoffMillis(int attempt) {
+        long delay = retryBaseMillis << Math.min(attempt - 1, 20);
+        return Math.min(delay, retryMaxMillis);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private static OrderEvent mapEvent(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        String previousStatus = rs.getString("previous_status");
+        return new OrderEvent(
+                rs.getLong("id"),
+                OrderEventType.valueOf(rs.getString("event_type")),
+                rs.getLong("order_id"),
+                rs.getObject("user_id") != null ? rs.getLong("user_id") : null,
+                rs.getString("shop_name"),
+                status != null ? OrderStatus.valueOf(status) : null,
+                previousStatus != null ? OrderStatus.valueOf(previousStatus) : null,
+                rs.getObject("total_price") != null ? rs.getDouble("total_price") : null,
+                rs.getTimestamp("occurred_at").toLocalDateTime(),
+                rs.getInt("attempts") + 1);
+    }
+
+    // Teslim edilmiş eski olayları temizle (vazgeçilenler incelenene kadar kalır)
+    @Scheduled(initialDelayString = "${outbox.purge-interval-ms:3600000}", fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purgeDelivered() {
+        if (!enabled) return;
+        int deleted = jdbcTemplate.update("delete from order_outbox where delivered_at < ?",
+                Timestamp.valueOf(LocalDateTime.now(clock).minusDays(retentionDays)));
+        if (deleted > 0) {
+            log.info("outbox_purged count={}", deleted);
+        }
+    }
+}
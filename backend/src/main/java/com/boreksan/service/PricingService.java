@@ -0,0 +1,240 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.PriceListItemRequest;
+import com.boreksan.dto.PriceListItemResponse;
+import com.boreksan.dto.PriceListRequest;
+import com.boreksan.dto.PriceListResponse;
+import com.boreksan.entity.PriceList;
+import com.boreksan.entity.PriceListItem;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.User;
+import com.boreksan.exception.InvalidQueryParameterException;
+import com.boreksan.exception.PriceListNotFoundException;
+import com.boreksan.exception.ProductNotFoundException;
+import com.boreksan.repository.PriceListRepository;
+import com.boreksan.repository.ProductRepository;
+import com.boreksan.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Dükkana özel fiyat listeleri ve hacim kademeleri. Listeler veritabanında (price_lists, price_list_items,
+// price_list_shops) durur; sipariş yolu ise hiç sorgu atmaz: açılışta ve her değişikliğin commit'inden sonra
+// tüm listeler tek sorguyla değişmez bir PricingTable'a derlenir ve volatile referans tek seferde değiştirilir.
+// Diğer düğümler CacheInvalidationBus'tan "pricing" mesajı alıp kendi tablolarını yeniden derler.
+// Commit ile yeni tablonun devreye girmesi arasında (milisaniyeler) gelen sipariş eski fiyatla fiyatlanır.
+@Service
+public class PricingService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingService.class);
+
+    private static final String BUS_TYPE = "pricing";
+
+    private final PriceListRepository priceListRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    private volatile PricingTable table = PricingTable.EMPTY;
+
+    public PricingService(PriceListRepository priceListRepository, ProductRepository productRepository,
+                          UserRepository userRepository, CacheInvalidationBus cacheInvalidationBus,
+                          DataSource dataSource, Clock clock) {
+        this.priceListRepository = priceListRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.clock = clock;
+        // Hangi liste değişmiş olursa olsun tablo baştan derlenir: art arda gelen mesajlar tek derlemeye iner
+        cacheInvalidationBus.subscribeAll(BUS_TYPE, this::recompile, this::recompile);
+    }
+
+    // Web sunucusu istek almaya başlamadan önce: ilk sipariş de liste fiyatıyla fiyatlansın
+    @Override
+    public void afterSingletonsInstantiated() {
+        recompile();
+    }
+
+    // Siparişi fiyatlarken bir kez alınır: bütün kalemler aynı tabloyla fiyatlanır
+    public PricingTable table() {
+        return table;
+    }
+
+    // Tüm listeleri baştan derler. Eşzamanlı iki derleme sıraya girer; sonraki her zaman son commit'i görür.
+    public synchronized void recompile() {
+        long start = System.nanoTime();
+        PricingTable.Builder builder = new PricingTable.Builder();
+        jdbcTemplate.query("""
+                select s.user_id, i.product_id, i.min_quantity, i.price_tray
+                from price_list_shops s
+                join price_list_items i on i.price_list_id = s.price_list_id
+                order by s.user_id, i.product_id, i.min_quantity
+                """, rs -> {
+            builder.add(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getDouble(4));
+        });
+        PricingTable compiled = builder.build();
+        table = compiled;
+        log.info("pricing_compiled shops={} entries={} tiers={} duration_ms={}", compiled.shopCount(),
+                compiled.entryCount(), compiled.tierCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // --- FİYAT LİSTESİ YÖNETİMİ (Admin) ---
+
+    // 1. Listele
+    @Transactional(readOnly = true)
+    public List<PriceListResponse> getPriceLists() {
+        return priceListRepository.findAllWithDetails().stream().map(this::mapToResponse).toList();
+    }
+
+    // 2. Tek liste
+    @Transactional(readOnly = true)
+    public PriceListResponse getPriceList(Long id) {
+        return mapToResponse(findWithDetails(id));
+    }
+
+    // 3. Oluştur
+    @Transactional
+    public PriceListResponse createPriceList(PriceListRequest request) {
+        PriceList priceList = new PriceList();
+        apply(priceList, request);
+        PriceList saved = priceListRepository.save(priceList);
+        pricesChanged(saved.getId());
+        return mapToResponse(saved);
+    }
+
+    // 4. Güncelle (isim, dükkanlar ve kademeler tamamen değiştirilir)
+    @Transactional
+    public PriceListResponse updatePriceList(Long id, PriceListRequest request) {
+        PriceList priceList = findWithDetails(id);
+        apply(priceList, request);
+        PriceList saved = priceListRepository.save(priceList);
+        pricesChanged(id);
+        return mapToResponse(saved);
+    }
+
+    // 5. Sil (dükkanları ürün fiyatına döner)
+    @Transactional
+    public void deletePriceList(Long id) {
+        if (!priceListRepository.existsById(id)) {
+            throw new PriceListNotFoundException("Fiyat listesi bulunamadı ID: " + id);
+        }
+        priceListRepository.deleteById(id);
+        pricesChanged(id);
+    }
+
+    private PriceList findWithDetails(Long id) {
+        return priceListRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new PriceListNotFoundException("Fiyat listesi bulunamadı ID: " + id));
+    }
+
+    // İstek doğrulanır ve listeye uygulanır (dükkanlar ve kalemler tek sorguda çözülür)
+    private void apply(PriceList priceList, PriceListRequest request) {
+        String name = request.getName().trim();
+        long id = priceList.getId() != null ? priceList.getId() : -1;
+        if (priceListRepository.existsByNameAndIdNot(name, id)) {
+            throw new InvalidQueryParameterException("Bu isimde bir fiyat listesi zaten var: " + name);
+        }
+
+        Set<User> shops = new LinkedHashSet<>();
+        for (String shopName : request.getShopNames() != null ? request.getShopNames() : List.<String>of()) {
+            shops.add(userRepository.findByShopName(shopName)
+                    .or(() -> userRepository.findByUsername(shopName))
+                    .orElseThrow(() -> new InvalidQueryParameterException("Dükkan bulunamadı: " + shopName)));
+        }
+        if (!shops.isEmpty()) {
+            List<Object[]> conflicts = priceListRepository.findAssignedElsewhere(
+                    shops.stream().map(User::getId).toList(), id);
+            if (!conflicts.isEmpty()) {
+                throw new InvalidQueryParameterException("Dükkan zaten başka bir fiyat listesinde: " + conflicts.stream()
+                        .map(row -> row[0] + " (" + row[1] + ")").collect(Collectors.joining(", ")));
+            }
+        }
+
+        List<PriceListItemRequest> itemRequests = request.getItems() != null ? request.getItems() : List.of();
+        Map<Long, Product> products = productRepository.findAllById(
+                        itemRequests.stream().map(PriceListItemRequest::getProductId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Set<String> tiers = new HashSet<>();
+        List<PriceListItem> items = new ArrayList<>(itemRequests.size());
+        for (PriceListItemRequest itemRequest : itemRequests) {
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ProductNotFoundException("Ürün bulunamadı ID: " + itemRequest.getProductId());
+            }
+            int minQuantity = itemRequest.getMinQuantity() != null ? itemRequest.getMinQuantity() : 1;
+            if (!tiers.add(product.getId() + ":" + minQuantity)) {
+                throw new InvalidQueryParameterException("Aynı ürün için aynı kademe iki kez verilmiş: ürün "
+                        + product.getId() + ", " + minQuantity + " tepsi");
+            }
+            PriceListItem item = new PriceListItem();
+            item.setPriceList(priceList);
+            item.setProduct(product);
+            item.setMinQuantity(minQuantity);
+            item.setPriceTray(itemRequest.getPriceTray());
+            items.add(item);
+        }
+
+        priceList.setName(name);
+        priceList.getShops().clear();
+        priceList.getShops().addAll(shops);
+        priceList.getItems().clear();
+        // Eski kademelerin DELETE'i yenilerin INSERT'inden önce gitsin (aynı ürün + kademe unique)
+        if (priceList.getId() != null) {
+            priceListRepository.flush();
+        }
+        priceList.getItems().addAll(items);
+        priceList.setUpdatedAt(LocalDateTime.now(clock));
+    }
+
+    // Commit'ten sonra bu düğümde yeniden derle; diğer düğümlere duyuru da commit ile gider
+    private void pricesChanged(Long priceListId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recompile();
+                }
+            });
+        } else {
+            recompile();
+        }
+        cacheInvalidationBus.publish(BUS_TYPE, priceListId);
+    }
+
+    private PriceListResponse mapToResponse(PriceList priceList) {
+        PriceListResponse response = new PriceListResponse();
+        response.setId(priceList.getId());
+        response.setName(priceList.getName());
+        response.setShopNames(priceList.getShops().stream().map(User::getShopName).sorted().toList());
+        response.setItems(priceList.getItems().stream()
+                .sorted(Comparator.comparing((PriceListItem item) -> item.getProduct().getId())
+                        .thenComparing(PriceListItem::getMinQuantity))
+                .map(item -> new PriceListItemResponse(item.getProduct().getId(), item.getProduct().getName(),
+                        item.getMinQuantity(), item.getPriceTray(), item.getProduct().getPriceTray()))
+                .toList());
+        response.setUpdatedAt(priceList.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,114 @@
+package com.boreksan.service;
+
+import java.util.Arrays;
+
+// Derlenmiş fiyat listeleri: (dükkan, ürün) -> miktar kademeleri. Değişmez; PricingService fiyatlar değişince
+// yenisini kurup referansı tek seferde değiştirir, sipariş de başından sonuna aynı tabloyu kullanır.
+// Düz primitive diziler (kutulama / nesne yok): anahtarlar sıralı long[] ((dükkan << 32) | ürün),
+// i. anahtarın kademeleri minQuantities / prices içinde [tierStart[i], tierStart[i + 1]) aralığında, minQuantity'ye göre artan.
+// Kalem fiyatı = tek bir binary search + birkaç kademe karşılaştırması; tabloda yoksa ürünün kendi fiyatı.
+public final class PricingTable {
+
+    public static final PricingTable EMPTY = new Builder().build();
+
+    private final long[] keys;
+    private final int[] tierStart;
+    private final int[] minQuantities;
+    private final double[] prices;
+    private final int shopCount;
+
+    private PricingTable(long[] keys, int[] tierStart, int[] minQuantities, double[] prices, int shopCount) {
+        this.keys = keys;
+        this.tierStart = tierStart;
+        this.minQuantities = minQuantities;
+        this.prices = prices;
+        this.shopCount = shopCount;
+    }
+
+    // quantity tepsi için birim fiyat: minQuantity'si quantity'yi geçmeyen en büyük kademe, yoksa basePrice
+    public double unitPrice(long shopId, long productId, int quantity, double basePrice) {
+        long key = key(shopId, productId);
+        if (key < 0) {
+            return basePrice;
+        }
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return basePrice;
+        }
+        double price = basePrice;
+        for (int t = tierStart[index], end = tierStart[index + 1]; t < end && minQuantities[t] <= quantity; t++) {
+            price = prices[t];
+        }
+        return price;
+    }
+
+    public int entryCount() {
+        return keys.length;
+    }
+
+    public int tierCount() {
+        return prices.length;
+    }
+
+    public int shopCount() {
+        return shopCount;
+    }
+
+    // ID'ler 32 bite sığmazsa anahtar üretilmez (-1): o kalem ürün fiyatından satılır, çakışma olmaz
+    static long key(long shopId, long productId) {
+        if ((shopId | productId) >>> 32 != 0) {
+            return -1;
+        }
+        return (shopId << 32) | productId;
+    }
+
+    // Kademeler (dükkan, ürün, minQuantity) sırasıyla eklenir (derleme sorgusu böyle sıralı okur)
+    static final class Builder {
+        private long[] keys = new long[16];
+        private int[] tierStart = new int[17];
+        private int[] minQuantities = new int[16];
+        private double[] prices = new double[16];
+        private int keyCount;
+        private int tierCount;
+        private int shopCount;
+        private long lastShopId = -1;
+
+        Builder add(long shopId, long productId, int minQuantity, double price) {
+            long key = key(shopId, productId);
+            if (key < 0) {
+                throw new IllegalStateException("ID 32 bite sığmıyor: dükkan " + shopId + ", ürün " + productId);
+            }
+            if (keyCount == 0 || keys[keyCount - 1] != key) {
+                if (keyCount > 0 && keys[keyCount - 1] > key) {
+                    throw new IllegalStateException("Fiyat kademeleri (dükkan, ürün) sırasıyla eklenmeli");
+                }
+                if (keyCount == keys.length) {
+                    keys = Arrays.copyOf(keys, keyCount * 2);
+                    tierStart = Arrays.copyOf(tierStart, keyCount * 2 + 1);
+                }
+                keys[keyCount] = key;
+                tierStart[keyCount] = tierCount;
+                keyCount++;
+                if (shopId != lastShopId) {
+                    shopCount++;
+                    lastShopId = shopId;
+                }
+            }
+            if (tierCount == prices.length) {
+                minQuantities = Arrays.copyOf(minQuantities, tierCount * 2);
+                prices = Arrays.copyOf(prices, tierCount * 2);
+            }
+            minQuantities[tierCount] = minQuantity;
+            prices[tierCount] = price;
+            tierCount++;
+            return this;
+        }
+
+        PricingTable build() {
+            int[] starts = Arrays.copyOf(tierStart, keyCount + 1);
+            starts[keyCount] = tierCount;
+            return new PricingTable(Arrays.copyOf(keys, keyCount), starts,
+                    Arrays.copyOf(minQuantities, tierCount), Arrays.copyOf(prices, tierCount), shopCount);
+        }
+    }
+}
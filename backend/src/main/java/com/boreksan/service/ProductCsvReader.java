@@ -0,0 +1,163 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.ProductImportError;
+import com.boreksan.dto.ProductImportRow;
+import com.boreksan.exception.InvalidQueryParameterException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Ürün içe aktarımı için küçük bir CSV okuyucu (RFC 4180: tırnaklı alan, "" kaçışı, tırnak içinde virgül / satır sonu).
+// İlk satır başlıktır; sütunlar isimle eşlenir (id, name, description, pricePortion / price_portion, priceTray / price_tray),
+// sıraları serbesttir. Excel'in Türkçe ayarı ';' ayırıcı ve ondalık virgül yazar: başlıkta ';' varsa ikisi de kabul edilir.
+// Sayıya çevrilemeyen değerler satır hatası olarak döner, diğer satırlar okunmaya devam eder.
+final class ProductCsvReader {
+
+    record Result(List<ProductImportRow> rows, List<ProductImportError> errors) {
+    }
+
+    private enum Column { ID, NAME, DESCRIPTION, PRICE_PORTION, PRICE_TRAY }
+
+    private ProductCsvReader() {
+    }
+
+    static Result read(String csv) {
+        List<List<String>> records = parse(csv != null ? csv : "");
+        if (records.isEmpty()) {
+            throw new InvalidQueryParameterException("CSV is empty, a header row is required.");
+        }
+        boolean semicolon = records.get(0).size() == 1 && records.get(0).get(0).contains(";");
+        if (semicolon) {
+            records = parse(csv, ';');
+        }
+
+        Column[] columns = header(records.get(0));
+        List<ProductImportRow> rows = new ArrayList<>(records.size() - 1);
+        List<ProductImportError> errors = new ArrayList<>();
+        for (int r = 1; r < records.size(); r++) {
+            List<String> values = records.get(r);
+            int rowNumber = rows.size() + 1;
+            ProductImportRow row = new ProductImportRow();
+            for (int c = 0; c < columns.length && c < values.size(); c++) {
+                String value = values.get(c).trim();
+                if (value.isEmpty()) continue;
+                try {
+                    switch (columns[c]) {
+                        case ID -> row.setId(Long.valueOf(value));
+                        case NAME -> row.setName(value);
+                        case DESCRIPTION -> row.setDescription(value);
+                        case PRICE_PORTION -> row.setPricePortion(parseDecimal(value, semicolon));
+                        case PRICE_TRAY -> row.setPriceTray(parseDecimal(value, semicolon));
+                    }
+                } catch (NumberFormatException e) {
+                    errors.add(new ProductImportError(rowNumber, fieldName(columns[c]), "Not a number: " + value));
+                }
+            }
+            if (values.size() > columns.length) {
+                errors.add(new ProductImportError(rowNumber, null,
+                        "Row has " + values.size() + " values but the header has " + columns.length + " columns"));
+            }
+            rows.add(row);
+        }
+        return new Result(rows, errors);
+    }
+
+    private static Column[] header(List<String> names) {
+        Column[] columns = new Column[names.size()];
+        List<Column> seen = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            // Büyük/küçük harf, '_' ve '-' fark etmez: pricePortion = price_portion = PRICE-PORTION
+            String key = names.get(i).trim().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+            Column column = switch (key) {
+                case "id" -> Column.ID;
+                case "name" -> Column.NAME;
+                case "description" -> Column.DESCRIPTION;
+                case "priceportion" -> Column.PRICE_PORTION;
+                case "pricetray" -> Column.PRICE_TRAY;
+                default -> throw new InvalidQueryParameterException("Unknown CSV column: " + names.get(i).trim()
+                        + " (expected id, name, description, pricePortion, priceTray)");
+            };
+            if (seen.contains(column)) {
+                throw new InvalidQueryParameterException("Duplicate CSV column: " + names.get(i).trim());
+            }
+            seen.add(column);
+            columns[i] = column;
+        }
+        if (!seen.contains(Column.ID) && !seen.contains(Column.NAME)) {
+            throw new InvalidQueryParameterException("CSV header must contain an id or a name column.");
+        }
+        return columns;
+    }
+
+    private static String fieldName(Column column) {
+        return switch (column) {
+            case ID -> "id";
+            case NAME -> "name";
+            case DESCRIPTION -> "description";
+            case PRICE_PORTION -> "pricePortion";
+            case PRICE_TRAY -> "priceTray";
+        };
+    }
+
+    private static Double parseDecimal(String value, boolean decimalComma) {
+        return Double.valueOf(decimalComma ? value.replace(',', '.') : value);
+    }
+
+    private static List<List<String>> parse(String csv) {
+        return parse(csv, ',');
+    }
+
+    // Boş satırlar atlanır; baştaki UTF-8 BOM (Excel) yok sayılır
+    private static List<List<String>> parse(String csv, char delimiter) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int start = !csv.isEmpty() && csv.charAt(0) == '\uFEFF' ? 1 : 0;
+
+        for (int i = start; i < csv.length(); i++) {
+            char ch = csv.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, record, field);
+                record = new ArrayList<>();
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new InvalidQueryParameterException("CSV has an unterminated quoted field.");
+        }
+        endRecord(records, record, field);
+        return records;
+    }
+
+    private static void endRecord(List<List<String>> records, List<String> record, StringBuilder field) {
+        if (record.isEmpty() && field.toString().isBlank()) {
+            field.setLength(0);
+            return; // boş satır
+        }
+        record.add(field.toString());
+        field.setLength(0);
+        records.add(record);
+    }
+}
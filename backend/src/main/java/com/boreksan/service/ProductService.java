@@ -1,22 +1,55 @@
 package com.boreksan.service;
 
+import com.boreksan.dto.ProductImportError;
+import com.boreksan.dto.ProductImportResponse;
+import com.boreksan.dto.ProductImportRow;
 import com.boreksan.dto.ProductRequest;
 import com.boreksan.dto.ProductUpdateRequest;
 import com.boreksan.dto.ProductResponse;
 import com.boreksan.entity.Product;
+import com.boreksan.exception.InvalidQueryParameterException;
+import com.boreksan.exception.ProductImportException;
 import com.boreksan.exception.ProductNotFoundException;
 import com.boreksan.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
+@Timed(value = "boreksan.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final EntityCacheService entityCacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final Clock clock;
+    private final int importMaxRows;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, EntityCacheService entityCacheService,
+                          DataSource dataSource, Validator validator, Clock clock,
+                          @Value("${product.import.max-rows:5000}") int importMaxRows) {
         this.productRepository = productRepository;
+        this.entityCacheService = entityCacheService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.validator = validator;
+        this.clock = clock;
+        this.importMaxRows = importMaxRows;
     }
 
     // --- HELPER METHODS (CONVERTERS) ---
@@ -55,6 +88,7 @@ public class ProductService {
     public ProductResponse createProduct(ProductRequest request) {
         Product product = mapToEntity(request); // Convert the request to an Entity
         Product savedProduct = productRepository.save(product); // Save it
+        entityCacheService.evictAllProducts(); // Cached product list no longer complete
         return mapToResponse(savedProduct); // Convert the result to a Response and return
     }
 
@@ -77,6 +111,7 @@ public class ProductService {
         if (request.getPriceTray() != null) existingProduct.setPriceTray(request.getPriceTray());
 
         Product updatedProduct = productRepository.save(existingProduct);
+        entityCacheService.evictProduct(id); // Don't serve the old price from the cache
         return mapToResponse(updatedProduct);
     }
 
@@ -86,5 +121,179 @@ public class ProductService {
             throw new ProductNotFoundException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        entityCacheService.evictProduct(id);
     }
-}
\ No newline at end of file
+
+    // 6. Bulk Import (upsert)
+    // Önce TÜM satırlar doğrulanır; tek bir hatalı satır varsa hiçbir şey yazılmaz ve bütün satır hataları birlikte döner.
+    // Geçerliyse tek transaction'da: eşleşen ürünleri tek SELECT ile kilitleyip yükle, değişenleri tek UPDATE batch'i,
+    // yenileri tek INSERT batch'i ile yaz. Satır sayısından bağımsız olarak 3 SQL; ürün cache'i sonda BİR kez boşaltılır.
+    @Transactional
+    public ProductImportResponse importProducts(List<ProductImportRow> rows) {
+        return importRows(rows, List.of());
+    }
+
+    @Transactional
+    public ProductImportResponse importProductsCsv(String csv) {
+        ProductCsvReader.Result parsed = ProductCsvReader.read(csv);
+        return importRows(parsed.rows(), parsed.errors());
+    }
+
+    // Veritabanındaki mevcut ürün (JDBC ile okunur, entity'ye dönüştürülmez)
+    private record ExistingProduct(long id, String name, String description, Double pricePortion, Double priceTray) {
+    }
+
+    private ProductImportResponse importRows(List<ProductImportRow> rows, List<ProductImportError> parseErrors) {
+        if (rows == null || rows.isEmpty()) {
+            throw new InvalidQueryParameterException("Import contains no products.");
+        }
+        if (rows.size() > importMaxRows) {
+            throw new InvalidQueryParameterException("At most " + importMaxRows + " products can be imported at once.");
+        }
+        List<ProductImportError> errors = new ArrayList<>(parseErrors);
+
+        // 1. Alan kuralları (ProductRequest ile aynı mesajlar) + isim normalizasyonu
+        for (int i = 0; i < rows.size(); i++) {
+            ProductImportRow row = rows.get(i);
+            if (row == null) {
+                errors.add(new ProductImportError(i + 1, null, "Row is empty"));
+                continue;
+            }
+            if (row.getName() != null) {
+                row.setName(row.getName().trim());
+                if (row.getName().isEmpty()) {
+                    errors.add(new ProductImportError(i + 1, "name", "Name cannot be blank"));
+                }
+            } else if (row.getId() == null) {
+                errors.add(new ProductImportError(i + 1, "name", "Name or id must be provided"));
+            }
+            for (ConstraintViolation<ProductImportRow> violation : validator.validate(row)) {
+                errors.add(new ProductImportError(i + 1, violation.getPropertyPath().toString(), violation.getMessage()));
+            }
+        }
+
+        // 2. Mevcut ürünler: tek sorgu, eşzamanlı PUT ile kaybolan güncelleme olmasın diye kilitli.
+        //    Katalog küçük; isim eşleşmesi tamamen Java'da (veritabanının lower()'ı Türkçe harflerde farklı küçültür)
+        Map<Long, ExistingProduct> byId = new HashMap<>();
+        Map<String, List<ExistingProduct>> byName = new HashMap<>();
+        for (ExistingProduct product : loadForImport()) {
+            byId.put(product.id(), product);
+            byName.computeIfAbsent(Product.nameKey(product.name()), key -> new ArrayList<>()).add(product);
+        }
+
+        // 3. Her satırı bir ürüne eşle: id > isim > yeni ürün
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        Map<Long, Integer> rowByProductId = new HashMap<>();
+        Map<String, Integer> rowByName = new HashMap<>();
+        int unchanged = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        for (int i = 0; i < rows.size(); i++) {
+            ProductImportRow row = rows.get(i);
+            int rowNumber = i + 1;
+            if (row == null) continue;
+            boolean hasName = row.getName() != null && !row.getName().isEmpty();
+
+            ExistingProduct target = null;
+            if (row.getId() != null) {
+                target = byId.get(row.getId());
+                if (target == null) {
+                    errors.add(new ProductImportError(rowNumber, "id", "Product not found with id: " + row.getId()));
+                    continue;
+                }
+            } else if (hasName) {
+                List<ExistingProduct> matches = byName.getOrDefault(Product.nameKey(row.getName()), List.of());
+                if (matches.size() > 1) {
+                    errors.add(new ProductImportError(rowNumber, "name",
+                            "Several products are named '" + row.getName() + "', use id instead"));
+                    continue;
+                }
+                target = matches.isEmpty() ? null : matches.get(0);
+            } else {
+                continue; // 1. adımda hata yazıldı
+            }
+
+            // Aynı ürün / aynı isim dosyada iki kez geçmesin (hangisinin kazanacağı belirsiz olur)
+            if (target != null) {
+                Integer previous = rowByProductId.putIfAbsent(target.id(), rowNumber);
+                if (previous != null) {
+                    errors.add(new ProductImportError(rowNumber, null,
+                            "Product " + target.id() + " is already imported by row " + previous));
+                    continue;
+                }
+            }
+            // İsimle eşleşmede isim anahtardır, veri değil: mevcut yazımı korunur ("su böreği" satırı "Su Böreği"ni ezmez)
+            String finalName = target == null || (hasName && row.getId() != null) ? row.getName() : target.name();
+            Integer nameOwner = rowByName.putIfAbsent(Product.nameKey(finalName), rowNumber);
+            if (nameOwner != null) {
+                errors.add(new ProductImportError(rowNumber, "name", "Name '" + finalName + "' is already used by row " + nameOwner));
+                continue;
+            }
+            // id ile yeniden adlandırmada başka bir mevcut ürünün ismi alınamaz
+            long targetId = target != null ? target.id() : -1;
+            boolean nameTaken = byName.getOrDefault(Product.nameKey(finalName), List.of()).stream()
+                    .anyMatch(existing -> existing.id() != targetId);
+            if (target != null && nameTaken) {
+                errors.add(new ProductImportError(rowNumber, "name", "Another product is already named '" + finalName + "'"));
+                continue;
+            }
+
+            if (target == null) {
+                if (row.getPricePortion() == null) {
+                    errors.add(new ProductImportError(rowNumber, "pricePortion", "Price for portion must be provided!"));
+                }
+                if (row.getPriceTray() == null) {
+                    errors.add(new ProductImportError(rowNumber, "priceTray", "Price for tray must be provided!"));
+                }
+                inserts.add(new Object[]{finalName, Product.nameKey(finalName), row.getDescription(),
+                        row.getPricePortion(), row.getPriceTray(), now});
+                continue;
+            }
+
+            // Boş alanlar değişmez; değeri aynı kalan ürün yazılmaz
+            String description = row.getDescription() != null ? row.getDescription() : target.description();
+            Double pricePortion = row.getPricePortion() != null ? row.getPricePortion() : target.pricePortion();
+            Double priceTray = row.getPriceTray() != null ? row.getPriceTray() : target.priceTray();
+            if (finalName.equals(target.name()) && Objects.equals(description, target.description())
+                    && Objects.equals(pricePortion, target.pricePortion()) && Objects.equals(priceTray, target.priceTray())) {
+                unchanged++;
+            } else {
+                updates.add(new Object[]{finalName, Product.nameKey(finalName), description, pricePortion, priceTray, target.id()});
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(ProductImportError::getRow));
+            throw new ProductImportException(errors);
+        }
+
+        // 4. Yaz: iki JDBC batch'i (hibernate.jdbc.batch_size'tan bağımsız, tek gidiş-dönüş).
+        //    name_key'in unique index'i eşzamanlı bir içe aktarmanın aynı isimli ürününü sessizce ikiletmez (409)
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "update products set name = ?, name_key = ?, description = ?, price_portion = ?, price_tray = ? where id = ?",
+                    updates);
+        }
+        if (!inserts.isEmpty()) {
+            // @CreationTimestamp / @PrePersist JDBC'de çalışmaz, created_at ve name_key açıkça yazılır
+            jdbcTemplate.batchUpdate(
+                    "insert into products (name, name_key, description, price_portion, price_tray, created_at) values (?, ?, ?, ?, ?, ?)",
+                    inserts);
+        }
+        if (!updates.isEmpty() || !inserts.isEmpty()) {
+            entityCacheService.evictAllProducts(); // Hibernate'i atladık: tek eviction, commit sonrası + diğer düğümlere
+        }
+        return new ProductImportResponse(rows.size(), inserts.size(), updates.size(), unchanged);
+    }
+
+    private List<ExistingProduct> loadForImport() {
+        return jdbcTemplate.query(
+                "select id, name, description, price_portion, price_tray from products for update",
+                (rs, rowNum) -> new ExistingProduct(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getObject("price_portion", Double.class),
+                        rs.getObject("price_tray", Double.class)));
+    }
+}
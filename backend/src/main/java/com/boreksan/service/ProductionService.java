@@ -0,0 +1,298 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.ProductionAdjustmentResponse;
+import com.boreksan.dto.ProductionLine;
+import com.boreksan.dto.ProductionSheetResponse;
+import com.boreksan.dto.ReportLine;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.ProductionAdjustment;
+import com.boreksan.entity.ProductionBatch;
+import com.boreksan.entity.ProductionBatchLine;
+import com.boreksan.entity.enums.AdjustmentReason;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.ReportDimension;
+import com.boreksan.repository.OrderRepository;
+import com.boreksan.repository.ProductionAdjustmentRepository;
+import com.boreksan.repository.ProductionBatchLineRepository;
+import com.boreksan.repository.ProductionBatchRepository;
+import com.boreksan.repository.ReportQueryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Günün üretim partisi: kesimde (DayCloseJob) o günün iptal edilmemiş siparişleri ürün ve dükkan başına toplanıp
+// production_batch_lines'a yazılır, kapsanan siparişler orders.production_date ile işaretlenir.
+// Kapanıştan sonra admin'in yaptığı her miktar değişikliği partiyi değiştirmez, production_adjustments'a
+// kalem başına +/- tepsi olarak eklenir. Üretim çizelgesi kapanmış gün için sadece bu iki tablodan okunur.
+@Service
+public class ProductionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionService.class);
+
+    // Kapanıştan bu kadar önce başlayan admin değişiklikleri de gün kilidini alır:
+    // kapanışla aynı anda commit olan bir değişiklik ne partiye ne düzeltmelere girmeden kaybolmasın
+    private static final long LOCK_MARGIN_MINUTES = 1;
+
+    private final ProductionBatchRepository batchRepository;
+    private final ProductionBatchLineRepository lineRepository;
+    private final ProductionAdjustmentRepository adjustmentRepository;
+    private final ReportQueryRepository reportQueryRepository;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final LocalTime lockFrom;
+
+    public ProductionService(ProductionBatchRepository batchRepository,
+                             ProductionBatchLineRepository lineRepository,
+                             ProductionAdjustmentRepository adjustmentRepository,
+                             ReportQueryRepository reportQueryRepository,
+                             OrderRepository orderRepository,
+                             DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock,
+                             @Value("${production.close-at:22:02}") String closeAt) {
+        this.batchRepository = batchRepository;
+        this.lineRepository = lineRepository;
+        this.adjustmentRepository = adjustmentRepository;
+        this.reportQueryRepository = reportQueryRepository;
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.lockFrom = LocalTime.parse(closeAt).minusMinutes(LOCK_MARGIN_MINUTES);
+    }
+
+    // 1. ÜRETİM ÇİZELGESİ
+    // Kapanmış gün: kayıtlı parti + düzeltmeler (orders tablosuna gidilmez). Açık gün: canlı toplam.
+    public ProductionSheetResponse getSheet(LocalDate day) {
+        ProductionBatch batch = batchRepository.findById(day).orElse(null);
+        if (batch == null || batch.getClosedAt() == null) {
+            return liveSheet(day);
+        }
+        List<ProductionBatchLine> lines = lineRepository.findAllByProductionDateOrderById(day);
+        boolean valid = checksum(lines).equals(batch.getChecksum());
+        if (!valid) {
+            log.warn("production_batch_checksum_mismatch date={} stored={}", day, batch.getChecksum());
+        }
+        return storedSheet(batch, lines, adjustmentRepository.findAllByProductionDateOrderById(day), valid);
+    }
+
+    public boolean isClosed(LocalDate day) {
+        return batchRepository.findById(day).map(batch -> batch.getClosedAt() != null).orElse(false);
+    }
+
+    // 2. GÜNÜ KAPAT (zaten kapandıysa kayıtlı partiyi döner)
+    public ProductionSheetResponse closeDay(LocalDate day) {
+        ProductionSheetResponse closed = transactionTemplate.execute(status -> {
+            if (lockDay(day, true)) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            int orderCount = orderRepository.markProduction(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                    OrderStatus.CANCELLED);
+
+            List<ProductionBatchLine> lines = new ArrayList<>();
+            addLines(lines, day, ReportDimension.PRODUCT, reportQueryRepository.productionByProduct(day));
+            addLines(lines, day, ReportDimension.SHOP, reportQueryRepository.productionByShop(day));
+            lineRepository.saveAll(lines);
+
+            long totalTrays = lines.stream()
+                    .filter(line -> line.getDimension() == ReportDimension.PRODUCT)
+                    .mapToLong(ProductionBatchLine::getTrays)
+                    .sum();
+            String checksum = checksum(lines);
+            jdbcTemplate.update("""
+                    update production_batches
+                    set closed_at = ?, order_count = ?, total_trays = ?, checksum = ?
+                    where production_date = ?
+                    """, Timestamp.valueOf(now), orderCount, totalTrays, checksum, day);
+
+            log.info("production_day_closed date={} orders={} trays={} checksum={}", day, orderCount, totalTrays, checksum);
+            ProductionBatch batch = new ProductionBatch();
+            batch.setProductionDate(day);
+            batch.setClosedAt(now);
+            batch.setOrderCount(orderCount);
+            batch.setTotalTrays(totalTrays);
+            batch.setChecksum(checksum);
+            return storedSheet(batch, lines, List.of(), true);
+        });
+        return closed != null ? closed : getSheet(day);
+    }
+
+    // --- KAPANIŞTAN SONRAKİ DEĞİŞİKLİKLER ---
+
+    // Gün kilidine gerek var mı? Bugün ve kapanış saatine daha varsa hayır (gündüz admin işlemleri kilitsiz).
+    public boolean mayBeClosed(LocalDate day) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        return day.isBefore(today) || (day.equals(today) && !now.toLocalTime().isBefore(lockFrom));
+    }
+
+    // Miktarı değiştiren admin işlemleri, sipariş satırlarına dokunmadan ÖNCE çağırır (çağıranın transaction'ında).
+    // Gün kapandıysa true döner: değişiklik recordAdjustment ile düzeltme olarak da yazılmalı.
+    // Kapanış o sırada çalışıyorsa onun commit'ini bekler; bu işlem bitene kadar da kapanış başlayamaz.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockForChange(LocalDate day) {
+        if (!mayBeClosed(day)) {
+            return false;
+        }
+        // Geçmiş günler için satır oluşturulmaz: o gün kapanmadıysa artık kapanmayacak
+        return lockDay(day, day.equals(LocalDate.now(clock)));
+    }
+
+    // Kendi transaction'ı olmayan çağıranlar için (createOrder): kilit + değişiklik tek transaction'da
+    public <T> T inDayLock(LocalDate day, Function<Boolean, T> change) {
+        return transactionTemplate.execute(status -> change.apply(lockForChange(day)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdjustment(LocalDate day, Order order, OrderItem item, int delta, AdjustmentReason reason) {
+        recordAdjustment(day, order.getId(), order.getUser().getId(), order.getShopName(),
+                item.getProduct().getId(), item.getProductName(), delta, reason);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdjustment(LocalDate day, Long orderId, Long userId, String shopName,
+                                 Long productId, String productName, int delta, AdjustmentReason reason) {
+        if (delta == 0) return;
+        ProductionAdjustment adjustment = new ProductionAdjustment();
+        adjustment.setProductionDate(day);
+        adjustment.setOrderId(orderId);
+        adjustment.setUserId(userId);
+        adjustment.setShopName(shopName);
+        adjustment.setProductId(productId);
+        adjustment.setProductName(productName);
+        adjustment.setDelta(delta);
+        adjustment.setReason(reason);
+        adjustment.setCreatedBy(currentUsername());
+        adjustment.setCreatedAt(LocalDateTime.now(clock));
+        adjustmentRepository.save(adjustment);
+    }
+
+    // Günün satırını (create=true ise yoksa oluşturup) kilitler; gün kapanmış mı döner
+    private boolean lockDay(LocalDate day, boolean create) {
+        if (create) {
+            jdbcTemplate.update("insert into production_batches (production_date) values (?) on conflict do nothing", day);
+        }
+        List<Timestamp> closedAt = jdbcTemplate.queryForList(
+                "select closed_at from production_batches where production_date = ? for update", Timestamp.class, day);
+        return !closedAt.isEmpty() && closedAt.get(0) != null;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "system";
+    }
+
+    // --- ÇİZELGE ---
+
+    private ProductionSheetResponse liveSheet(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        List<ProductionLine> byProduct = liveLines(reportQueryRepository.revenueByProduct(from, to, OrderStatus.CANCELLED));
+        List<ProductionLine> byShop = liveLines(reportQueryRepository.revenueByShop(from, to, OrderStatus.CANCELLED));
+        // Her sipariş tek bir dükkana ait: dükkan satırlarının sipariş sayıları toplamı günün sipariş sayısıdır
+        int orderCount = (int) byShop.stream().mapToLong(ProductionLine::getOrders).sum();
+        long totalTrays = byProduct.stream().mapToLong(ProductionLine::getNetTrays).sum();
+        return new ProductionSheetResponse(day, false, null, null, null, orderCount, totalTrays,
+                byProduct, byShop, List.of());
+    }
+
+    private List<ProductionLine> liveLines(List<ReportLine> lines) {
+        return lines.stream()
+                .sorted(Comparator.comparing(ReportLine::getLabel, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(line -> new ProductionLine(line.getKey(), line.getLabel(), line.getTrays(), 0, line.getTrays(), line.getOrders()))
+                .toList();
+    }
+
+    private ProductionSheetResponse storedSheet(ProductionBatch batch, List<ProductionBatchLine> lines,
+                                                List<ProductionAdjustment> adjustments, boolean checksumValid) {
+        Map<String, ProductionLine> byProduct = new LinkedHashMap<>();
+        Map<String, ProductionLine> byShop = new LinkedHashMap<>();
+        for (ProductionBatchLine line : lines) {
+            Map<String, ProductionLine> target = line.getDimension() == ReportDimension.PRODUCT ? byProduct : byShop;
+            target.put(line.getDimensionKey(), new ProductionLine(line.getDimensionKey(), line.getLabel(),
+                    line.getTrays(), 0, line.getTrays(), line.getOrderCount()));
+        }
+
+        // Partide olmayan ürün / dükkan (kapanıştan sonra eklendi) sıfırdan başlayan yeni satır olur
+        long adjustmentTotal = 0;
+        List<ProductionAdjustmentResponse> adjustmentResponses = new ArrayList<>(adjustments.size());
+        for (ProductionAdjustment adjustment : adjustments) {
+            applyAdjustment(byProduct, String.valueOf(adjustment.getProductId()), adjustment.getProductName(), adjustment.getDelta());
+            applyAdjustment(byShop, String.valueOf(adjustment.getUserId()), adjustment.getShopName(), adjustment.getDelta());
+            adjustmentTotal += adjustment.getDelta();
+            adjustmentResponses.add(new ProductionAdjustmentResponse(adjustment.getOrderId(), adjustment.getShopName(),
+                    adjustment.getProductName(), adjustment.getDelta(), adjustment.getReason(),
+                    adjustment.getCreatedBy(), adjustment.getCreatedAt()));
+        }
+
+        return new ProductionSheetResponse(batch.getProductionDate(), true, batch.getClosedAt(), batch.getChecksum(),
+                checksumValid, batch.getOrderCount(), batch.getTotalTrays() + adjustmentTotal,
+                new ArrayList<>(byProduct.values()), new ArrayList<>(byShop.values()), adjustmentResponses);
+    }
+
+    private void applyAdjustment(Map<String, ProductionLine> lines, String key, String label, int delta) {
+        ProductionLine line = lines.computeIfAbsent(key, k -> new ProductionLine(k, label, 0, 0, 0, 0));
+        line.setAdjustment(line.getAdjustment() + delta);
+        line.setNetTrays(line.getBatchTrays() + line.getAdjustment());
+    }
+
+    private void addLines(List<ProductionBatchLine> rows, LocalDate day, ReportDimension dimension, List<ReportLine> lines) {
+        for (ReportLine line : lines) {
+            ProductionBatchLine row = new ProductionBatchLine();
+            row.setProductionDate(day);
+            row.setDimension(dimension);
+            row.setDimensionKey(line.getKey());
+            row.setLabel(line.getLabel());
+            row.setTrays(line.getTrays());
+            row.setOrderCount(line.getOrders());
+            rows.add(row);
+        }
+    }
+
+    // Satır sırasından bağımsız özet: "PRODUCT|12|Su Böreği|40|7" satırları boyut ve anahtara göre sıralı
+    static String checksum(List<ProductionBatchLine> lines) {
+        StringBuilder canonical = new StringBuilder();
+        lines.stream()
+                .sorted(Comparator.comparing(ProductionBatchLine::getDimension).thenComparing(ProductionBatchLine::getDimensionKey))
+                .forEach(line -> canonical.append(line.getDimension()).append('|')
+                        .append(line.getDimensionKey()).append('|')
+                        .append(line.getLabel()).append('|')
+                        .append(line.getTrays()).append('|')
+                        .append(line.getOrderCount()).append('\n'));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 bulunamadı", e);
+        }
+    }
+}
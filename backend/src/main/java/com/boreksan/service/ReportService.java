@@ -0,0 +1,188 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.MonthlyReportResponse;
+import com.boreksan.dto.ReportLine;
+import com.boreksan.entity.ReportMonth;
+import com.boreksan.entity.ReportRow;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.ReportDimension;
+import com.boreksan.exception.InvalidQueryParameterException;
+import com.boreksan.repository.ReportMonthRepository;
+import com.boreksan.repository.ReportQueryRepository;
+import com.boreksan.repository.ReportRowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// Muhasebe raporları: dükkan / ürün / gün bazında ciro, tepsi ve sipariş sayısı.
+// Kapanmış aylar değişemez: ilk istekte bir kez hesaplanıp report_rows tablosuna yazılır,
+// sonrasında hep oradan (ve bellekteki "closedMonthReports" cache'inden) okunur.
+// İçinde bulunulan ay her istekte değil, "currentMonthReports" cache süresi dolunca yeniden hesaplanır.
+@Service
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    private final ReportQueryRepository reportQueryRepository;
+    private final ReportMonthRepository reportMonthRepository;
+    private final ReportRowRepository reportRowRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache closedReports;
+    private final Cache currentReports;
+    private final Clock clock;
+    private final int closedGraceDays;
+
+    public ReportService(ReportQueryRepository reportQueryRepository,
+                         ReportMonthRepository reportMonthRepository,
+                         ReportRowRepository reportRowRepository,
+                         PlatformTransactionManager transactionManager,
+                         CacheManager cacheManager,
+                         Clock clock,
+                         @Value("${report.closed-grace-days:2}") int closedGraceDays) {
+        this.reportQueryRepository = reportQueryRepository;
+        this.reportMonthRepository = reportMonthRepository;
+        this.reportRowRepository = reportRowRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.closedReports = cacheManager.getCache("closedMonthReports");
+        this.currentReports = cacheManager.getCache("currentMonthReports");
+        this.clock = clock;
+        this.closedGraceDays = closedGraceDays;
+    }
+
+    // 1. AYLIK RAPOR
+    public MonthlyReportResponse getMonthlyReport(YearMonth month) {
+        if (month.isAfter(YearMonth.now(clock))) {
+            throw new InvalidQueryParameterException("Henüz başlamamış ay için rapor yok: " + month);
+        }
+        String key = month.toString();
+        try {
+            if (isClosed(month)) {
+                return closedReports.get(key, () -> loadOrCreateClosedReport(month));
+            }
+            return currentReports.get(key, () -> compute(month, false, LocalDateTime.now(clock)));
+        } catch (Cache.ValueRetrievalException e) {
+            // Cache'in sarmaladığı asıl hatayı (veritabanı vb.) olduğu gibi ilet
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Ay bittikten sonra birkaç gün daha açık sayılır: son gecenin siparişleri ertesi sabah
+    // teslim / iptal edilebilir, rapor ancak bunlar da oturunca dondurulur.
+    boolean isClosed(YearMonth month) {
+        LocalDate closesOn = month.plusMonths(1).atDay(1).plusDays(closedGraceDays);
+        return !LocalDate.now(clock).isBefore(closesOn);
+    }
+
+    // --- KAPANMIŞ AYLAR ---
+
+    private MonthlyReportResponse loadOrCreateClosedReport(YearMonth month) {
+        String key = month.toString();
+        MonthlyReportResponse stored = loadStored(key);
+        if (stored != null) {
+            return stored;
+        }
+
+        MonthlyReportResponse report = compute(month, true, LocalDateTime.now(clock));
+        try {
+            transactionTemplate.executeWithoutResult(status -> store(report));
+            log.info("report_month_closed month={} shops={} products={}", key,
+                    report.getByShop().size(), report.getByProduct().size());
+            return report;
+        } catch (DataIntegrityViolationException e) {
+            // Başka bir istek / düğüm aynı ayı bizden önce kaydetti: onunkini kullan (içerik aynı)
+            MonthlyReportResponse winner = loadStored(key);
+            return winner != null ? winner : report;
+        }
+    }
+
+    private MonthlyReportResponse loadStored(String month) {
+        ReportMonth header = reportMonthRepository.findById(month).orElse(null);
+        if (header == null) {
+            return null;
+        }
+        List<ReportLine> byShop = new ArrayList<>();
+        List<ReportLine> byProduct = new ArrayList<>();
+        List<ReportLine> byDay = new ArrayList<>();
+        for (ReportRow row : reportRowRepository.findAllByMonthOrderById(month)) {
+            ReportLine line = new ReportLine(row.getDimensionKey(), row.getLabel(),
+                    row.getRevenue(), row.getTrays(), row.getOrderCount());
+            switch (row.getDimension()) {
+                case SHOP -> byShop.add(line);
+                case PRODUCT -> byProduct.add(line);
+                case DAY -> byDay.add(line);
+            }
+        }
+        return new MonthlyReportResponse(month, true, header.getGeneratedAt(),
+                totalOf(month, byDay), byShop, byProduct, byDay);
+    }
+
+    // Önce başlık: aynı ayı ikinci kez yazmaya çalışan transaction burada (birincil anahtar) düşer.
+    // ReportMonth.isNew() hep true olduğu için saveAndFlush merge değil persist + INSERT'tir (bkz. ReportMonth)
+    private void store(MonthlyReportResponse report) {
+        reportMonthRepository.saveAndFlush(new ReportMonth(report.getMonth(), report.getGeneratedAt()));
+
+        List<ReportRow> rows = new ArrayList<>();
+        addRows(rows, report.getMonth(), ReportDimension.SHOP, report.getByShop());
+        addRows(rows, report.getMonth(), ReportDimension.PRODUCT, report.getByProduct());
+        addRows(rows, report.getMonth(), ReportDimension.DAY, report.getByDay());
+        reportRowRepository.saveAll(rows);
+    }
+
+    private void addRows(List<ReportRow> rows, String month, ReportDimension dimension, List<ReportLine> lines) {
+        for (ReportLine line : lines) {
+            ReportRow row = new ReportRow();
+            row.setMonth(month);
+            row.setDimension(dimension);
+            row.setDimensionKey(line.getKey());
+            row.setLabel(line.getLabel());
+            row.setRevenue(line.getRevenue());
+            row.setTrays(line.getTrays());
+            row.setOrderCount(line.getOrders());
+            rows.add(row);
+        }
+    }
+
+    // --- HESAPLAMA ---
+
+    private MonthlyReportResponse compute(YearMonth month, boolean closed, LocalDateTime generatedAt) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        OrderStatus cancelled = OrderStatus.CANCELLED;
+
+        List<ReportLine> byShop = reportQueryRepository.revenueByShop(from, to, cancelled);
+        List<ReportLine> byProduct = reportQueryRepository.revenueByProduct(from, to, cancelled);
+        List<ReportLine> byDay = reportQueryRepository.revenueByDay(from, to, cancelled);
+
+        String key = month.toString();
+        return new MonthlyReportResponse(key, closed, generatedAt, totalOf(key, byDay), byShop, byProduct, byDay);
+    }
+
+    // Her sipariş tek bir güne ait: ay toplamı günlerin toplamıdır (ayrı sorgu gerekmez)
+    private ReportLine totalOf(String month, List<ReportLine> byDay) {
+        double revenue = 0;
+        long trays = 0;
+        long orders = 0;
+        for (ReportLine day : byDay) {
+            revenue += day.getRevenue();
+            trays += day.getTrays();
+            orders += day.getOrders();
+        }
+        return new ReportLine(month, month, revenue, trays, orders);
+    }
+}
@@ -0,0 +1,42 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.ShopResponse;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.Role;
+import com.boreksan.repository.UserRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class ShopService {
+
+    private final UserRepository userRepository;
+    private final Clock clock;
+
+    public ShopService(UserRepository userRepository, Clock clock) {
+        this.userRepository = userRepository;
+        this.clock = clock;
+    }
+
+    // Dükkan rehberi (Admin "Dükkanlar" sekmesi)
+    // Sonuç kısa süreli cache'lenir (bkz. ehcache.xml "shopDirectory"); anlık doğruluk gerekmez.
+    // Anahtar da sorgu gibi Locale.ROOT ile küçültülür: Türkçe JVM'de "I" -> "ı" olup ayrı girdi açmasın
+    @Cacheable(cacheNames = "shopDirectory",
+            key = "#query == null ? '' : #query.trim().toLowerCase(T(java.util.Locale).ROOT)")
+    public List<ShopResponse> getShops(String query) {
+        String prefix = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        // LIKE özel karakterlerini kaçır ki "%" yazan herkesi listelemesin
+        prefix = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+
+        return userRepository.findShopDirectory(
+                Role.CUSTOMER,
+                prefix + "%",
+                LocalDateTime.now(clock).minusDays(30),
+                OrderStatus.CANCELLED);
+    }
+}
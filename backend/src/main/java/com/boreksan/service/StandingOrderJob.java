@@ -0,0 +1,250 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.StandingOrderRunResponse;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.enums.AdjustmentReason;
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Sabit sipariş şablonlarını kesim saatinde gerçek siparişe çevirir.
+// Yüzlerce dükkanın 21:55'te tek tek POST /api/orders atması yerine hepsi tek transaction'da,
+// JPA'ya hiç girmeden JDBC batch INSERT ile yazılır: bir sorgu şablonları okur, iki batch siparişleri ve kalemleri ekler.
+// Aynı gün için tekrar çalıştırmak güvenlidir: o gün herhangi bir siparişi olan dükkan atlanır
+// (ilk çalıştırmanın ürettikleri dahil), çalıştırmalar da standing_order_runs satırının kilidinde sıraya girer.
+@Component
+public class StandingOrderJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderJob.class);
+
+    // Order / OrderItem ID'leri Hibernate'in pooled sequence'larından: sequence adı ve blok boyu (increment)
+    // açılışta Hibernate'in kendi generator'ından okunur, entity'deki allocationSize değişirse burası da uyar.
+    private record IdSequence(String name, int blockSize) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final ProductionService productionService;
+    private final OrderOutbox orderOutbox;
+    private final PricingService pricingService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final LocalTime runAt;
+    private final IdSequence orderIdSequence;
+    private final IdSequence itemIdSequence;
+
+    public StandingOrderJob(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            EntityManagerFactory entityManagerFactory,
+                            OrderMetrics orderMetrics, ProductionService productionService,
+                            OrderOutbox orderOutbox, PricingService pricingService, Clock clock,
+                            @Value("${standing-orders.enabled:true}") boolean enabled,
+                            @Value("${standing-orders.run-at:22:01}") String runAt) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderMetrics = orderMetrics;
+        this.productionService = productionService;
+        this.orderOutbox = orderOutbox;
+        this.pricingService = pricingService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.runAt = LocalTime.parse(runAt);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.orderIdSequence = idSequence(sessionFactory, Order.class);
+        this.itemIdSequence = idSequence(sessionFactory, OrderItem.class);
+    }
+
+    // Aynı blok kuralı sadece pooled optimizer'lı sequence için geçerli: başka bir generator'a geçilirse açılış durur
+    private static IdSequence idSequence(SessionFactoryImplementor sessionFactory, Class<?> entity) {
+        Generator generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+        if (!(generator instanceof SequenceStyleGenerator sequence) || !(sequence.getOptimizer() instanceof PooledOptimizer)) {
+            throw new IllegalStateException(entity.getSimpleName()
+                    + " ID'si pooled optimizer'lı bir sequence'tan gelmiyor; StandingOrderJob ID bloklarını ayıramaz");
+        }
+        return new IdSequence(sequence.getDatabaseStructure().getPhysicalName().render(),
+                sequence.getDatabaseStructure().getIncrementSize());
+    }
+
+    // Şablon kalemi + sipariş anına kopyalanacak dükkan / ürün bilgileri (sorgunun bir satırı)
+    private record TemplateLine(long standingOrderId, long userId, String username, String shopName,
+                                String address, String phone, long productId, String productName,
+                                double basePrice, int quantity) {
+    }
+
+    // Zamanlayıcı uygulama saatini (Clock) kullanır: app.clock.start-at ile kaydırılmış test saatinde de doğru gün/saat.
+    // Kesimden sonra açılan (veya kesim anında kapalı olan) düğüm aynı gün içinde eksik çalıştırmayı tamamlar.
+    @Scheduled(initialDelayString = "${standing-orders.check-interval-ms:30000}",
+               fixedDelayString = "${standing-orders.check-interval-ms:30000}")
+    public void runIfDue() {
+        if (!enabled) return;
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (now.toLocalTime().isBefore(runAt) || isCompleted(now.toLocalDate())) {
+            return;
+        }
+        try {
+            run();
+        } catch (RuntimeException e) {
+            // Transaction geri alındı, satır tamamlanmadı: bir sonraki kontrolde tekrar denenir
+            log.error("standing_orders_failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isCompleted(LocalDate day) {
+        List<Timestamp> completed = jdbcTemplate.queryForList(
+                "select completed_at from standing_order_runs where run_date = ?", Timestamp.class, day);
+        return !completed.isEmpty() && completed.get(0) != null;
+    }
+
+    // Bugünün şablonlarını siparişe çevir (zamanlayıcı veya admin elle tetikler)
+    public StandingOrderRunResponse run() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate day = now.toLocalDate();
+
+        StandingOrderRunResponse result = transactionTemplate.execute(status -> materialize(day, now));
+
+        orderMetrics.standingOrdersCreated(result.getCreatedOrders(), result.getTrays());
+        log.info("standing_orders_run date={} created={} trays={} skipped={}",
+                day, result.getCreatedOrders(), result.getTrays(), result.getSkippedShops());
+        return result;
+    }
+
+    private StandingOrderRunResponse materialize(LocalDate day, LocalDateTime now) {
+        // 1. Günün satırı (yoksa oluştur) ve kilidi: aynı anda çalışan ikinci çalıştırma burada bekler,
+        //    ilki commit olduktan sonra devam ettiğinde o siparişleri görür ve dükkanları atlar
+        jdbcTemplate.update("insert into standing_order_runs (run_date) values (?) on conflict do nothing", day);
+        jdbcTemplate.queryForList("select run_date from standing_order_runs where run_date = ? for update", day);
+        // Üretim günü kapandıysa (geç kalmış çalıştırma) üretilen kalemler partiye düzeltme olarak eklenir
+        boolean productionClosed = productionService.lockForChange(day);
+
+        // 2. Bugün çalışan aktif şablonlar, tek sorguda. "ordered": dükkanın bugün zaten siparişi var.
+        //    İptal edilmiş sipariş de sayılır: admin dükkanı gün içinde sıfıra indirdiyse şablon geri eklemesin.
+        Map<Long, List<TemplateLine>> templates = new LinkedHashMap<>();
+        Set<Long> skipped = new HashSet<>();
+        jdbcTemplate.query("""
+                select so.id, u.id, u.username, u.shop_name, u.address, u.phone,
+                       p.id, p.name, p.price_tray, soi.quantity,
+                       case when exists (select 1 from orders o
+                                         where o.user_id = so.user_id and o.created_at >= ? and o.created_at < ?)
+                            then 1 else 0 end as ordered
+                from standing_orders so
+                join standing_order_weekdays w on w.standing_order_id = so.id and w.weekday = ?
+                join users u on u.id = so.user_id
+                join standing_order_items soi on soi.standing_order_id = so.id
+                join products p on p.id = soi.product_id
+                where so.active = true
+                order by so.id, soi.id
+                """, rs -> {
+            long standingOrderId = rs.getLong(1);
+            if (rs.getInt("ordered") == 1) {
+                skipped.add(standingOrderId);
+                return;
+            }
+            templates.computeIfAbsent(standingOrderId, id -> new ArrayList<>()).add(new TemplateLine(
+                    standingOrderId, rs.getLong(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                    rs.getLong(7), rs.getString(8), rs.getDouble(9), rs.getInt(10)));
+        }, day.atStartOfDay(), day.plusDays(1).atStartOfDay(), day.getDayOfWeek().name());
+
+        // 3. Siparişler ve kalemler: ID'ler sequence'dan blok halinde, INSERT'ler tek batch
+        int itemCount = templates.values().stream().mapToInt(List::size).sum();
+        List<Long> orderIds = allocateIds(orderIdSequence, templates.size());
+        List<Long> itemIds = allocateIds(itemIdSequence, itemCount);
+
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<Object[]> orderRows = new ArrayList<>(templates.size());
+        List<Object[]> itemRows = new ArrayList<>(itemCount);
+        List<OrderEvent> events = new ArrayList<>(templates.size());
+        PricingTable prices = pricingService.table(); // Dükkanın fiyat listesi, createOrder ile aynı kural
+        int trays = 0;
+        int orderIndex = 0;
+        int itemIndex = 0;
+        for (List<TemplateLine> lines : templates.values()) {
+            long orderId = orderIds.get(orderIndex++);
+            double total = 0;
+            for (TemplateLine line : lines) {
+                double unitPrice = prices.unitPrice(line.userId(), line.productId(), line.quantity(), line.basePrice());
+                double subTotal = unitPrice * line.quantity();
+                itemRows.add(new Object[]{itemIds.get(itemIndex++), orderId, line.productId(), line.productName(),
+                        line.quantity(), unitPrice, subTotal});
+                total += subTotal;
+                trays += line.quantity();
+                if (productionClosed) {
+                    productionService.recordAdjustment(day, orderId, line.userId(), line.shopName(),
+                            line.productId(), line.productName(), line.quantity(), AdjustmentReason.STANDING_ORDER);
+                }
+            }
+            TemplateLine shop = lines.get(0);
+            orderRows.add(new Object[]{orderId, shop.userId(), shop.username(), shop.shopName(), shop.address(),
+                    shop.phone(), total, OrderStatus.WAITING.name(), createdAt, createdAt});
+            events.add(new OrderEvent(null, OrderEventType.CREATED, orderId, shop.userId(), shop.shopName(),
+                    OrderStatus.WAITING, null, total, now, 0));
+        }
+
+        if (!orderRows.isEmpty()) {
+            // change_seq yazılmaz (NULL): numarayı commit'te OrderChangeSequencer verir (outbox append'i kaydeder)
+            jdbcTemplate.batchUpdate("""
+                    insert into orders (id, user_id, customer_name, shop_name, address, phone,
+                                        total_price, status, created_at, updated_at)
+                    values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, orderRows);
+            jdbcTemplate.batchUpdate("""
+                    insert into order_items (id, order_id, product_id, product_name, quantity, unit_price, sub_total)
+                    values (?, ?, ?, ?, ?, ?, ?)
+                    """, itemRows);
+            orderOutbox.append(events);
+        }
+
+        // 4. Çalıştırmayı tamamlandı işaretle (tekrar çalıştırmalar toplamı artırır)
+        jdbcTemplate.update("""
+                update standing_order_runs
+                set completed_at = ?, created_orders = coalesce(created_orders, 0) + ?, skipped_shops = ?
+                where run_date = ?
+                """, createdAt, orderRows.size(), skipped.size(), day);
+
+        return new StandingOrderRunResponse(day, orderRows.size(), trays, skipped.size(), now);
+    }
+
+    // Hibernate'in pooled optimizer'ı ile aynı kural: sequence'tan gelen her v değeri (v-increment .. v] bloğunun sahibidir.
+    // Blok başına bir nextval yeter; hepsi tek sorguda alınır.
+    private List<Long> allocateIds(IdSequence sequence, int count) {
+        int blockSize = sequence.blockSize();
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + blockSize - 1) / blockSize;
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "select nextval('" + sequence.name() + "') from generate_series(1, ?)", Long.class, blocks);
+            for (long high : highs) {
+                // Boş bir sequence'ın ilk değeri (1) tek ID'lik blok verir; eksik kalırsa döngü bir tur daha döner
+                for (long id = Math.max(1, high - blockSize + 1); id <= high && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,137 @@
+package com.boreksan.service;
+
+import com.boreksan.dto.OrderItemRequest;
+import com.boreksan.dto.StandingOrderItemResponse;
+import com.boreksan.dto.StandingOrderRequest;
+import com.boreksan.dto.StandingOrderResponse;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.StandingOrder;
+import com.boreksan.entity.StandingOrderItem;
+import com.boreksan.entity.User;
+import com.boreksan.entity.enums.Role;
+import com.boreksan.exception.ProductNotFoundException;
+import com.boreksan.exception.ShopNotFoundException;
+import com.boreksan.repository.ProductRepository;
+import com.boreksan.repository.StandingOrderRepository;
+import com.boreksan.repository.UserRepository;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Sabit sipariş şablonları: dükkan "her gün şunlar gelsin" der, StandingOrderJob kesim saatinde
+// bunları gerçek siparişe çevirir. Dükkan kendi şablonunu, admin herkesinkini (shopName ile) yönetir.
+@Service
+public class StandingOrderService {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final Clock clock;
+
+    public StandingOrderService(StandingOrderRepository standingOrderRepository, ProductRepository productRepository,
+                                UserRepository userRepository, Clock clock) {
+        this.standingOrderRepository = standingOrderRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.clock = clock;
+    }
+
+    // 1. ŞABLONLARI LİSTELE (Admin hepsini, dükkan sadece kendisininkini)
+    @Transactional(readOnly = true)
+    public List<StandingOrderResponse> getStandingOrders() {
+        User user = currentUser();
+        if (user.getRole() == Role.ADMIN) {
+            return standingOrderRepository.findAllByOrderById().stream().map(this::mapToResponse).toList();
+        }
+        return standingOrderRepository.findByUserId(user.getId()).map(this::mapToResponse).stream().toList();
+    }
+
+    // 2. ŞABLONU KAYDET (yoksa oluştur, varsa kalemleri ve günleri tamamen değiştir)
+    @Transactional
+    public StandingOrderResponse saveStandingOrder(StandingOrderRequest request) {
+        User target = targetUser(request.getShopName());
+
+        // Aynı ürün iki kez gönderildiyse miktarlar toplanır
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        StandingOrder standingOrder = standingOrderRepository.findByUserId(target.getId()).orElseGet(() -> {
+            StandingOrder created = new StandingOrder();
+            created.setUser(target);
+            return created;
+        });
+        standingOrder.setActive(request.getActive() == null || request.getActive());
+        standingOrder.setWeekdays(EnumSet.copyOf(request.getWeekdays()));
+        standingOrder.setUpdatedAt(LocalDateTime.now(clock));
+
+        // orphanRemoval: listeden çıkan kalemler silinir
+        standingOrder.getItems().clear();
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ProductNotFoundException("Ürün bulunamadı ID: " + productId);
+            }
+            StandingOrderItem item = new StandingOrderItem();
+            item.setStandingOrder(standingOrder);
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            standingOrder.getItems().add(item);
+        });
+
+        return mapToResponse(standingOrderRepository.save(standingOrder));
+    }
+
+    // 3. ŞABLONU SİL (bugün zaten üretilmiş sipariş etkilenmez)
+    @Transactional
+    public void deleteStandingOrder(String shopName) {
+        User target = targetUser(shopName);
+        standingOrderRepository.findByUserId(target.getId()).ifPresent(standingOrderRepository::delete);
+    }
+
+    // --- YARDIMCILAR ---
+
+    private User currentUser() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new ShopNotFoundException("Kullanıcı bulunamadı"));
+    }
+
+    // Admin shopName verirse o dükkan, aksi halde giriş yapan kullanıcı (OrderService.createOrder ile aynı kural)
+    private User targetUser(String shopName) {
+        User loggedInUser = currentUser();
+        if (loggedInUser.getRole() != Role.ADMIN || shopName == null || shopName.isEmpty()) {
+            return loggedInUser;
+        }
+        return userRepository.findByShopName(shopName)
+                .or(() -> userRepository.findByUsername(shopName))
+                .orElseThrow(() -> new ShopNotFoundException("Belirtilen dükkan/kullanıcı bulunamadı: " + shopName));
+    }
+
+    private StandingOrderResponse mapToResponse(StandingOrder standingOrder) {
+        StandingOrderResponse response = new StandingOrderResponse();
+        response.setId(standingOrder.getId());
+        response.setCustomerName(standingOrder.getUser().getUsername());
+        response.setShopName(standingOrder.getUser().getShopName());
+        response.setActive(standingOrder.isActive());
+        response.setWeekdays(standingOrder.getWeekdays().stream().sorted().toList());
+        response.setItems(standingOrder.getItems().stream()
+                .map(item -> new StandingOrderItemResponse(
+                        item.getProduct().getId(), item.getProduct().getName(), item.getQuantity()))
+                .toList());
+        response.setUpdatedAt(standingOrder.getUpdatedAt());
+        return response;
+    }
+}
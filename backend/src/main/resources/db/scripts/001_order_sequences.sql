@@ -0,0 +1,5 @@
+-- orders / order_items ID üretimi IDENTITY'den SEQUENCE'a geçti.
+-- Hibernate sequence'ları 1'den başlatır; mevcut satırlarla çakışmaması için en büyük ID'nin ilerisine al.
+-- Her açılışta çalışır, sequence'ı asla geri almaz.
+SELECT setval('orders_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders) + 50, (SELECT last_value FROM orders_seq)));
+SELECT setval('order_items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM order_items) + 50, (SELECT last_value FROM order_items_seq)));
@@ -0,0 +1,4 @@
+-- Siparişlere dükkan, kalemlere ürün adı kopyası eklendi. Eski kayıtları bir kereliğine doldur.
+-- Sadece boş olan satırlara dokunur; her açılışta tekrar çalışması zararsızdır.
+UPDATE orders o SET customer_name = u.username, shop_name = u.shop_name, address = u.address, phone = u.phone FROM users u WHERE o.user_id = u.id AND o.customer_name IS NULL;
+UPDATE order_items oi SET product_name = p.name FROM products p WHERE oi.product_id = p.id AND oi.product_name IS NULL;
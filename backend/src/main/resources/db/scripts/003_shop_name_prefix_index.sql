@@ -0,0 +1,3 @@
+-- Dükkan rehberindeki prefix araması (lower(shop_name) LIKE 'abc%') için index.
+-- text_pattern_ops: veritabanı collation'ı "C" değilse LIKE prefix'i ancak bununla index kullanabilir.
+CREATE INDEX IF NOT EXISTS idx_users_shop_name_prefix ON users (lower(shop_name) text_pattern_ops);
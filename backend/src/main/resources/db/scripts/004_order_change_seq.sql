@@ -0,0 +1,10 @@
+-- GET /api/orders/changes için değişiklik sırası. Numara commit anında verilir (OrderChangeSequencer):
+-- yazmalar change_seq'i NULL bırakır, commit'ten önce order_change_lock satırı kilitlenip NULL satırlar
+-- numaralanır; böylece numaralar commit sırasıyla görünür. Kolonun DEFAULT'u olmamalı (eski kurulumlardan kaldırılır).
+-- PostgreSQL ve H2 (PostgreSQL modu) ile uyumlu, idempotent.
+CREATE SEQUENCE IF NOT EXISTS order_change_seq;
+ALTER TABLE orders ALTER COLUMN change_seq DROP DEFAULT;
+CREATE TABLE IF NOT EXISTS order_change_lock (id INT PRIMARY KEY, locked_at TIMESTAMP);
+INSERT INTO order_change_lock (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM order_change_lock WHERE id = 1);
+UPDATE orders SET change_seq = nextval('order_change_seq'), updated_at = coalesce(updated_at, created_at) WHERE change_seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_orders_change_seq ON orders (change_seq);
@@ -0,0 +1,2 @@
+-- Tarih aralığıyla sipariş sorguları (aylık raporlar, günlük güncelleme, toplu onay) için index.
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
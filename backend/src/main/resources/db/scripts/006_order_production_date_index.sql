@@ -0,0 +1,2 @@
+-- Üretim partisi toplamları (GET /api/production, günün kapanışı) o partiye işaretlenmiş siparişleri okur.
+CREATE INDEX IF NOT EXISTS idx_orders_production_date ON orders (production_date);
@@ -0,0 +1,5 @@
+-- OutboxRelay sadece bekleyen olayları tarar (next_attempt_at dolu); teslim edilen / vazgeçilen olaylar
+-- retention süresince tabloda kalır ama index'e girmez. Eski tam index (entity'deki @Index) kaldırılır.
+-- Kısmi index PostgreSQL'e özgü: H2'de çalıştırılmaz.
+CREATE INDEX IF NOT EXISTS idx_order_outbox_pending ON order_outbox (next_attempt_at, id) WHERE next_attempt_at IS NOT NULL;
+DROP INDEX IF EXISTS idx_order_outbox_next_attempt;
@@ -0,0 +1,7 @@
+-- Ürün isim anahtarı (Product.nameKey: trim + Locale.ROOT küçük harf, Java'da hesaplanır) için unique index:
+-- aynı isimli ikinci ürün (eşzamanlı toplu içe aktarma dahil) sessizce yazılmaz, 409 döner.
+-- Eski satırlar veritabanının lower()'ıyla doldurulur; Türkçe İ / I içerenler ilk güncellemede Java anahtarına geçer.
+-- Mevcut veride aynı isimli ürünler varsa index oluşmaz: önce birleştirilmeli.
+-- PostgreSQL ve H2 (PostgreSQL modu) ile uyumlu, idempotent.
+UPDATE products SET name_key = lower(trim(name)) WHERE name_key IS NULL AND name IS NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_products_name_key ON products (name_key);
@@ -0,0 +1,23 @@
+package com.boreksan.backend;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Giriş / refresh token üretimi
+class AuthTest extends IntegrationTestSupport {
+
+    @Test
+    void backToBackLoginsGetDistinctRefreshTokens() throws Exception {
+        // Aynı saniyede iki giriş: token'lar jti ile ayrışır, refresh_tokens'ın unique sütununa takılmaz
+        seed(DATASETS.get(0));
+
+        String first = mockMvc.perform(loginRequest()).andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("refreshToken").getValue();
+        String second = mockMvc.perform(loginRequest()).andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("refreshToken").getValue();
+
+        assertThat(second).isNotEqualTo(first);
+    }
+}
@@ -0,0 +1,96 @@
+package com.boreksan.backend;
+
+import com.boreksan.dto.ProductSuggestion;
+import com.boreksan.entity.enums.OrderEventType;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.service.CacheInvalidationBus;
+import com.boreksan.service.DemandForecastService;
+import com.boreksan.service.OrderEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.contains;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Hafta günü bazlı talep tahmini: öneri miktarları ve düğümler arası tazeleme
+class DemandForecastTest extends IntegrationTestSupport {
+
+    @Autowired private DemandForecastService demandForecastService;
+
+    @Test
+    void suggestionsFollowSameWeekdayHistory() throws Exception {
+        // Son üç haftanın aynı günü, her sipariş 3 kalem (ürün o, o+1, o+2): 3 hafta önce 2'şer, 2 hafta önce 4'er,
+        // geçen hafta 6'şar tepsi. alpha=0.3 ile: Börek 1 -> 2, 1.4, 0.98; Börek 2 -> 2, 2.6, 1.82;
+        // Börek 3 -> 2, 2.6, 3.62; Börek 4 -> 4, 4.6; Börek 5 -> 6 (ürünün ilk günü ortalamanın başlangıcı)
+        Seeded seeded = seedWeekdayHistory();
+        demandForecastService.rebuild();
+
+        mockMvc.perform(get("/api/orders/suggestions").header("Authorization", "Bearer " + seeded.shopToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].productName").value(contains("Börek 5", "Börek 4", "Börek 3", "Börek 2", "Börek 1")))
+                .andExpect(jsonPath("$[*].suggestedQuantity").value(contains(6, 5, 4, 2, 1)))
+                .andExpect(jsonPath("$[*].observations").value(contains(1, 2, 3, 3, 3)));
+    }
+
+    @Test
+    void forecastRefreshReachesOtherNodes() {
+        // Olayı alan düğüm (dükkan:gün) yayar; diğer düğüm mesajla aynı günün toplamını kendisi okur
+        Seeded seeded = seedWeekdayHistory();
+        Long lastWeek = seeded.orderIds().get(2);
+        CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+        DemandForecastService receiver = new DemandForecastService(dataSource, userRepository, productRepository,
+                bus, clock, true, 0.3, 26, 2, "03:30");
+        ArgumentCaptor<Consumer<CacheInvalidationBus.Message>> subscriber = ArgumentCaptor.captor();
+        verify(bus).subscribe(eq("forecast"), subscriber.capture(), any());
+        receiver.rebuild();
+
+        // Geçen haftanın siparişi düzeltildi; olayı bu düğüm değil, diğeri aldı
+        jdbcTemplate.update("update order_items set quantity = 10 where order_id = ?", lastWeek);
+        DemandForecastService sender = new DemandForecastService(dataSource, userRepository, productRepository,
+                bus, clock, true, 0.3, 26, 2, "03:30");
+        sender.handle(new OrderEvent(null, OrderEventType.ITEMS_CHANGED, lastWeek, null, null, OrderStatus.WAITING,
+                null, null, LocalDateTime.now(clock), 1));
+        ArgumentCaptor<Object> key = ArgumentCaptor.forClass(Object.class);
+        verify(bus).publish(eq("forecast"), key.capture());
+
+        subscriber.getValue().accept(new CacheInvalidationBus.Message("forecast", key.getValue().toString()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(SHOP, null, List.of()));
+        try {
+            assertThat(receiver.getSuggestions(null, null))
+                    .extracting(ProductSuggestion::getProductName, ProductSuggestion::getSuggestedQuantity)
+                    .startsWith(tuple("Börek 5", 10), tuple("Börek 4", 6));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Dükkanın son üç haftasının aynı günü: 3 hafta önce 2'şer, 2 hafta önce 4'er, geçen hafta 6'şar tepsi
+    // (orta veri setinin ilk üç siparişi; sipariş o, o..o+2 ürünlerini içerir)
+    private Seeded seedWeekdayHistory() {
+        Seeded seeded = seed(DATASETS.get(1));
+        List<Long> history = seeded.orderIds().subList(0, 3);
+        jdbcTemplate.update("delete from order_items where order_id not in (?, ?, ?)", history.toArray());
+        jdbcTemplate.update("delete from orders where id not in (?, ?, ?)", history.toArray());
+        for (int week = 1; week <= 3; week++) {
+            Long orderId = history.get(3 - week);
+            jdbcTemplate.update("update orders set created_at = dateadd(week, ?, created_at) where id = ?", -week, orderId);
+            jdbcTemplate.update("update order_items set quantity = ? where order_id = ?", 8 - 2 * week, orderId);
+        }
+        return seeded;
+    }
+}
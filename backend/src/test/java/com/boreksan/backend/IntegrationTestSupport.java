@@ -0,0 +1,220 @@
+package com.boreksan.backend;
+
+import com.boreksan.dto.PriceListItemRequest;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.Product;
+import com.boreksan.entity.StandingOrder;
+import com.boreksan.entity.StandingOrderItem;
+import com.boreksan.entity.User;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.Role;
+import com.boreksan.repository.OrderRepository;
+import com.boreksan.repository.ProductRepository;
+import com.boreksan.repository.StandingOrderRepository;
+import com.boreksan.repository.UserRepository;
+import com.boreksan.service.JwtService;
+import com.boreksan.service.PricingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// H2 üzerinde tam uygulama ile çalışan test sınıflarının ortak ayarları ve veri hazırlığı.
+// Hepsi aynı ayarları kullandığı için Spring context'i bir kez kurulur ve paylaşılır.
+@SpringBootTest(properties = {
+        "ACCESS_SECRET_KEY=gN9ajRcLnHWzuGaqr/3p1T/5rKYjBR0SI909cSYFlJo=",
+        "REFRESH_SECRET_KEY=DZTvuoADHO5bad/dRNxwUmyu1ORSFSBW1qcQuR3e6/4=",
+        "management.server.port=-1",
+        // Saat 22:00 sınırına takılmasın
+        "app.clock.start-at=12:00",
+        // Arka plandaki outbox relay'inin sorguları ölçüme karışmasın
+        "outbox.enabled=false",
+        // Açılıştaki tahmin kurulumu da (testler kendisi çağırır)
+        "forecast.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+abstract class IntegrationTestSupport {
+
+    protected record Dataset(String name, int products, int orders, int itemsPerOrder) {
+    }
+
+    protected static final List<Dataset> DATASETS = List.of(
+            new Dataset("küçük", 2, 1, 1),
+            new Dataset("orta", 10, 10, 3),
+            new Dataset("büyük", 30, 60, 8));
+
+    protected static final String SHOP = "lale";
+    protected static final String PASSWORD = "Passw0rd!";
+
+    // Bir veri seti yüklendikten sonra isteklerin ihtiyaç duyduğu bilgiler
+    protected record Seeded(Dataset dataset, String adminToken, String shopToken, List<Long> productIds, List<Long> orderIds) {
+    }
+
+    @Autowired protected MockMvc mockMvc;
+    @Autowired protected DataSource dataSource;
+    @Autowired protected JdbcTemplate jdbcTemplate;
+    @Autowired protected EntityManagerFactory entityManagerFactory;
+    @Autowired protected CacheManager cacheManager;
+    @Autowired protected UserRepository userRepository;
+    @Autowired protected ProductRepository productRepository;
+    @Autowired protected OrderRepository orderRepository;
+    @Autowired protected StandingOrderRepository standingOrderRepository;
+    @Autowired protected PricingService pricingService;
+    @Autowired protected PasswordEncoder passwordEncoder;
+    @Autowired protected JwtService jwtService;
+    @Autowired protected Clock clock;
+
+    private String encodedPassword;
+
+    @BeforeEach
+    void encodePassword() {
+        if (encodedPassword == null) {
+            encodedPassword = passwordEncoder.encode(PASSWORD);
+        }
+    }
+
+    // Tüm tabloları boşaltır; admin, dükkan (SHOP), ürünler ve dükkanın bugünkü siparişlerini yazar
+    protected Seeded seed(Dataset dataset) {
+        jdbcTemplate.update("delete from report_rows");
+        jdbcTemplate.update("delete from report_months");
+        jdbcTemplate.update("delete from price_list_items");
+        jdbcTemplate.update("delete from price_list_shops");
+        jdbcTemplate.update("delete from price_lists");
+        jdbcTemplate.update("delete from production_adjustments");
+        jdbcTemplate.update("delete from production_batch_lines");
+        jdbcTemplate.update("delete from production_batches");
+        jdbcTemplate.update("delete from standing_order_runs");
+        jdbcTemplate.update("delete from standing_order_items");
+        jdbcTemplate.update("delete from standing_order_weekdays");
+        jdbcTemplate.update("delete from standing_orders");
+        jdbcTemplate.update("delete from order_items");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from refresh_tokens");
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("delete from products");
+        pricingService.recompile();
+        evictCaches();
+
+        User admin = userRepository.save(user("admin", Role.ADMIN, "Merkez"));
+        User shop = userRepository.save(user(SHOP, Role.CUSTOMER, "Lale Pastanesi"));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= dataset.products(); i++) {
+            products.add(product("Börek " + i, i));
+        }
+        products = productRepository.saveAll(products);
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Order> orders = new ArrayList<>();
+        for (int o = 0; o < dataset.orders(); o++) {
+            Order order = new Order();
+            order.setUser(shop);
+            order.setCustomerName(shop.getUsername());
+            order.setShopName(shop.getShopName());
+            order.setStatus(OrderStatus.WAITING);
+            order.setCreatedAt(now.minusMinutes(o + 1));
+            List<OrderItem> items = new ArrayList<>();
+            double total = 0;
+            for (int i = 0; i < dataset.itemsPerOrder(); i++) {
+                Product product = products.get((o + i) % products.size());
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setProductName(product.getName());
+                item.setQuantity(3);
+                item.setUnitPrice(product.getPriceTray());
+                item.setSubTotal(3 * product.getPriceTray());
+                total += item.getSubTotal();
+                items.add(item);
+            }
+            order.setItems(items);
+            order.setTotalPrice(total);
+            orders.add(order);
+        }
+        orders = orderRepository.saveAll(orders);
+        // Outbox'tan geçmeyen test verisi: değişiklik sırasını OrderChangeSequencer'ın yaptığı gibi elle ver
+        jdbcTemplate.update("update orders set change_seq = nextval('order_change_seq') where change_seq is null");
+
+        return new Seeded(dataset,
+                jwtService.generateAccessToken(admin),
+                jwtService.generateAccessToken(shop),
+                products.stream().map(Product::getId).toList(),
+                orders.stream().map(Order::getId).toList());
+    }
+
+    // Veri seti büyüklüğünde (sipariş sayısı kadar) bugün siparişi olmayan dükkan ve her birine bir şablon
+    protected void seedStandingOrders(Seeded seeded) {
+        LocalDate today = LocalDate.now(clock);
+        for (int s = 0; s < seeded.dataset().orders(); s++) {
+            User shop = userRepository.save(user("sabit" + s, Role.CUSTOMER, "Sabit Pastane " + s));
+            StandingOrder standingOrder = new StandingOrder();
+            standingOrder.setUser(shop);
+            standingOrder.setWeekdays(EnumSet.of(today.getDayOfWeek()));
+            for (int i = 0; i < seeded.dataset().itemsPerOrder(); i++) {
+                StandingOrderItem item = new StandingOrderItem();
+                item.setStandingOrder(standingOrder);
+                item.setProduct(productRepository.getReferenceById(seeded.productIds().get(i % seeded.productIds().size())));
+                item.setQuantity(2);
+                standingOrder.getItems().add(item);
+            }
+            standingOrderRepository.save(standingOrder);
+        }
+    }
+
+    protected void evictCaches() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(org.hibernate.SessionFactory.class).getCache().evictQueryRegions();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    protected User user(String username, Role role, String shopName) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(encodedPassword);
+        user.setRole(role);
+        user.setShopName(shopName);
+        return user;
+    }
+
+    protected Product product(String name, int i) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPricePortion(40.0 + i);
+        product.setPriceTray(600.0 + i);
+        return product;
+    }
+
+    protected PriceListItemRequest priceListItem(Long productId, int minQuantity, double priceTray) {
+        PriceListItemRequest item = new PriceListItemRequest();
+        item.setProductId(productId);
+        item.setMinQuantity(minQuantity);
+        item.setPriceTray(priceTray);
+        return item;
+    }
+
+    protected RequestBuilder loginRequest() {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + SHOP + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+}
@@ -0,0 +1,80 @@
+package com.boreksan.backend;
+
+import com.boreksan.dto.MonthlyReportResponse;
+import com.boreksan.repository.ReportMonthRepository;
+import com.boreksan.repository.ReportQueryRepository;
+import com.boreksan.repository.ReportRowRepository;
+import com.boreksan.service.ReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+// Kapanmış ayın raporu bir kez hesaplanıp saklanır; yarışta tek kopya kalır
+class MonthlyReportTest extends IntegrationTestSupport {
+
+    @Autowired private ReportService reportService;
+    @Autowired private ReportQueryRepository reportQueryRepository;
+    @Autowired private ReportMonthRepository reportMonthRepository;
+    @Autowired private ReportRowRepository reportRowRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void closedMonthReportIsStoredOnce() throws Exception {
+        // Kapanmış ay: ilk istek hesaplayıp kaydeder, ikincisi kaydedilenden okur (satırlar iki kez yazılmaz)
+        Seeded seeded = seed(DATASETS.get(1));
+        YearMonth month = moveOrdersToClosedMonth();
+
+        MonthlyReportResponse first = reportService.getMonthlyReport(month);
+        evictCaches();
+        MonthlyReportResponse second = reportService.getMonthlyReport(month);
+
+        assertThat(first.isClosed()).isTrue();
+        assertThat(first.getTotal().getOrders()).isEqualTo(seeded.dataset().orders());
+        assertThat(first.getTotal().getTrays()).isEqualTo(3L * seeded.dataset().orders() * seeded.dataset().itemsPerOrder());
+        // generatedAt veritabanında mikro saniyeye yuvarlanır
+        assertThat(second).usingRecursiveComparison().ignoringFields("generatedAt").isEqualTo(first);
+        assertThat(storedRowCount(month)).isEqualTo(reportLineCount(first));
+    }
+
+    @Test
+    void closedMonthReportRaceKeepsOneCopy() throws Exception {
+        // Başka düğüm ayı, bu düğüm loadStored()'dan sonra ama store()'dan önce kaydetti:
+        // başlık INSERT'i birincil anahtarda düşmeli ve kaydedilen rapor dönmeli, report_rows ikilenmemeli
+        seed(DATASETS.get(1));
+        YearMonth month = moveOrdersToClosedMonth();
+        MonthlyReportResponse winner = reportService.getMonthlyReport(month);
+        evictCaches();
+
+        ReportMonthRepository lateMonths = mock(ReportMonthRepository.class, delegatesTo(reportMonthRepository));
+        doReturn(Optional.empty()).doAnswer(delegatesTo(reportMonthRepository)).when(lateMonths).findById(month.toString());
+        ReportService racing = new ReportService(reportQueryRepository, lateMonths, reportRowRepository,
+                transactionManager, cacheManager, clock, 2);
+
+        assertThat(racing.getMonthlyReport(month)).usingRecursiveComparison().ignoringFields("generatedAt").isEqualTo(winner);
+        assertThat(storedRowCount(month)).isEqualTo(reportLineCount(winner));
+    }
+
+    // Siparişler rapor grace süresi geçmiş bir aya taşınır
+    private YearMonth moveOrdersToClosedMonth() {
+        jdbcTemplate.update("update orders set created_at = dateadd(month, -3, created_at)");
+        return YearMonth.from(LocalDate.now(clock).minusMonths(3));
+    }
+
+    private long storedRowCount(YearMonth month) {
+        return jdbcTemplate.queryForObject("select count(*) from report_rows where report_month = ?",
+                Long.class, month.toString());
+    }
+
+    private long reportLineCount(MonthlyReportResponse report) {
+        return report.getByShop().size() + report.getByProduct().size() + report.getByDay().size();
+    }
+}
@@ -0,0 +1,123 @@
+package com.boreksan.backend;
+
+import com.boreksan.entity.Order;
+import com.boreksan.exception.ServiceBusyException;
+import com.boreksan.repository.OrderRepository;
+import com.boreksan.service.OrderIntakeQueue;
+import com.boreksan.service.OrderOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Grup commit kuyruğu: veritabanı yerine mock repository, transaction yöneticisi de mock (commit/rollback no-op).
+class OrderIntakeQueueTest {
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderOutbox orderOutbox = mock(OrderOutbox.class);
+    private final AtomicLong ids = new AtomicLong();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private OrderIntakeQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void failingOrderOnlyFailsItsOwnCaller() throws Exception {
+        // Gruptaki bozuk sipariş bütün toplu kaydı düşürür; tek tek denemede sadece kendisi hata alır
+        when(orderRepository.saveAll(anyList())).thenAnswer(call -> {
+            List<Order> orders = call.getArgument(0);
+            if (orders.stream().anyMatch(this::isBroken)) {
+                throw new DataIntegrityViolationException("bozuk sipariş");
+            }
+            return orders.stream().map(this::assignId).toList();
+        });
+        when(orderRepository.save(any(Order.class))).thenAnswer(call -> {
+            Order order = call.getArgument(0);
+            if (isBroken(order)) {
+                throw new DataIntegrityViolationException("bozuk sipariş");
+            }
+            return assignId(order);
+        });
+        // Üç sipariş de aynı gruba düşsün
+        start(3, 500, 5000);
+
+        List<Future<Order>> results = new ArrayList<>();
+        for (String name : List.of("lale", "BOZUK", "gul")) {
+            results.add(callers.submit(() -> queue.save(order(name))));
+        }
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, times(3)).save(any(Order.class));
+        verify(orderOutbox, never()).created(anyCollection());
+    }
+
+    @Test
+    void stuckWorkerReturnsServiceBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderRepository.saveAll(anyList())).thenAnswer(call -> {
+            release.await(10, TimeUnit.SECONDS);
+            List<Order> orders = call.getArgument(0);
+            return orders.stream().map(this::assignId).toList();
+        });
+        start(1, 1, 200);
+
+        try {
+            // İlki worker'ı kilitler (commit sırasında süresi dolar), ikincisi hâlâ kuyrukta beklerken süresi dolar
+            Future<Order> stuck = callers.submit(() -> queue.save(order("lale")));
+            Thread.sleep(50);
+            Future<Order> queued = callers.submit(() -> queue.save(order("gul")));
+
+            assertThatThrownBy(() -> stuck.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceBusyException.class);
+            assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceBusyException.class);
+        } finally {
+            release.countDown();
+        }
+        // Kuyruktan geri alınan sipariş hiç yazılmaz
+        verify(orderRepository, timeout(2000).times(1)).saveAll(anyList());
+    }
+
+    private void start(int batchSize, long maxWaitMillis, long resultTimeoutMillis) {
+        queue = new OrderIntakeQueue(orderRepository, orderOutbox, mock(PlatformTransactionManager.class),
+                true, batchSize, maxWaitMillis, 100, resultTimeoutMillis);
+        queue.start();
+    }
+
+    private Order order(String customerName) {
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        return order;
+    }
+
+    private boolean isBroken(Order order) {
+        return "BOZUK".equals(order.getCustomerName());
+    }
+
+    private Order assignId(Order order) {
+        order.setId(ids.incrementAndGet());
+        return order;
+    }
+}
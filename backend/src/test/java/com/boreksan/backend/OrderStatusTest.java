@@ -0,0 +1,60 @@
+package com.boreksan.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tekli / toplu durum güncellemesi: geçiş kuralları ve değişiklik akışının commit sırası
+class OrderStatusTest extends IntegrationTestSupport {
+
+    @Test
+    void updateOrderStatusRejectsInvalidTransition() throws Exception {
+        // Tek sipariş ucu da toplu uçla aynı kuralları kullanır: Teslim -> Bekliyor ne ileri akış ne tek adımlık düzeltme
+        Seeded seeded = seed(DATASETS.get(0));
+        Long orderId = seeded.orderIds().get(0);
+        jdbcTemplate.update("update orders set status = 'DELIVERED' where id = ?", orderId);
+
+        mockMvc.perform(put("/api/orders/" + orderId + "/status")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .param("newStatus", "WAITING"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/api/orders/" + orderId + "/status")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .param("newStatus", "ON_WAY"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void changesFeedContinuesAfterCommittedUpdates() throws Exception {
+        // Sıra numarası commit'te verilir: nextSince'ten devam eden istemci tekli ve toplu güncellemeyi commit sırasıyla görür
+        Seeded seeded = seed(DATASETS.get(1));
+        long since = jdbcTemplate.queryForObject("select max(change_seq) from orders", Long.class);
+        Long single = seeded.orderIds().get(0);
+
+        mockMvc.perform(put("/api/orders/" + single + "/status")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .param("newStatus", "PREPARING"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/orders/status")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromStatus\":\"WAITING\",\"toStatus\":\"PREPARING\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from orders where change_seq is null", Long.class)).isZero();
+        mockMvc.perform(get("/api/orders/changes")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders.length()").value(seeded.orderIds().size()))
+                .andExpect(jsonPath("$.orders[0].id").value(single))
+                .andExpect(jsonPath("$.orders[*].status", everyItem(is("PREPARING"))))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+}
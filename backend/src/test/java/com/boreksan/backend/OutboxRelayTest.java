@@ -0,0 +1,65 @@
+package com.boreksan.backend;
+
+import com.boreksan.service.OrderEvent;
+import com.boreksan.service.OrderEventHandler;
+import com.boreksan.service.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Outbox relay'i: kira (locked_until) commit edildikten sonra handler'lar transaction dışında çalışır
+class OutboxRelayTest extends IntegrationTestSupport {
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void outboxRelayReleasesLocksBeforeDispatch() throws Exception {
+        // Sahiplenme (kira) commit edildikten sonra handler çalışır: handler sırasında kira başka bağlantıdan görünür,
+        // ikinci bir relay olayı tekrar almaz ve kilit beklemez
+        Seeded seeded = seed(DATASETS.get(0));
+        jdbcTemplate.update("delete from order_outbox");
+        mockMvc.perform(put("/api/orders/" + seeded.orderIds().get(0) + "/status")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .param("newStatus", "PREPARING"))
+                .andExpect(status().isOk());
+
+        List<Integer> claimedByOther = new ArrayList<>();
+        List<LocalDateTime> leases = new ArrayList<>();
+        OutboxRelay other = relay(List.of());
+        OutboxRelay relay = relay(List.of(new OrderEventHandler() {
+            @Override
+            public boolean supports(OrderEvent event) {
+                return true;
+            }
+
+            @Override
+            public void handle(OrderEvent event) {
+                leases.add(jdbcTemplate.queryForObject("select locked_until from order_outbox where id = ?",
+                        LocalDateTime.class, event.id()));
+                claimedByOther.add(other.relayBatch());
+            }
+        }));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(leases).hasSize(1).doesNotContainNull();
+        assertThat(claimedByOther).containsExactly(0);
+        assertThat(jdbcTemplate.queryForMap("select attempts, locked_until, delivered_at from order_outbox"))
+                .containsEntry("attempts", 1)
+                .containsEntry("locked_until", null)
+                .extractingByKey("delivered_at").isNotNull();
+    }
+
+    private OutboxRelay relay(List<OrderEventHandler> handlers) {
+        return new OutboxRelay(dataSource, transactionManager, handlers, new SimpleMeterRegistry(), clock,
+                true, 100, 10, 5000, 600000, 7, 60000);
+    }
+}
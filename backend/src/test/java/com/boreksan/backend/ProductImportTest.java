@@ -0,0 +1,51 @@
+package com.boreksan.backend;
+
+import com.boreksan.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Toplu ürün içe aktarmada isim eşleşmesi Java'da (Product.nameKey) yapılır ve name_key unique'tir.
+// H2 veritabanı collation farkını taklit edemez; burada Türkçe isimlerin Java anahtarıyla eşleştiği
+// ve aynı anahtarla ikinci ürünün yazılamadığı doğrulanır.
+class ProductImportTest extends IntegrationTestSupport {
+
+    @Test
+    void importMatchesTurkishNamesByJavaKey() throws Exception {
+        Seeded seeded = seed(DATASETS.get(0));
+        Long id = productRepository.save(product("İspanaklı Börek", 1)).getId();
+
+        mockMvc.perform(post("/api/products/import")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"  İspanaklı BÖREK \",\"priceTray\":950}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdCount").value(0))
+                .andExpect(jsonPath("$.updatedCount").value(1));
+
+        assertThat(jdbcTemplate.queryForList("select id from products where name_key = ?", Long.class,
+                Product.nameKey("İspanaklı Börek"))).containsExactly(id);
+        assertThat(productRepository.findById(id)).get()
+                .satisfies(product -> {
+                    assertThat(product.getName()).isEqualTo("İspanaklı Börek");
+                    assertThat(product.getPriceTray()).isEqualTo(950.0);
+                });
+    }
+
+    @Test
+    void sameNameKeyCannotBeWrittenTwice() throws Exception {
+        Seeded seeded = seed(DATASETS.get(0));
+        productRepository.save(product("Kıymalı Börek", 1));
+
+        mockMvc.perform(post("/api/products")
+                        .header("Authorization", "Bearer " + seeded.adminToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"kıymalı börek\",\"pricePortion\":50,\"priceTray\":800}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error_code").value("DATA_INTEGRITY_VIOLATION"));
+    }
+}
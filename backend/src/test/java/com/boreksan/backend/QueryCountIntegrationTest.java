@@ -0,0 +1,382 @@
+package com.boreksan.backend;
+
+import com.boreksan.dto.PriceListRequest;
+import com.boreksan.service.DemandForecastService;
+import com.boreksan.service.ProductionService;
+import jakarta.servlet.http.Cookie;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Her endpoint'in çalıştırdığı SQL sayısı için üst sınır (N+1 koruması).
+// Her istek küçük/orta/büyük üç veri setiyle çalıştırılır: sayı sınırı aşmamalı ve veri büyüdükçe ARTMAMALI.
+// Entity/sorgu cache'leri her ölçümden önce boşaltılır (en kötü durum: soğuk cache).
+class QueryCountIntegrationTest extends IntegrationTestSupport {
+
+    private static final StatementCounter COUNTER = new StatementCounter();
+
+    @Autowired private DemandForecastService demandForecastService;
+    @Autowired private ProductionService productionService;
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        // Hazırlık istekleri burada yapılabilir; sayaç dönen isteğe kadar sıfırlanmaz
+        RequestBuilder create(Seeded seeded) throws Exception;
+    }
+
+    @BeforeEach
+    void registerCounter() {
+        ChainListener chain = ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+        if (!chain.getListeners().contains(COUNTER)) {
+            chain.addListener(COUNTER);
+        }
+    }
+
+    // --- AUTH ---
+
+    @Test
+    void register() throws Exception {
+        assertBoundedQueries("POST /api/auth/register", 4, seeded -> post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"yeni\",\"password\":\"" + PASSWORD + "\",\"shopName\":\"Yeni Pastane\","
+                        + "\"phone\":\"05550000000\",\"address\":\"Adres\"}"));
+    }
+
+    @Test
+    void login() throws Exception {
+        assertBoundedQueries("POST /api/auth/login", 3, seeded -> loginRequest());
+    }
+
+    @Test
+    void refresh() throws Exception {
+        assertBoundedQueries("POST /api/auth/refresh", 2, seeded -> post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + loginAndGetRefreshToken() + "\"}"));
+    }
+
+    @Test
+    void logout() throws Exception {
+        assertBoundedQueries("POST /api/auth/logout", 2, seeded -> post("/api/auth/logout")
+                .cookie(new Cookie("refreshToken", loginAndGetRefreshToken())));
+    }
+
+    // --- PRODUCTS ---
+
+    @Test
+    void getAllProducts() throws Exception {
+        assertBoundedQueries("GET /api/products", 1, seeded -> get("/api/products"));
+    }
+
+    @Test
+    void getProduct() throws Exception {
+        assertBoundedQueries("GET /api/products/{id}", 1, seeded -> get("/api/products/" + seeded.productIds().get(0)));
+    }
+
+    @Test
+    void createProduct() throws Exception {
+        assertBoundedQueries("POST /api/products", 2, seeded -> post("/api/products")
+                .header("Authorization", "Bearer " + seeded.adminToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Yeni Börek\",\"pricePortion\":50,\"priceTray\":800}"));
+    }
+
+    @Test
+    void updateProduct() throws Exception {
+        assertBoundedQueries("PUT /api/products/{id}", 3, seeded -> put("/api/products/" + seeded.productIds().get(0))
+                .header("Authorization", "Bearer " + seeded.adminToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"priceTray\":900}"));
+    }
+
+    @Test
+    void deleteProduct() throws Exception {
+        assertBoundedQueries("DELETE /api/products/{id}", 4, seeded -> {
+            // Siparişlerde geçmeyen bir ürün
+            Long id = productRepository.save(product("Silinecek", 1)).getId();
+            return delete("/api/products/" + id).header("Authorization", "Bearer " + seeded.adminToken());
+        });
+    }
+
+    @Test
+    void importProducts() throws Exception {
+        // Satır sayısı veri setiyle büyür (mevcutların hepsi isimle güncellenir + aynı sayıda yeni ürün):
+        // kullanıcı + kilitli SELECT + UPDATE batch'i + INSERT batch'i
+        assertBoundedQueries("POST /api/products/import", 4, seeded -> {
+            List<String> rows = new ArrayList<>();
+            for (int i = 1; i <= seeded.dataset().products(); i++) {
+                rows.add("{\"name\":\"börek " + i + "\",\"priceTray\":" + (900 + i) + "}");
+                rows.add("{\"name\":\"Yeni Börek " + i + "\",\"pricePortion\":50,\"priceTray\":800}");
+            }
+            return post("/api/products/import")
+                    .header("Authorization", "Bearer " + seeded.adminToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + String.join(",", rows) + "]");
+        });
+    }
+
+    // --- ORDERS ---
+
+    @Test
+    void createOrder() throws Exception {
+        // Sepetteki kalem sayısı da veri setiyle büyür. Her değişiklik endpoint'i +2: order_outbox INSERT'i ve
+        // commit'teki değişiklik sırası batch'i (kilit + numara, bkz. OrderChangeSequencer).
+        // Dükkanın fiyat listesi var: liste fiyatı bellekteki derlenmiş tablodan gelir, sorgu eklemez
+        assertBoundedQueries("POST /api/orders", 6, seeded -> {
+            PriceListRequest priceList = new PriceListRequest();
+            priceList.setName("Toptan");
+            priceList.setShopNames(List.of(SHOP));
+            priceList.setItems(new ArrayList<>());
+            for (Long productId : seeded.productIds()) {
+                priceList.getItems().add(priceListItem(productId, 1, 500));
+                priceList.getItems().add(priceListItem(productId, 2, 450));
+            }
+            pricingService.createPriceList(priceList);
+            return post("/api/orders")
+                    .header("Authorization", "Bearer " + seeded.shopToken())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(seeded.productIds().stream()
+                            .limit(seeded.dataset().itemsPerOrder())
+                            .map(id -> "{\"productId\":" + id + ",\"quantity\":2}")
+                            .collect(Collectors.joining(",", "{\"items\":[", "]}")));
+        });
+    }
+
+    @Test
+    void createOrderWithCachedProducts() throws Exception {
+        // Ürünler entity cache'indeyken (normal çalışma hali) products tablosuna hiç gidilmez
+        assertBoundedQueries("POST /api/orders (ürünler cache'te)", 5, seeded -> post("/api/orders")
+                .header("Authorization", "Bearer " + seeded.shopToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(seeded.productIds().stream()
+                        .limit(seeded.dataset().itemsPerOrder())
+                        .map(id -> "{\"productId\":" + id + ",\"quantity\":2}")
+                        .collect(Collectors.joining(",", "{\"items\":[", "]}"))),
+                seeded -> productRepository.findAllById(seeded.productIds()));
+    }
+
+    @Test
+    void getOrdersAsShop() throws Exception {
+        assertBoundedQueries("GET /api/orders (dükkan)", 2, seeded -> get("/api/orders")
+                .header("Authorization", "Bearer " + seeded.shopToken()));
+    }
+
+    @Test
+    void getSuggestions() throws Exception {
+        // Siparişler geçmiş haftalara dağıtılır; öneriler bellekten gelir (kullanıcı + ürün listesi), order_items okunmaz
+        assertBoundedQueries("GET /api/orders/suggestions", 2, seeded -> {
+            jdbcTemplate.update("update orders set created_at = dateadd(week, -1 - mod(id, 4), created_at)");
+            demandForecastService.rebuild();
+            return get("/api/orders/suggestions").header("Authorization", "Bearer " + seeded.shopToken());
+        });
+    }
+
+    @Test
+    void getOrdersAsAdmin() throws Exception {
+        assertBoundedQueries("GET /api/orders (admin)", 2, seeded -> get("/api/orders")
+                .header("Authorization", "Bearer " + seeded.adminToken()));
+    }
+
+    @Test
+    void getOrderSummariesAsShop() throws Exception {
+        assertBoundedQueries("GET /api/orders?view=summary (dükkan)", 2, seeded -> get("/api/orders")
+                .param("view", "summary")
+                .header("Authorization", "Bearer " + seeded.shopToken()));
+    }
+
+    @Test
+    void getOrderSummariesAsAdminNormalized() throws Exception {
+        assertBoundedQueries("GET /api/orders?view=summary&normalized=true (admin)", 2, seeded -> get("/api/orders")
+                .param("view", "summary")
+                .param("normalized", "true")
+                .param("fields", "status,totalQuantity")
+                .header("Authorization", "Bearer " + seeded.adminToken()));
+    }
+
+    @Test
+    void getOrderChangesAsAdmin() throws Exception {
+        assertBoundedQueries("GET /api/orders/changes (admin)", 2, seeded -> get("/api/orders/changes")
+                .param("since", "0")
+                .header("Authorization", "Bearer " + seeded.adminToken()));
+    }
+
+    @Test
+    void getOrderChangesAsShop() throws Exception {
+        assertBoundedQueries("GET /api/orders/changes (dükkan)", 2, seeded -> get("/api/orders/changes")
+                .param("since", "0")
+                .header("Authorization", "Bearer " + seeded.shopToken()));
+    }
+
+    @Test
+    void dailyUpdateIncrease() throws Exception {
+        assertBoundedQueries("POST /api/orders/daily-update (artır)", 9, seeded -> dailyUpdate(seeded, 1000));
+    }
+
+    @Test
+    void dailyUpdateDecrease() throws Exception {
+        // Sıfırlanan kalem artık gerçekten silinir (orphanRemoval): DELETE dahil; değişen siparişlerin olayları tek batch
+        assertBoundedQueries("POST /api/orders/daily-update (azalt)", 9, seeded -> dailyUpdate(seeded, 0));
+    }
+
+    @Test
+    void updateOrderStatus() throws Exception {
+        assertBoundedQueries("PUT /api/orders/{id}/status", 6, seeded -> put("/api/orders/" + seeded.orderIds().get(0) + "/status")
+                .header("Authorization", "Bearer " + seeded.adminToken())
+                .param("newStatus", "PREPARING"));
+    }
+
+    @Test
+    void bulkUpdateStatus() throws Exception {
+        assertBoundedQueries("PUT /api/orders/status", 4, seeded -> put("/api/orders/status")
+                .header("Authorization", "Bearer " + seeded.adminToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fromStatus\":\"WAITING\",\"toStatus\":\"PREPARING\"}"));
+    }
+
+    // --- PRICE LISTS ---
+
+    @Test
+    void createPriceList() throws Exception {
+        // Ürün başına iki kademe (batch sınırı 50, en fazla 20 ürün): ürünler tek sorguda çözülür,
+        // kademeler tek batch INSERT; commit sonrası tek derleme sorgusu
+        assertBoundedQueries("POST /api/admin/price-lists", 9, seeded -> post("/api/admin/price-lists")
+                .header("Authorization", "Bearer " + seeded.adminToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(seeded.productIds().stream()
+                        .limit(20)
+                        .map(id -> "{\"productId\":" + id + ",\"priceTray\":500},"
+                                + "{\"productId\":" + id + ",\"minQuantity\":10,\"priceTray\":450}")
+                        .collect(Collectors.joining(",",
+                                "{\"name\":\"Toptan\",\"shopNames\":[\"Lale Pastanesi\"],\"items\":[", "]}"))));
+    }
+
+    // --- STANDING ORDERS ---
+
+    @Test
+    void runStandingOrders() throws Exception {
+        // Şablon sayısı ne olursa olsun: kilit + tek okuma + üç batch INSERT (sipariş, kalem, olay; sequence çağrıları sayılmaz) + değişiklik sırası
+        assertBoundedQueries("POST /api/standing-orders/run", 9, seeded -> {
+            seedStandingOrders(seeded);
+            return post("/api/standing-orders/run")
+                    .header("Authorization", "Bearer " + seeded.adminToken());
+        });
+    }
+
+    // --- REPORTS ---
+
+    @Test
+    void getCurrentMonthlyReport() throws Exception {
+        // Kullanıcı + dükkan / ürün / gün toplamları: veri ne kadar büyürse büyüsün üç GROUP BY sorgusu
+        assertBoundedQueries("GET /api/reports/monthly", 4, seeded -> get("/api/reports/monthly")
+                .header("Authorization", "Bearer " + seeded.adminToken()));
+    }
+
+    // --- PRODUCTION ---
+
+    @Test
+    void getOpenProductionSheet() throws Exception {
+        // Kullanıcı + gün satırı + ürün / dükkan toplamları (açık gün canlı hesaplanır)
+        assertBoundedQueries("GET /api/production (açık)", 4, seeded -> get("/api/production")
+                .header("Authorization", "Bearer " + seeded.adminToken()));
+    }
+
+    @Test
+    void getClosedProductionSheet() throws Exception {
+        // Kullanıcı + gün satırı + saklı satırlar + düzeltmeler: sipariş tablosuna hiç gidilmez
+        assertBoundedQueries("GET /api/production (kapalı)", 4, seeded -> {
+            productionService.closeDay(LocalDate.now(clock));
+            return get("/api/production")
+                    .header("Authorization", "Bearer " + seeded.adminToken());
+        });
+    }
+
+    // --- YARDIMCILAR ---
+
+    private void assertBoundedQueries(String endpoint, int maxStatements, RequestFactory factory) throws Exception {
+        assertBoundedQueries(endpoint, maxStatements, factory, seeded -> {
+        });
+    }
+
+    // warmUp cache'ler boşaltıldıktan sonra, ölçümden önce çalışır (sıcak cache yolunu ölçmek için)
+    private void assertBoundedQueries(String endpoint, int maxStatements, RequestFactory factory,
+                                      Consumer<Seeded> warmUp) throws Exception {
+        List<Integer> counts = new ArrayList<>();
+        for (Dataset dataset : DATASETS) {
+            Seeded seeded = seed(dataset);
+            RequestBuilder request = factory.create(seeded);
+            evictCaches();
+            warmUp.accept(seeded);
+
+            COUNTER.reset();
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            counts.add(COUNTER.count());
+        }
+
+        assertThat(counts)
+                .as("%s SQL sayısı (küçük/orta/büyük) %s, sınır %d", endpoint, counts, maxStatements)
+                .allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(maxStatements));
+        assertThat(counts)
+                .as("%s SQL sayısı veri boyutuyla artmamalı: %s", endpoint, counts)
+                .containsOnly(counts.get(0));
+    }
+
+    private String loginAndGetRefreshToken() throws Exception {
+        MvcResult result = mockMvc.perform(loginRequest()).andExpect(status().isOk()).andReturn();
+        return result.getResponse().getCookie("refreshToken").getValue();
+    }
+
+    private RequestBuilder dailyUpdate(Seeded seeded, int targetQuantity) {
+        return post("/api/orders/daily-update")
+                .header("Authorization", "Bearer " + seeded.adminToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"shopName\":\"" + SHOP + "\",\"productId\":" + seeded.productIds().get(0)
+                        + ",\"targetQuantity\":" + targetQuantity + "}");
+    }
+
+    // Proxy DataSource üzerinden çalışan her SQL'i (batch = tek gidiş-dönüş) sayar.
+    // Sequence çağrıları sayılmaz: pooled optimizer 50 ID'de bir çağırır, ne zaman geleceği önceki testlere bağlı.
+    private static final class StatementCounter implements QueryExecutionListener {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            boolean sequenceOnly = queryInfoList.stream()
+                    .map(q -> q.getQuery().toLowerCase())
+                    .allMatch(sql -> sql.contains("next value for") || sql.contains("nextval("));
+            if (!sequenceOnly) {
+                count.incrementAndGet();
+            }
+        }
+
+        void reset() {
+            count.set(0);
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+}
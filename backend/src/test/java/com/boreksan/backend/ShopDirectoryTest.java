@@ -0,0 +1,44 @@
+package com.boreksan.backend;
+
+import com.boreksan.dto.ShopResponse;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.User;
+import com.boreksan.entity.enums.OrderStatus;
+import com.boreksan.entity.enums.Role;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dükkan rehberindeki istatistikler: iptal edilen siparişler son sipariş, sayı ve tepsi toplamına girmez
+class ShopDirectoryTest extends IntegrationTestSupport {
+
+    @Test
+    void cancelledOrdersAreLeftOutOfEveryStat() {
+        Seeded seeded = seed(DATASETS.get(0));
+        User shop = userRepository.findByUsername(SHOP).orElseThrow();
+        // Dükkanın en son siparişi iptal edildi
+        Order cancelled = new Order();
+        cancelled.setUser(shop);
+        cancelled.setCustomerName(shop.getUsername());
+        cancelled.setShopName(shop.getShopName());
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        cancelled.setCreatedAt(LocalDateTime.now(clock));
+        cancelled.setTotalPrice(0.0);
+        cancelled.setItems(new ArrayList<>());
+        orderRepository.save(cancelled);
+
+        LocalDateTime lastOrderAt = jdbcTemplate.queryForObject("select created_at from orders where id = ?",
+                LocalDateTime.class, seeded.orderIds().get(0));
+        List<ShopResponse> shops = userRepository.findShopDirectory(Role.CUSTOMER, "lale%",
+                LocalDateTime.now(clock).minusDays(30), OrderStatus.CANCELLED);
+
+        assertThat(shops).singleElement().satisfies(response -> {
+            assertThat(response.getLastOrderAt()).isEqualTo(lastOrderAt);
+            assertThat(response.getOrderCount()).isEqualTo(1);
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.boreksan.backend;
+
+import com.boreksan.dto.PriceListRequest;
+import com.boreksan.entity.Order;
+import com.boreksan.entity.OrderItem;
+import com.boreksan.entity.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sabit siparişlerin toplu yazımı: tek sefer, liste fiyatları ve Hibernate ile çakışmayan ID blokları
+class StandingOrderJobTest extends IntegrationTestSupport {
+
+    @Test
+    void standingOrdersAreWrittenOnceWithListPrices() throws Exception {
+        // 60 dükkan x 8 kalem: ID'ler birden fazla sequence bloğundan gelir. sabit0'ın fiyat listesi var.
+        Seeded seeded = seed(DATASETS.get(2));
+        seedStandingOrders(seeded);
+        Long listedProduct = seeded.productIds().get(0);
+        PriceListRequest priceList = new PriceListRequest();
+        priceList.setName("Sabit toptan");
+        priceList.setShopNames(List.of("sabit0"));
+        priceList.setItems(new ArrayList<>(List.of(priceListItem(listedProduct, 1, 500))));
+        pricingService.createPriceList(priceList);
+
+        mockMvc.perform(post("/api/standing-orders/run").header("Authorization", "Bearer " + seeded.adminToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdOrders").value(60))
+                .andExpect(jsonPath("$.trays").value(60 * 8 * 2));
+
+        String standing = "select o.id from orders o join users u on u.id = o.user_id where u.username like 'sabit%'";
+        assertThat(jdbcTemplate.queryForObject("select count(*) from (" + standing + ") s", Long.class)).isEqualTo(60);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from order_items where order_id in (" + standing + ")", Long.class)).isEqualTo(480);
+        // Liste fiyatı sadece sabit0'ın listedeki ürününe, diğer her kaleme ürünün tepsi fiyatı
+        assertThat(jdbcTemplate.queryForList("""
+                select oi.unit_price from order_items oi join orders o on o.id = oi.order_id join users u on u.id = o.user_id
+                where u.username = 'sabit0' and oi.product_id = ?
+                """, Double.class, listedProduct)).containsExactly(500.0);
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from order_items oi join orders o on o.id = oi.order_id join users u on u.id = o.user_id
+                join products p on p.id = oi.product_id
+                where u.username like 'sabit%' and not (u.username = 'sabit0' and oi.product_id = ?)
+                  and oi.unit_price <> p.price_tray
+                """, Long.class, listedProduct)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                select count(*) from orders o where o.id in (%s) and o.total_price <>
+                    (select sum(oi.unit_price * oi.quantity) from order_items oi where oi.order_id = o.id)
+                """.formatted(standing), Long.class)).isZero();
+
+        // İkinci çalıştırma: bugün siparişi olan dükkanlar atlanır, hiçbir şey eklenmez
+        mockMvc.perform(post("/api/standing-orders/run").header("Authorization", "Bearer " + seeded.adminToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdOrders").value(0))
+                .andExpect(jsonPath("$.skippedShops").value(60));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from (" + standing + ") s", Long.class)).isEqualTo(60);
+
+        // JDBC ile ayrılan ID blokları Hibernate'in sonraki ayırmalarıyla çakışmaz
+        orderRepository.saveAll(orderRepository.findAllWithItemsByIdIn(
+                jdbcTemplate.queryForList(standing, Long.class)).stream().map(this::copyOf).toList());
+    }
+
+    // Aynı dükkan ve kalemlerle yeni (henüz ID'si olmayan) sipariş
+    private Order copyOf(Order source) {
+        Order order = new Order();
+        order.setUser(source.getUser());
+        order.setCustomerName(source.getCustomerName());
+        order.setShopName(source.getShopName());
+        order.setStatus(OrderStatus.WAITING);
+        order.setTotalPrice(source.getTotalPrice());
+        order.setItems(new ArrayList<>());
+        for (OrderItem sourceItem : source.getItems()) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(sourceItem.getProduct());
+            item.setProductName(sourceItem.getProductName());
+            item.setQuantity(sourceItem.getQuantity());
+            item.setUnitPrice(sourceItem.getUnitPrice());
+            item.setSubTotal(sourceItem.getSubTotal());
+            order.getItems().add(item);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,64 @@
+package com.boreksan.config;
+
+import com.boreksan.config.BulkheadFilter.Compartment;
+import com.boreksan.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Sınıflandırma ve açılıştaki bağlantı bütçesi kontrolü (classify paket içi olduğu için config paketinde)
+class BulkheadFilterTest {
+
+    private final JwtService jwtService = mock(JwtService.class);
+
+    @Test
+    void everyRequestLandsInACompartment() throws Exception {
+        when(jwtService.isAdminAccessToken("admin-token")).thenReturn(true);
+        BulkheadFilter filter = filter(23, 3, false, false);
+
+        assertThat(filter.classify(request("POST", "/api/orders", null))).isEqualTo(Compartment.INTAKE);
+        assertThat(filter.classify(request("POST", "/api/auth/login", null))).isEqualTo(Compartment.AUTH);
+        assertThat(filter.classify(request("GET", "/api/orders", "shop-token"))).isEqualTo(Compartment.SHOP_READ);
+        assertThat(filter.classify(request("GET", "/api/products", null))).isEqualTo(Compartment.SHOP_READ);
+        assertThat(filter.classify(request("GET", "/api/orders", "admin-token"))).isEqualTo(Compartment.ADMIN_READ);
+        assertThat(filter.classify(request("GET", "/api/reports/monthly", "admin-token"))).isEqualTo(Compartment.ADMIN_READ);
+        // Sınıfı olmayan istek sınırsız çalışmaz
+        assertThat(filter.classify(request("PUT", "/api/orders/status", "admin-token"))).isEqualTo(Compartment.DEFAULT);
+        assertThat(filter.classify(request("POST", "/api/products/import", "admin-token"))).isEqualTo(Compartment.DEFAULT);
+        assertThat(filter.classify(request("GET", "/actuator/health", null))).isNull();
+    }
+
+    @Test
+    void backgroundJobsCountTowardsPoolBudget() throws Exception {
+        // 6 + 2 + 6 + 2 + intake rezervi 4 = 20: üç scheduler thread'i de sığmalı
+        assertThatThrownBy(() -> filter(20, 3, false, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("arka plan işleri(3)");
+        filter(23, 3, false, false);
+        // Toplu commit açıksa kuyruk worker'ı da bir bağlantı tutar
+        assertThatThrownBy(() -> filter(23, 3, true, false)).isInstanceOf(IllegalStateException.class);
+        // Cache bus'ın abone thread'i de
+        assertThatThrownBy(() -> filter(23, 3, false, true)).isInstanceOf(IllegalStateException.class);
+        filter(24, 3, false, true);
+    }
+
+    private BulkheadFilter filter(int poolSize, int schedulerThreads, boolean intakeWorker, boolean cacheBusWorker)
+            throws Exception {
+        return new BulkheadFilter(new SimpleMeterRegistry(), new ObjectMapper(), jwtService,
+                true, 0, 50, 6, 2, 6, 2, 4, schedulerThreads, intakeWorker, cacheBusWorker, poolSize);
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package com.boreksan.exception;
+
+import com.boreksan.entity.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Beklenen hatalar kendi 4xx durumlarıyla döner; 500 sadece gerçekten beklenmeyen hatalar için
+class GlobalExceptionHandlerTest {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void domainErrorsKeepTheirStatus() throws Exception {
+        mockMvc.perform(get("/test/shop"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error_code").value("SHOP_NOT_FOUND"));
+        mockMvc.perform(get("/test/admin"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error_code").value("ADMIN_ONLY"));
+    }
+
+    @Test
+    void mvcBindingErrorsAreBadRequests() throws Exception {
+        mockMvc.perform(get("/test/status").param("newStatus", "PISIYOR"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_code").value("VALIDATION_ERROR"));
+        mockMvc.perform(get("/test/status"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_code").value("VALIDATION_ERROR"));
+        mockMvc.perform(post("/test/body").contentType(MediaType.APPLICATION_JSON).content("{bozuk"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_code").value("VALIDATION_ERROR"));
+        mockMvc.perform(post("/test/status"))
+                .andExpect(status().isMethodNotAllowed());
+    }
+
+    @Test
+    void unexpectedErrorsAreInternal() throws Exception {
+        mockMvc.perform(get("/test/bug"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error_code").value("INTERNAL_ERROR"));
+    }
+
+    @RestController
+    static class TestController {
+
+        @GetMapping("/test/shop")
+        void shop() {
+            throw new ShopNotFoundException("Dükkan bulunamadı: yok");
+        }
+
+        @GetMapping("/test/admin")
+        void admin() {
+            throw new AdminOnlyException("Bu işlemi sadece Admin yapabilir.");
+        }
+
+        @GetMapping("/test/status")
+        OrderStatus status(@RequestParam OrderStatus newStatus) {
+            return newStatus;
+        }
+
+        @PostMapping("/test/body")
+        Map<String, Object> body(@RequestBody Map<String, Object> body) {
+            return body;
+        }
+
+        @GetMapping("/test/bug")
+        void bug() {
+            throw new NullPointerException("beklenmeyen");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.boreksan.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Mesajlar Postgres olmadan doğrudan handle'a verilir (handle paket içi olduğu için service paketinde)
+class CacheInvalidationBusTest {
+
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(mock(DataSource.class), new DataSourceProperties(),
+            new SimpleMeterRegistry(), false, "test", 10000, 30000);
+
+    @Test
+    void slowSubscriberDoesNotHoldUpEvictions() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        AtomicInteger recompiles = new AtomicInteger();
+        bus.subscribeAll("pricing", () -> {
+            recompiles.incrementAndGet();
+            started.countDown();
+            awaitQuietly(release);
+            finished.countDown();
+        }, () -> { });
+        List<String> evicted = new CopyOnWriteArrayList<>();
+        bus.onMessage(message -> evicted.add(message.type() + ":" + message.key()));
+
+        bus.handle("baska-dugum|pricing|1");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // Fiyat tablosu derlenirken gelen ürün temizliği beklemez; art arda gelen fiyat mesajları tek derlemeye iner
+        bus.handle("baska-dugum|pricing|2");
+        bus.handle("baska-dugum|product|7");
+        bus.handle("baska-dugum|pricing|3");
+        assertThat(evicted).containsExactly("product:7");
+
+        release.countDown();
+        // Çalışırken gelen mesajlar için bir derleme daha (değişiklik kaçmaz), fazlası yok
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(recompiles).hasValue(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
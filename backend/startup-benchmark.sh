@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Açılış süresi karşılaştırması: fat jar / açılmış jar / + Spring AOT / + AOT + AppCDS.
+# Gömülü H2 ile çalışır, veritabanı kurmak gerekmez:
+#   ./startup-benchmark.sh        # her varyant 5 kez
+#   ./startup-benchmark.sh 10
+# Ölçülen değer Spring'in "process running for" süresi (JVM açılışı dahil).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RUNS=${1:-5}
+MVN=${MVN:-mvn}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+echo ">> Paketleniyor (-Ph2,cds)"
+$MVN -B -q -Ph2,cds -DskipTests package
+
+export ACCESS_SECRET_KEY=${ACCESS_SECRET_KEY:-$(head -c 32 /dev/urandom | base64)}
+export REFRESH_SECRET_KEY=${REFRESH_SECRET_KEY:-$(head -c 32 /dev/urandom | base64)}
+COMMON=(-Dspring.profiles.active=h2 -Dserver.port=0 -Dmanagement.server.port=0)
+# CDS arşivi classpath'i göreli kaydeder: açılmış jar'lar target/application içinden çalıştırılmalı
+APP_DIR=target/application
+APP=backend-0.0.1-SNAPSHOT.jar
+
+measure() {
+    local name=$1 dir=$2
+    shift 2
+    local total=0 log pid secs
+    for _ in $(seq 1 "$RUNS"); do
+        log=$(mktemp)
+        (cd "$dir" && exec "$JAVA" "${COMMON[@]}" "$@") > "$log" 2>&1 &
+        pid=$!
+        until grep -q "Started BoreksanApplication" "$log"; do
+            if ! kill -0 $pid 2>/dev/null; then
+                echo "$name açılamadı:" >&2
+                tail -20 "$log" >&2
+                exit 1
+            fi
+            sleep 0.1
+        done
+        secs=$(grep -o 'process running for [0-9.]*' "$log" | awk '{print $4}')
+        kill $pid
+        wait $pid 2>/dev/null || true
+        rm -f "$log"
+        total=$(awk -v a="$total" -v b="$secs" 'BEGIN { print a + b }')
+    done
+    awk -v name="$name" -v t="$total" -v n="$RUNS" 'BEGIN { printf "%-32s %6.2f s\n", name, t / n }'
+}
+
+echo ">> Ortalama açılış süresi ($RUNS çalıştırma)"
+measure "fat jar" . -jar target/backend-0.0.1-SNAPSHOT.jar
+measure "açılmış jar" "$APP_DIR" -jar "$APP"
+measure "açılmış jar + AOT" "$APP_DIR" -Dspring.aot.enabled=true -jar "$APP"
+measure "açılmış jar + AOT + CDS" "$APP_DIR" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$APP"
@@ -22,6 +22,17 @@ interface OrderResponse {
     items: OrderItemResponse[];
 }
 
+interface ShopResponse {
+    id: number;
+    username: string;
+    shopName: string;
+    phone: string;
+    address: string;
+    lastOrderAt: string | null;
+    orderCount: number;
+    trayVolume30d: number;
+}
+
 interface Product {
     id: number;
     name: string;
@@ -38,6 +49,11 @@ const AdminDashboard = () => {
     const [activeTab, setActiveTab] = useState('daily_orders');
     const [isUserMenuOpen, setIsUserMenuOpen] = useState(false);
     
+    // Shop Directory State (GET /api/shops)
+    const [shops, setShops] = useState<ShopResponse[]>([]);
+    const [shopSearch, setShopSearch] = useState('');
+    const [shopResults, setShopResults] = useState<ShopResponse[] | null>(null);
+
     // Product Management State
     const [products, setProducts] = useState<Product[]>([]);
     const [isProductModalOpen, setIsProductModalOpen] = useState(false);
@@ -68,6 +84,24 @@ const AdminDashboard = () => {
         }
     };
 
+    const fetchShops = async () => {
+        try {
+            const response = await api.get<ShopResponse[]>('/shops');
+            setShops(response.data);
+        } catch (error) {
+            console.error("Failed to fetch shops:", error);
+        }
+    };
+
+    const searchShops = async (query: string) => {
+        try {
+            const response = await api.get<ShopResponse[]>('/shops', { params: { q: query } });
+            setShopResults(response.data);
+        } catch (error) {
+            console.error("Failed to search shops:", error);
+        }
+    };
+
     const handleSaveProduct = async () => {
         try {
             if (editingProduct) {
@@ -192,8 +226,24 @@ const AdminDashboard = () => {
     useEffect(() => {
         fetchOrders();
         fetchProducts();
+        fetchShops();
     }, []);
 
+    // Dükkan araması (sunucuda prefix araması)
+    useEffect(() => {
+        if (!shopSearch.trim()) {
+            setShopResults(null);
+            return;
+        }
+        const timer = setTimeout(() => searchShops(shopSearch.trim()), 250);
+        return () => clearTimeout(timer);
+    }, [shopSearch]);
+
+    const visibleShops = shopResults ?? shops;
+
+    // Günlük giriş ve raporlar için dükkan listesi artık siparişlerden türetilmiyor
+    const allShopNames = shops.map(s => s.shopName || s.username).filter(Boolean).sort();
+
     const closeModal = () => setSelectedOrder(null);
 
     const updateOrderStatus = async (orderId: number, newStatus: string) => {
@@ -220,6 +270,21 @@ const AdminDashboard = () => {
         updateOrderStatus(orderId, 'PREPARING');
     };
 
+    // Bugünün bekleyen siparişlerini tek istekte onayla (sipariş başına PUT + tam liste yenileme yok)
+    const handleApproveAllWaiting = async () => {
+        try {
+            const response = await api.put<{ updatedIds: number[]; updatedCount: number }>('/orders/status', {
+                fromStatus: 'WAITING',
+                toStatus: 'PREPARING',
+            });
+            const updated = new Set(response.data.updatedIds);
+            setOrders(prev => prev.map(o => updated.has(o.id) ? { ...o, status: 'PREPARING' } : o));
+        } catch (error) {
+            console.error("Failed to bulk update order status:", error);
+            alert("Siparişler onaylanamadı!");
+        }
+    };
+
     // Helper to calculate total trays
     const calculateTrays = (items: OrderItemResponse[]) => {
         return items.reduce((acc, item) => acc + item.quantity, 0);
@@ -444,8 +509,7 @@ const AdminDashboard = () => {
                                                 const currentIso = new Date().toISOString().slice(0, 10);
                                                 
                                                 // Iterate all known shops to safely reconstruct keys and check changes
-                                                const allShops = Array.from(new Set(orders.map(o => o.shopName || o.customerName)))
-                                                    .filter(s => s && s.toLowerCase() !== 'admin');
+                                                const allShops = allShopNames;
 
                                                 allShops.forEach(shop => {
                                                     const shopOrders = orders.filter(o => 
@@ -507,11 +571,8 @@ const AdminDashboard = () => {
                                     </thead>
                                     <tbody className="divide-y divide-gray-50/50">
                                         {(() => {
-                                            // Get all shops but exclude 'Admin' (or current user if needed)
-                                            // We assume the admin username is 'Admin' or 'admin'.
-                                            const allShops = Array.from(new Set(orders.map(o => o.shopName || o.customerName)))
-                                                .filter(s => s && s.toLowerCase() !== 'admin')
-                                                .sort();
+                                            // Shop list comes from /api/shops (CUSTOMER users only, so no admin filtering needed)
+                                            const allShops = allShopNames;
                                             
                                             const currentIso = new Date().toISOString().slice(0, 10);
 
@@ -592,6 +653,14 @@ const AdminDashboard = () => {
                                     <span className="px-3 py-1 bg-red-50 text-red-700 text-xs font-bold rounded-full border border-red-100">
                                         Canlı Akış
                                     </span>
+                                    {filteredOrders.some(o => o.status === 'WAITING') && (
+                                        <button
+                                            onClick={handleApproveAllWaiting}
+                                            className="px-3 py-1 bg-red-600 hover:bg-red-700 text-white text-xs font-bold rounded-full transition-colors"
+                                        >
+                                            Bekleyenleri Onayla
+                                        </button>
+                                    )}
                                 </div>
                             </div>
 
@@ -741,7 +810,7 @@ const AdminDashboard = () => {
                                         className="px-4 py-2 bg-gray-50 border border-gray-200 rounded-lg text-sm font-bold text-gray-700 outline-none focus:ring-2 focus:ring-red-500 hover:cursor-pointer min-w-[200px]"
                                     >
                                         <option value="">Dükkan Seçiniz...</option>
-                                        {Array.from(new Set(orders.map(o => o.shopName || o.customerName))).filter(Boolean).sort().map(s => (
+                                        {allShopNames.map(s => (
                                             <option key={s} value={s}>{s}</option>
                                         ))}
                                     </select>
@@ -1001,6 +1070,56 @@ const AdminDashboard = () => {
                             )}
                         </div>
                     )}
+
+                    {/* Shop Directory */}
+                    {activeTab === 'users' && (
+                        <div className="bg-white rounded-xl border border-gray-200 shadow-sm overflow-hidden">
+                            <div className="p-6 border-b border-gray-100 flex justify-between items-center gap-6">
+                                <h2 className="text-lg font-bold text-gray-800 flex items-center gap-2">
+                                    <span>🏪</span> Dükkanlar
+                                </h2>
+                                <input
+                                    type="text"
+                                    value={shopSearch}
+                                    onChange={(e) => setShopSearch(e.target.value)}
+                                    placeholder="Dükkan adı ile ara..."
+                                    className="w-80 px-4 py-2 bg-gray-50 border border-gray-200 rounded-lg text-sm font-medium outline-none focus:ring-2 focus:ring-red-500/20"
+                                />
+                            </div>
+                            <table className="w-full text-sm">
+                                <thead>
+                                    <tr className="text-gray-400 text-[10px] font-bold uppercase tracking-widest">
+                                        <th className="py-4 px-6 text-left">Dükkan</th>
+                                        <th className="py-4 px-6 text-left">Telefon</th>
+                                        <th className="py-4 px-6 text-left">Son Sipariş</th>
+                                        <th className="py-4 px-6 text-right">Sipariş</th>
+                                        <th className="py-4 px-6 text-right">30 Gün Tepsi</th>
+                                    </tr>
+                                </thead>
+                                <tbody className="divide-y divide-gray-50">
+                                    {visibleShops.map(shop => (
+                                        <tr key={shop.id} className="hover:bg-gray-50/50 transition-colors">
+                                            <td className="py-4 px-6">
+                                                <p className="font-bold text-gray-700">{shop.shopName || shop.username}</p>
+                                                <p className="text-xs text-gray-400">{shop.address}</p>
+                                            </td>
+                                            <td className="py-4 px-6 text-gray-600">{shop.phone}</td>
+                                            <td className="py-4 px-6 text-gray-600">
+                                                {shop.lastOrderAt ? new Date(shop.lastOrderAt).toLocaleString('tr-TR') : '-'}
+                                            </td>
+                                            <td className="py-4 px-6 text-right font-bold text-gray-700">{shop.orderCount}</td>
+                                            <td className="py-4 px-6 text-right font-bold text-gray-700">{shop.trayVolume30d}</td>
+                                        </tr>
+                                    ))}
+                                    {visibleShops.length === 0 && (
+                                        <tr>
+                                            <td colSpan={5} className="py-12 text-center text-gray-400 font-medium">Dükkan bulunamadı.</td>
+                                        </tr>
+                                    )}
+                                </tbody>
+                            </table>
+                        </div>
+                    )}
                 </div>
             </main>
 
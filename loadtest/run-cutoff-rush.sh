@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# 22:00 yoğunluğu yük testi: backend'i "loadtest" profiliyle açar, Gatling senaryosunu çalıştırır, uygulamayı kapatır.
+#
+#   ./run-cutoff-rush.sh                      # gömülü H2 (PostgreSQL modu)
+#   DB_URL=jdbc:postgresql://localhost:5432/boreksan_load DB_USER=... DB_PASSWORD=... ./run-cutoff-rush.sh
+#   SHOPS=1000 RUSH_SECONDS=240 ./run-cutoff-rush.sh
+#
+# Rapor: target/gatling/cutoffrushsimulation-*/index.html (istek başına throughput, p50/p75/p95/p99)
+set -euo pipefail
+
+cd "$(dirname "$0")"
+BACKEND_DIR=../backend
+MVN=${MVN:-mvn}
+SHOPS=${SHOPS:-500}
+PRODUCTS=${PRODUCTS:-30}
+RUSH_SECONDS=${RUSH_SECONDS:-240}
+APP_PORT=${APP_PORT:-8080}
+MANAGEMENT_PORT=${MANAGEMENT_PORT:-8081}
+
+# DB_URL verilmediyse H2
+if [ -z "${DB_URL:-}" ]; then
+    PROFILES=h2,loadtest
+else
+    PROFILES=loadtest
+fi
+
+# Test için geçici JWT anahtarları
+export ACCESS_SECRET_KEY=${ACCESS_SECRET_KEY:-$(head -c 32 /dev/urandom | base64)}
+export REFRESH_SECRET_KEY=${REFRESH_SECRET_KEY:-$(head -c 32 /dev/urandom | base64)}
+export LOADTEST_SHOPS=$SHOPS LOADTEST_PRODUCTS=$PRODUCTS MANAGEMENT_PORT
+
+echo ">> Backend paketleniyor (-Ph2)"
+$MVN -B -q -f "$BACKEND_DIR"/pom.xml -Ph2 -DskipTests package
+
+mkdir -p target
+echo ">> Backend açılıyor (profiller: $PROFILES), log: target/app.log"
+java -jar "$BACKEND_DIR"/target/backend-0.0.1-SNAPSHOT.jar \
+    --server.port="$APP_PORT" --spring.profiles.active="$PROFILES" > target/app.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true; wait $APP_PID 2>/dev/null || true' EXIT
+
+# Veri yükleme ApplicationRunner'da yapıldığı için readiness ancak yükleme bitince UP olur
+for _ in $(seq 1 120); do
+    if curl -fs "http://localhost:$MANAGEMENT_PORT/actuator/health/readiness" > /dev/null; then
+        break
+    fi
+    if ! kill -0 $APP_PID 2>/dev/null; then
+        echo "Backend açılamadı, bkz. target/app.log" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+echo ">> Gatling: $SHOPS dükkan, ${RUSH_SECONDS}s"
+$MVN -B gatling:test -DbaseUrl="http://localhost:$APP_PORT" -Dshops="$SHOPS" -DrushSeconds="$RUSH_SECONDS"
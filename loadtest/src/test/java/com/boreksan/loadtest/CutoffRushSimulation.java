@@ -0,0 +1,148 @@
+package com.boreksan.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Session;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+// 22:00 sınırından önceki son dakikalar: N dükkan giriş yapar, ürünleri çeker, sipariş verir
+// (bir kısmı ek sipariş de verir), bu sırada admin sipariş listesini yoklar ve gün içi miktar günceller.
+// Dükkanların büyük kısmı son dakikalarda gelir. Rapor: istek başına throughput ve p50/p75/p95/p99.
+//
+// Uygulama "loadtest" profiliyle açılmış olmalı (loadtest-shop-1..N, loadtest-admin ve ürünleri oluşturur,
+// saati 22:00'den hemen önceye çeker). Parametreler -D ile verilir, bkz. alanlar.
+public class CutoffRushSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final int SHOPS = Integer.getInteger("shops", 500);
+    // Dükkanların gelişinin yayıldığı süre; uygulama saatinde 22:00'yi geçmemeli
+    private static final int RUSH_SECONDS = Integer.getInteger("rushSeconds", 240);
+    private static final int ADMIN_POLL_SECONDS = Integer.getInteger("adminPollSeconds", 5);
+    private static final int DAILY_UPDATE_SECONDS = Integer.getInteger("dailyUpdateSeconds", 10);
+    private static final String PASSWORD = System.getProperty("password", "loadtest");
+    private static final int ORDER_P99_LIMIT_MS = Integer.getInteger("orderP99LimitMs", 1000);
+
+    private static final String AUTH = "Authorization";
+    private static final String BEARER = "Bearer #{token}";
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    // Her sanal kullanıcı farklı bir dükkan
+    private final Iterator<Map<String, Object>> shopFeeder = IntStream.rangeClosed(1, SHOPS)
+            .mapToObj(i -> Map.<String, Object>of("username", "loadtest-shop-" + i))
+            .iterator();
+
+    // --- ORTAK ADIMLAR ---
+
+    private final ChainBuilder login = exec(http("login")
+            .post("/api/auth/login")
+            .body(StringBody(session -> "{\"username\":\"" + session.getString("username") + "\",\"password\":\"" + PASSWORD + "\"}"))
+            .check(status().is(200), jmesPath("accessToken").saveAs("token")));
+
+    private final ChainBuilder products = exec(http("products")
+            .get("/api/products")
+            .header(AUTH, BEARER)
+            .check(status().is(200), jsonPath("$[*].id").findAll().saveAs("productIds")));
+
+    private final ChainBuilder createOrder = exec(http("create order")
+            .post("/api/orders")
+            .header(AUTH, BEARER)
+            .body(StringBody(CutoffRushSimulation::orderBody))
+            .check(status().is(200)));
+
+    private final ChainBuilder myOrders = exec(http("my orders")
+            .get("/api/orders")
+            .header(AUTH, BEARER)
+            .check(status().is(200)));
+
+    // --- SENARYOLAR ---
+
+    private final ScenarioBuilder shops = scenario("shops")
+            .feed(shopFeeder)
+            .exec(login)
+            .exec(products)
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(5))
+            .exec(createOrder)
+            // Dükkanların bir kısmı unuttuğu ürünler için ikinci bir sipariş verir
+            .randomSwitch().on(percent(30.0).then(
+                    pause(Duration.ofSeconds(5), Duration.ofSeconds(20)).exec(createOrder)))
+            .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+            .exec(myOrders);
+
+    private final ScenarioBuilder adminPolling = scenario("admin polling")
+            .exec(session -> session.set("username", "loadtest-admin"))
+            .exec(login)
+            .during(Duration.ofSeconds(RUSH_SECONDS + 30)).on(
+                    exec(http("admin orders")
+                            .get("/api/orders")
+                            .header(AUTH, BEARER)
+                            .check(status().is(200)))
+                    .pause(Duration.ofSeconds(ADMIN_POLL_SECONDS)));
+
+    private final ScenarioBuilder adminDailyUpdates = scenario("admin daily updates")
+            .exec(session -> session.set("username", "loadtest-admin"))
+            .exec(login)
+            .exec(products)
+            .during(Duration.ofSeconds(RUSH_SECONDS + 30)).on(
+                    pause(Duration.ofSeconds(DAILY_UPDATE_SECONDS))
+                    .exec(http("daily update")
+                            .post("/api/orders/daily-update")
+                            .header(AUTH, BEARER)
+                            .body(StringBody(CutoffRushSimulation::dailyUpdateBody))
+                            .check(status().is(200))));
+
+    {
+        // Gelişlerin %40'ı ilk %60'lık sürede, kalan %60'ı son %40'ta (son dakika yığılması)
+        int early = SHOPS * 2 / 5;
+        int earlySeconds = RUSH_SECONDS * 3 / 5;
+
+        setUp(
+                shops.injectOpen(
+                        rampUsers(early).during(Duration.ofSeconds(earlySeconds)),
+                        rampUsers(SHOPS - early).during(Duration.ofSeconds(RUSH_SECONDS - earlySeconds))),
+                adminPolling.injectOpen(atOnceUsers(1)),
+                // Kullanıcı başına tek refresh token tutuluyor; aynı anda iki admin girişi çakışmasın
+                adminDailyUpdates.injectOpen(nothingFor(Duration.ofSeconds(2)), atOnceUsers(1)))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().failedRequests().percent().lt(1.0),
+                        details("create order").responseTime().percentile(99.0).lt(ORDER_P99_LIMIT_MS));
+    }
+
+    // 1-4 kalem, her kalemde 1-8 tepsi
+    private static String orderBody(Session session) {
+        List<String> productIds = session.getList("productIds");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringJoiner items = new StringJoiner(",", "{\"items\":[", "]}");
+        int lines = 1 + random.nextInt(4);
+        for (int i = 0; i < lines; i++) {
+            items.add("{\"productId\":" + productIds.get(random.nextInt(productIds.size()))
+                    + ",\"quantity\":" + (1 + random.nextInt(8)) + "}");
+        }
+        return items.toString();
+    }
+
+    // Rastgele bir dükkanın rastgele bir üründeki günlük miktarını 0-10 tepsiye çeker
+    private static String dailyUpdateBody(Session session) {
+        List<String> productIds = session.getList("productIds");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"shopName\":\"loadtest-shop-" + (1 + random.nextInt(SHOPS)) + "\""
+                + ",\"productId\":" + productIds.get(random.nextInt(productIds.size()))
+                + ",\"targetQuantity\":" + random.nextInt(11) + "}";
+    }
+}